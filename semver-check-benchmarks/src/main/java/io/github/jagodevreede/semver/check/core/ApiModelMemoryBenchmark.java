@@ -0,0 +1,101 @@
+package io.github.jagodevreede.semver.check.core;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the API model of a whole jar in memory, once as a map of {@link ClassInformation} and once as an
+ * {@link ApiModelSnapshot}. The retained heap per member of both is printed when the trial is set up, the benchmarks
+ * measure building the snapshot and looking up every class in it, which materializes each class on the first lookup.
+ */
+@State(Scope.Benchmark)
+public class ApiModelMemoryBenchmark {
+
+    @Param({"100", "10000", "100000"})
+    public int classCount;
+
+    private File jar;
+    private Map<String, ClassInformation> classes;
+    private ApiModelSnapshot snapshot;
+
+    @Setup(Level.Trial)
+    public void setUp() throws ReflectiveOperationException, IOException {
+        jar = File.createTempFile("semver-check-benchmark", ".jar");
+        File unused = File.createTempFile("semver-check-benchmark", ".jar");
+        new SyntheticJarGenerator()
+                .withClassCount(classCount)
+                .generate(jar, unused);
+        Files.delete(unused.toPath());
+
+        long before = usedHeap();
+        classes = extractAll(jar);
+        long afterMap = usedHeap();
+        snapshot = ApiModelSnapshot.of(classes);
+        long afterSnapshot = usedHeap();
+        long memberCount = classes.values().stream()
+                .mapToLong(c -> c.getConstructors().size() + c.getFields().size() + c.getMethods().size())
+                .sum();
+        System.out.printf("%nRetained bytes per member for %d members: map %.1f, snapshot %.1f%n", memberCount,
+                (afterMap - before) / (double) memberCount, (afterSnapshot - afterMap) / (double) memberCount);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.delete(jar.toPath());
+    }
+
+    @Benchmark
+    public ApiModelSnapshot buildSnapshot() {
+        return ApiModelSnapshot.of(classes);
+    }
+
+    @Benchmark
+    public void getAllFromSnapshot(Blackhole blackhole) {
+        for (String className : snapshot.getClassNames()) {
+            blackhole.consume(snapshot.get(className));
+        }
+    }
+
+    private static Map<String, ClassInformation> extractAll(File file) throws ReflectiveOperationException, IOException {
+        Map<String, ClassInformation> result = new LinkedHashMap<>();
+        try (JarFile jarFile = new JarFile(file);
+             RuntimeClasspath runtimeClasspath = new RuntimeClasspath(List.of());
+             ApiModelExtractor extractor = new BytecodeApiModelExtractor(jarFile, runtimeClasspath, new ApiModelInterner())) {
+            List<String> classNames = jarFile.stream()
+                    .map(JarEntry::getName)
+                    .filter(name -> name.endsWith(".class"))
+                    .map(name -> name.substring(0, name.length() - ".class".length()).replace('/', '.'))
+                    .collect(Collectors.toList());
+            for (String className : classNames) {
+                result.put(className, extractor.extract(className));
+            }
+        }
+        return result;
+    }
+
+    private static long usedHeap() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,41 @@
+package io.github.jagodevreede.semver.check.core;
+
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the benchmarks in throughput mode with the allocation rate and peak heap reported next to the score. Accepts
+ * the regular JMH command line options, for example a regex to select the benchmarks or <code>-p classCount=100</code>.
+ */
+public class BenchmarkMain {
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        OptionsBuilder options = new OptionsBuilder();
+        options.parent(commandLineOptions)
+                .addProfiler(GCProfiler.class)
+                .addProfiler(PeakHeapProfiler.class);
+        // Options given on the command line take precedence over the defaults below
+        if (commandLineOptions.getBenchModes().isEmpty()) {
+            options.mode(Mode.Throughput);
+        }
+        if (!commandLineOptions.getTimeUnit().hasValue()) {
+            options.timeUnit(TimeUnit.SECONDS);
+        }
+        if (!commandLineOptions.getForkCount().hasValue()) {
+            options.forks(1);
+        }
+        if (!commandLineOptions.getWarmupIterations().hasValue()) {
+            options.warmupIterations(3);
+        }
+        if (!commandLineOptions.getMeasurementIterations().hasValue()) {
+            options.measurementIterations(5);
+        }
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,45 @@
+package io.github.jagodevreede.semver.check.core;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Matches the class names of two jars, the time needed should grow linearly with the number of classes.
+ */
+@State(Scope.Benchmark)
+public class ClassMatchesBenchmark {
+
+    @Param({"1000", "10000", "50000"})
+    public int classCount;
+
+    private Set<String> original;
+    private Set<String> inNewJar;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        original = new LinkedHashSet<>();
+        inNewJar = new LinkedHashSet<>();
+        for (int i = 0; i < classCount; i++) {
+            String className = "com.example.p" + (i % 100) + ".Class" + i;
+            // A tenth of the classes is removed, another tenth added
+            if (i % 10 != 0) {
+                original.add(className);
+            }
+            if (i % 10 != 1) {
+                inNewJar.add(className);
+            }
+        }
+    }
+
+    @Benchmark
+    public ClassMatches of() {
+        return ClassMatches.of(original, inNewJar);
+    }
+}
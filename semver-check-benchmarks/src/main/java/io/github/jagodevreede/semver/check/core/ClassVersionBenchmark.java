@@ -0,0 +1,46 @@
+package io.github.jagodevreede.semver.check.core;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.jar.JarFile;
+
+/**
+ * Determines the class file version of a jar, which is done for both jars before anything else is compared.
+ */
+@State(Scope.Benchmark)
+public class ClassVersionBenchmark {
+
+    @Param({"100", "10000", "100000"})
+    public int classCount;
+
+    private File jar;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        jar = File.createTempFile("semver-check-benchmark", ".jar");
+        File unchanged = File.createTempFile("semver-check-benchmark", ".jar");
+        new SyntheticJarGenerator().withClassCount(classCount).generate(jar, unchanged);
+        Files.delete(unchanged.toPath());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.delete(jar.toPath());
+    }
+
+    @Benchmark
+    public int getVersionNumber() throws IOException {
+        try (JarFile jarFile = new JarFile(jar)) {
+            return ClassVersion.getVersionNumber(jarFile);
+        }
+    }
+}
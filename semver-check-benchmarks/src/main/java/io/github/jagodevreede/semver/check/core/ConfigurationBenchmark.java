@@ -0,0 +1,54 @@
+package io.github.jagodevreede.semver.check.core;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Applies the include and exclude packages to all classes of a jar.
+ */
+@State(Scope.Benchmark)
+public class ConfigurationBenchmark {
+    private static final int CLASSES_PER_PACKAGE = 100;
+
+    @Param({"100", "10000", "100000"})
+    public int classCount;
+
+    @Param({"1", "10", "100"})
+    public int patternCount;
+
+    private List<ClassInformation> classes;
+    private Configuration configuration;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        classes = new ArrayList<>(classCount);
+        for (int i = 0; i < classCount; i++) {
+            classes.add(new ClassInformation("bench.p" + (i / CLASSES_PER_PACKAGE) + ".Class" + i, 1, List.of(), List.of(), List.of()));
+        }
+        List<String> includePackages = new ArrayList<>();
+        List<String> excludePackages = new ArrayList<>();
+        for (int i = 0; i < patternCount; i++) {
+            includePackages.add("bench\\.p" + i + "\\d*");
+            excludePackages.add("bench\\.p" + i + "\\.internal.*");
+        }
+        configuration = new Configuration(includePackages, excludePackages, List.of(), List.of(), SemVerType.MINOR, SemVerType.MAJOR);
+    }
+
+    @Benchmark
+    public int isExcluded() {
+        int excluded = 0;
+        for (ClassInformation aClass : classes) {
+            if (configuration.isExcluded(aClass)) {
+                excluded++;
+            }
+        }
+        return excluded;
+    }
+}
@@ -0,0 +1,56 @@
+package io.github.jagodevreede.semver.check.core;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Looks up every method of the original class in the new class, the way {@link SemVerChecker} matches members.
+ */
+@State(Scope.Benchmark)
+public class MemberMatchingBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int memberCount;
+
+    @Param({"0.01", "0.1"})
+    public double changeRatio;
+
+    private List<MemberInformation> originalMembers;
+    private List<MemberInformation> newMembers;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        originalMembers = new ArrayList<>(memberCount);
+        newMembers = new ArrayList<>(memberCount);
+        int changeInterval = (int) Math.max(1, Math.round(1 / changeRatio));
+        for (int i = 0; i < memberCount; i++) {
+            // Every other method is an overload of the previous one
+            String name = "method" + (i / 2);
+            List<String> parameterTypeNames = i % 2 == 0 ? List.of("int") : List.of("java.lang.String", "long");
+            originalMembers.add(method(name, "int", parameterTypeNames));
+            newMembers.add(method(name, i % changeInterval == 0 ? "long" : "int", parameterTypeNames));
+        }
+    }
+
+    @Benchmark
+    public void findMatching(Blackhole blackhole) {
+        MemberIndex index = MemberIndex.of(newMembers);
+        for (MemberInformation member : originalMembers) {
+            blackhole.consume(index.findMatching(member));
+        }
+    }
+
+    private static MemberInformation method(String name, String typeName, List<String> parameterTypeNames) {
+        return new MemberInformation(MemberInformation.Kind.METHOD, "bench.Class", name, Modifier.PUBLIC, typeName, typeName,
+                parameterTypeNames, List.of(), List.of(), false);
+    }
+}
@@ -0,0 +1,55 @@
+package io.github.jagodevreede.semver.check.core;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+
+/**
+ * Compares two complete jars, from opening them to the final {@link SemVerType}.
+ */
+@State(Scope.Benchmark)
+public class SemVerCheckerBenchmark {
+
+    @Param({"100", "10000", "100000"})
+    public int classCount;
+
+    @Param({"0.01", "0.1"})
+    public double changeRatio;
+
+    private File original;
+    private File newJar;
+    private Configuration configuration;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        original = File.createTempFile("semver-check-benchmark", ".jar");
+        newJar = File.createTempFile("semver-check-benchmark", ".jar");
+        new SyntheticJarGenerator()
+                .withClassCount(classCount)
+                .withMutationRatio(changeRatio)
+                .generate(original, newJar);
+        configuration = new Configuration(List.of(), List.of(), List.of(), List.of(), SemVerType.MINOR, SemVerType.MAJOR);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.delete(original.toPath());
+        Files.delete(newJar.toPath());
+    }
+
+    @Benchmark
+    public SemVerType determineSemVerType() throws IOException {
+        try (SemVerChecker checker = new SemVerChecker(original, newJar, configuration)) {
+            return checker.determineSemVerType();
+        }
+    }
+}
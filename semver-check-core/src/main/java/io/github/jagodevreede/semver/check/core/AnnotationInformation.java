@@ -0,0 +1,193 @@
+package io.github.jagodevreede.semver.check.core;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable description of an annotation on a member, detached from the annotation type itself.
+ * <p>
+ * Element values are one of: {@link String}, a boxed primitive, {@link EnumValue}, {@link ClassValue},
+ * a nested {@link AnnotationInformation} or a {@link List} of those values. Two annotations are equal when their type
+ * and element values are equal, the order of the elements does not matter.
+ */
+final class AnnotationInformation {
+
+    private final String typeName;
+    private final Map<String, Object> elements;
+    private final String displayString;
+    private final boolean displayOnly;
+    private int hashCode;
+
+    AnnotationInformation(String typeName, Map<String, Object> elements) {
+        this.typeName = typeName;
+        this.elements = Collections.unmodifiableMap(new LinkedHashMap<>(elements));
+        this.displayString = createDisplayString();
+        this.displayOnly = false;
+    }
+
+    /**
+     * Creates an annotation of which only the string representation is known, used when the element values could
+     * not be read. It is only equal to another annotation with the same string representation.
+     */
+    AnnotationInformation(String typeName, String displayString) {
+        this.typeName = typeName;
+        this.elements = Map.of();
+        this.displayString = displayString;
+        this.displayOnly = true;
+    }
+
+    String getTypeName() {
+        return typeName;
+    }
+
+    Map<String, Object> getElements() {
+        return elements;
+    }
+
+    boolean isDisplayOnly() {
+        return displayOnly;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof AnnotationInformation)) {
+            return false;
+        }
+        AnnotationInformation other = (AnnotationInformation) o;
+        if (displayOnly != other.displayOnly || hashCode() != other.hashCode() || !typeName.equals(other.typeName)) {
+            return false;
+        }
+        return displayOnly ? displayString.equals(other.displayString) : elements.equals(other.elements);
+    }
+
+    @Override
+    public int hashCode() {
+        // Annotations are compared a lot, and are immutable
+        int result = hashCode;
+        if (result == 0) {
+            result = 31 * typeName.hashCode() + (displayOnly ? displayString.hashCode() : elements.hashCode());
+            hashCode = result;
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return displayString;
+    }
+
+    private String createDisplayString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append('@').append(typeName).append('(');
+        boolean first = true;
+        for (Map.Entry<String, Object> element : elements.entrySet()) {
+            if (!first) {
+                sb.append(", ");
+            }
+            first = false;
+            sb.append(element.getKey()).append('=');
+            appendValue(sb, element.getValue());
+        }
+        return sb.append(')').toString();
+    }
+
+    private static void appendValue(StringBuilder sb, Object value) {
+        if (value instanceof String) {
+            sb.append('"').append(value).append('"');
+        } else if (value instanceof Character) {
+            sb.append('\'').append(value).append('\'');
+        } else if (value instanceof Long) {
+            sb.append(value).append('L');
+        } else if (value instanceof Float) {
+            sb.append(value).append('f');
+        } else if (value instanceof List) {
+            sb.append('{');
+            boolean first = true;
+            for (Object item : (List<?>) value) {
+                if (!first) {
+                    sb.append(", ");
+                }
+                first = false;
+                appendValue(sb, item);
+            }
+            sb.append('}');
+        } else {
+            sb.append(value);
+        }
+    }
+
+    /**
+     * The value of an enum constant used in an annotation.
+     */
+    static final class EnumValue {
+        private final String typeName;
+        private final String constantName;
+
+        EnumValue(String typeName, String constantName) {
+            this.typeName = typeName;
+            this.constantName = constantName;
+        }
+
+        String getTypeName() {
+            return typeName;
+        }
+
+        String getConstantName() {
+            return constantName;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof EnumValue)) {
+                return false;
+            }
+            EnumValue other = (EnumValue) o;
+            return typeName.equals(other.typeName) && constantName.equals(other.constantName);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * typeName.hashCode() + constantName.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return typeName + "." + constantName;
+        }
+    }
+
+    /**
+     * The value of a class literal used in an annotation.
+     */
+    static final class ClassValue {
+        private final String typeName;
+
+        ClassValue(String typeName) {
+            this.typeName = typeName;
+        }
+
+        String getTypeName() {
+            return typeName;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof ClassValue && typeName.equals(((ClassValue) o).typeName);
+        }
+
+        @Override
+        public int hashCode() {
+            return typeName.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return typeName + ".class";
+        }
+    }
+}
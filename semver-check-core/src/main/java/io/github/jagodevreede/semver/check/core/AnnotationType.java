@@ -0,0 +1,34 @@
+package io.github.jagodevreede.semver.check.core;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * What the {@link ClassFileParser} needs to know of an annotation type to describe an annotation like reflection
+ * does: the canonical name of the type and the default values of its elements.
+ */
+final class AnnotationType {
+
+    private final String canonicalName;
+    private final Map<String, Object> defaults;
+
+    AnnotationType(String canonicalName, Map<String, Object> defaults) {
+        this.canonicalName = canonicalName;
+        this.defaults = Collections.unmodifiableMap(new LinkedHashMap<>(defaults));
+    }
+
+    /**
+     * @return the name as returned by {@link Class#getCanonicalName()}, like <code>a.Outer.Annotation</code>
+     */
+    String getCanonicalName() {
+        return canonicalName;
+    }
+
+    /**
+     * @return the default value of each element that has one, in the same form as {@link AnnotationInformation#getElements()}
+     */
+    Map<String, Object> getDefaults() {
+        return defaults;
+    }
+}
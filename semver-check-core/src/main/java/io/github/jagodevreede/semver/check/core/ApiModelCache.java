@@ -0,0 +1,219 @@
+package io.github.jagodevreede.semver.check.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the API model of jars on disk, so a baseline jar that does not change between builds only has to be analysed
+ * once. Entries are keyed by the SHA-256 of the jar and the {@link ApiModelMode}, and the least recently used entries
+ * are removed once the cache grows beyond its maximum size.
+ * <p>
+ * The inherited members of super types and the default values of annotation types outside the jar are part of the
+ * model, so an entry also holds the digest of the class files of these classes. The entry is only used while the
+ * runtime classpath has the same class files.
+ * <p>
+ * Modules that check against the same baseline share its entry, also when their builds run at the same time, see
+ * {@link CacheFiles#write(Path, CacheFiles.Content)}.
+ */
+public final class ApiModelCache {
+    private static final Logger log = LoggerFactory.getLogger(ApiModelCache.class);
+    private static final String ENTRY_SUFFIX = ".model";
+
+    private final Path directory;
+    private final long maxSizeInBytes;
+
+    /**
+     * @param directory      the directory the entries are stored in, it is created when needed
+     * @param maxSizeInBytes the maximum total size of all entries
+     */
+    public ApiModelCache(File directory, long maxSizeInBytes) {
+        this.directory = directory.toPath();
+        this.maxSizeInBytes = maxSizeInBytes;
+    }
+
+    /**
+     * @return the key of the API model of the jar, or <code>null</code> if no key could be determined
+     */
+    String getKey(File jarFile, Configuration configuration) {
+        try {
+            MessageDigest jarDigest = CacheFiles.newSha256();
+            try (InputStream in = Files.newInputStream(jarFile.toPath())) {
+                byte[] buffer = new byte[64 * 1024];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    jarDigest.update(buffer, 0, read);
+                }
+            }
+            return CacheFiles.toHex(jarDigest.digest()) + "-" + configuration.getApiModelMode().name().toLowerCase(Locale.ROOT);
+        } catch (IOException e) {
+            log.warn("Unable to determine the cache key of {}, the API model is not cached: {}", jarFile, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * @return the digest of a class file, or an empty string if there is no class file
+     */
+    static String digest(byte[] classFile) {
+        return classFile == null ? "" : CacheFiles.sha256(classFile).substring(0, 32);
+    }
+
+    /**
+     * @param runtimeClasspath the classpath the classes outside the jar are looked up on
+     * @return the cached entry, or an empty entry if there is no (valid) entry for the key
+     */
+    Entry load(String key, RuntimeClasspath runtimeClasspath) {
+        Path entryFile = directory.resolve(key + ENTRY_SUFFIX);
+        if (!Files.isRegularFile(entryFile)) {
+            log.debug("No cached API model for {}", key);
+            return Entry.EMPTY;
+        }
+        Entry entry;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(entryFile)))) {
+            ApiModelSnapshot classes = ApiModelCodec.read(in);
+            Map<String, String> externalClasses = new TreeMap<>();
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                externalClasses.put(in.readUTF(), in.readUTF());
+            }
+            entry = new Entry(classes, externalClasses);
+        } catch (IOException | RuntimeException e) {
+            log.debug("Ignoring cached API model {}: {}", entryFile, e.getMessage());
+            deleteQuietly(entryFile);
+            return Entry.EMPTY;
+        }
+        try {
+            for (Map.Entry<String, String> externalClass : entry.getExternalClasses().entrySet()) {
+                if (!externalClass.getValue().equals(digest(runtimeClasspath.findClassFile(externalClass.getKey())))) {
+                    // Overwritten once the model is extracted again
+                    log.debug("Ignoring cached API model for {}, class {} changed on the runtime classpath", key, externalClass.getKey());
+                    return Entry.EMPTY;
+                }
+            }
+            Files.setLastModifiedTime(entryFile, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+            log.debug("Ignoring cached API model for {}: {}", key, e.getMessage());
+            return Entry.EMPTY;
+        }
+        log.debug("Using cached API model of {} classes for {}", entry.getClasses().size(), key);
+        return entry;
+    }
+
+    void store(String key, Entry entry) {
+        try {
+            CacheFiles.write(directory.resolve(key + ENTRY_SUFFIX), out -> {
+                DataOutputStream data = new DataOutputStream(out);
+                ApiModelCodec.write(data, entry.getClasses());
+                data.writeInt(entry.getExternalClasses().size());
+                for (Map.Entry<String, String> externalClass : entry.getExternalClasses().entrySet()) {
+                    data.writeUTF(externalClass.getKey());
+                    data.writeUTF(externalClass.getValue());
+                }
+            });
+            log.debug("Cached API model of {} classes for {}", entry.getClasses().size(), key);
+            evict();
+        } catch (IOException e) {
+            log.warn("Unable to cache the API model in {}: {}", directory, e.getMessage());
+        }
+    }
+
+    /**
+     * Removes the least recently used entries until the total size fits the maximum size.
+     */
+    private void evict() throws IOException {
+        List<Path> entries;
+        try (Stream<Path> files = Files.list(directory)) {
+            entries = files.filter(file -> file.getFileName().toString().endsWith(ENTRY_SUFFIX)).collect(Collectors.toCollection(ArrayList::new));
+        }
+        long totalSize = 0;
+        for (Path entry : entries) {
+            totalSize += sizeOf(entry);
+        }
+        if (totalSize <= maxSizeInBytes) {
+            return;
+        }
+        entries.sort(Comparator.comparingLong(ApiModelCache::lastModified));
+        for (Path entry : entries) {
+            if (totalSize <= maxSizeInBytes) {
+                break;
+            }
+            long size = sizeOf(entry);
+            if (deleteQuietly(entry)) {
+                log.debug("Evicted cached API model {}", entry.getFileName());
+                totalSize -= size;
+            }
+        }
+    }
+
+    private static long sizeOf(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            // Removed by a build running at the same time
+            return 0;
+        }
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static boolean deleteQuietly(Path file) {
+        try {
+            return Files.deleteIfExists(file);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * The cached classes of a jar, with the digest of the class file of each class outside the jar the model depends
+     * on.
+     */
+    static final class Entry {
+        static final Entry EMPTY = new Entry(new ApiModelSnapshot.Builder().build(), Map.of());
+
+        private final ApiModelSnapshot classes;
+        private final Map<String, String> externalClasses;
+
+        Entry(ApiModelSnapshot classes, Map<String, String> externalClasses) {
+            this.classes = classes;
+            this.externalClasses = externalClasses;
+        }
+
+        ApiModelSnapshot getClasses() {
+            return classes;
+        }
+
+        /**
+         * @return the binary name of each super type and annotation type outside the jar mapped to the digest of its
+         * class file, see {@link ApiModelCache#digest(byte[])}
+         */
+        Map<String, String> getExternalClasses() {
+            return externalClasses;
+        }
+    }
+}
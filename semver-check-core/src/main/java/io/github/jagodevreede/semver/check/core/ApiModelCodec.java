@@ -0,0 +1,301 @@
+package io.github.jagodevreede.semver.check.core;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary format of the API model of a jar. Every distinct string is written once, later occurrences (like
+ * the declaring class name of each member) refer back to it by index.
+ */
+final class ApiModelCodec {
+    private static final int MAGIC = 0x53564D43;
+    private static final int FORMAT_VERSION = 2;
+
+    private static final byte STRING = 's';
+    private static final byte INTEGER = 'I';
+    private static final byte LONG = 'J';
+    private static final byte FLOAT = 'F';
+    private static final byte DOUBLE = 'D';
+    private static final byte BOOLEAN = 'Z';
+    private static final byte BYTE = 'B';
+    private static final byte CHARACTER = 'C';
+    private static final byte SHORT = 'H';
+    private static final byte ENUM = 'e';
+    private static final byte CLASS = 'c';
+    private static final byte ANNOTATION = '@';
+    private static final byte ARRAY = '[';
+
+    private ApiModelCodec() {
+    }
+
+    static void write(DataOutputStream out, ApiModelSnapshot snapshot) throws IOException {
+        Writer writer = new Writer(out);
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        out.writeInt(snapshot.size());
+        for (String className : snapshot.getClassNames()) {
+            ClassInformation classInformation = snapshot.get(className);
+            writer.writeString(classInformation.getName());
+            out.writeInt(classInformation.getModifiers());
+            writer.writeMembers(classInformation.getConstructors());
+            writer.writeMembers(classInformation.getFields());
+            writer.writeMembers(classInformation.getMethods());
+        }
+    }
+
+    /**
+     * @throws IOException if the data is not in the current format
+     */
+    static ApiModelSnapshot read(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+            throw new IOException("Not an API model in format version " + FORMAT_VERSION);
+        }
+        Reader reader = new Reader(in);
+        int classCount = in.readInt();
+        ApiModelSnapshot.Builder builder = new ApiModelSnapshot.Builder();
+        for (int i = 0; i < classCount; i++) {
+            String name = reader.readString();
+            int modifiers = in.readInt();
+            List<MemberInformation> constructors = reader.readMembers();
+            List<MemberInformation> fields = reader.readMembers();
+            List<MemberInformation> methods = reader.readMembers();
+            builder.add(new ClassInformation(name, modifiers, constructors, fields, methods));
+        }
+        return builder.build();
+    }
+
+    private static final class Writer {
+        private final DataOutputStream out;
+        private final Map<String, Integer> strings = new HashMap<>();
+
+        private Writer(DataOutputStream out) {
+            this.out = out;
+        }
+
+        private void writeMembers(List<MemberInformation> members) throws IOException {
+            out.writeInt(members.size());
+            for (MemberInformation member : members) {
+                out.writeByte(member.getKind().ordinal());
+                writeString(member.getDeclaringClassName());
+                writeString(member.getName());
+                out.writeInt(member.getModifiers());
+                writeString(member.getTypeName());
+                writeString(member.getGenericTypeName());
+                writeStrings(member.getParameterTypeNames());
+                writeStrings(member.getExceptionTypeNames());
+                out.writeInt(member.getAnnotations().size());
+                for (AnnotationInformation annotation : member.getAnnotations()) {
+                    writeAnnotation(annotation);
+                }
+                out.writeBoolean(member.isDeclaredInInterface());
+            }
+        }
+
+        private void writeAnnotation(AnnotationInformation annotation) throws IOException {
+            writeString(annotation.getTypeName());
+            if (annotation.isDisplayOnly()) {
+                out.writeInt(-1);
+                writeString(annotation.toString());
+                return;
+            }
+            out.writeInt(annotation.getElements().size());
+            for (Map.Entry<String, Object> element : annotation.getElements().entrySet()) {
+                writeString(element.getKey());
+                writeValue(element.getValue());
+            }
+        }
+
+        private void writeValue(Object value) throws IOException {
+            if (value instanceof String) {
+                out.writeByte(STRING);
+                writeString((String) value);
+            } else if (value instanceof Integer) {
+                out.writeByte(INTEGER);
+                out.writeInt((Integer) value);
+            } else if (value instanceof Long) {
+                out.writeByte(LONG);
+                out.writeLong((Long) value);
+            } else if (value instanceof Float) {
+                out.writeByte(FLOAT);
+                out.writeFloat((Float) value);
+            } else if (value instanceof Double) {
+                out.writeByte(DOUBLE);
+                out.writeDouble((Double) value);
+            } else if (value instanceof Boolean) {
+                out.writeByte(BOOLEAN);
+                out.writeBoolean((Boolean) value);
+            } else if (value instanceof Byte) {
+                out.writeByte(BYTE);
+                out.writeByte((Byte) value);
+            } else if (value instanceof Character) {
+                out.writeByte(CHARACTER);
+                out.writeChar((Character) value);
+            } else if (value instanceof Short) {
+                out.writeByte(SHORT);
+                out.writeShort((Short) value);
+            } else if (value instanceof AnnotationInformation.EnumValue) {
+                out.writeByte(ENUM);
+                writeString(((AnnotationInformation.EnumValue) value).getTypeName());
+                writeString(((AnnotationInformation.EnumValue) value).getConstantName());
+            } else if (value instanceof AnnotationInformation.ClassValue) {
+                out.writeByte(CLASS);
+                writeString(((AnnotationInformation.ClassValue) value).getTypeName());
+            } else if (value instanceof AnnotationInformation) {
+                out.writeByte(ANNOTATION);
+                writeAnnotation((AnnotationInformation) value);
+            } else if (value instanceof List) {
+                out.writeByte(ARRAY);
+                out.writeInt(((List<?>) value).size());
+                for (Object item : (List<?>) value) {
+                    writeValue(item);
+                }
+            } else {
+                throw new IOException("Unsupported annotation value " + value.getClass().getName());
+            }
+        }
+
+        private void writeStrings(List<String> values) throws IOException {
+            out.writeInt(values.size());
+            for (String value : values) {
+                writeString(value);
+            }
+        }
+
+        /**
+         * Writes -1 for <code>null</code>, the index of a string that was already written, or the next free index
+         * followed by the string itself.
+         */
+        private void writeString(String value) throws IOException {
+            if (value == null) {
+                out.writeInt(-1);
+                return;
+            }
+            Integer index = strings.get(value);
+            if (index != null) {
+                out.writeInt(index);
+                return;
+            }
+            index = strings.size();
+            strings.put(value, index);
+            out.writeInt(index);
+            out.writeUTF(value);
+        }
+    }
+
+    private static final class Reader {
+        private final DataInputStream in;
+        private final List<String> strings = new ArrayList<>();
+
+        private Reader(DataInputStream in) {
+            this.in = in;
+        }
+
+        private List<MemberInformation> readMembers() throws IOException {
+            int count = in.readInt();
+            List<MemberInformation> members = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                MemberInformation.Kind kind = MemberInformation.Kind.values()[in.readUnsignedByte()];
+                String declaringClassName = readString();
+                String name = readString();
+                int modifiers = in.readInt();
+                String typeName = readString();
+                String genericTypeName = readString();
+                List<String> parameterTypeNames = readStrings();
+                List<String> exceptionTypeNames = readStrings();
+                int annotationCount = in.readInt();
+                List<AnnotationInformation> annotations = new ArrayList<>(annotationCount);
+                for (int j = 0; j < annotationCount; j++) {
+                    annotations.add(readAnnotation());
+                }
+                boolean declaredInInterface = in.readBoolean();
+                members.add(new MemberInformation(kind, declaringClassName, name, modifiers, typeName, genericTypeName,
+                        parameterTypeNames, exceptionTypeNames, annotations, declaredInInterface));
+            }
+            return members;
+        }
+
+        private AnnotationInformation readAnnotation() throws IOException {
+            String typeName = readString();
+            int elementCount = in.readInt();
+            if (elementCount < 0) {
+                return new AnnotationInformation(typeName, readString());
+            }
+            Map<String, Object> elements = new LinkedHashMap<>();
+            for (int i = 0; i < elementCount; i++) {
+                String name = readString();
+                elements.put(name, readValue());
+            }
+            return new AnnotationInformation(typeName, elements);
+        }
+
+        private Object readValue() throws IOException {
+            byte tag = in.readByte();
+            switch (tag) {
+                case STRING:
+                    return readString();
+                case INTEGER:
+                    return in.readInt();
+                case LONG:
+                    return in.readLong();
+                case FLOAT:
+                    return in.readFloat();
+                case DOUBLE:
+                    return in.readDouble();
+                case BOOLEAN:
+                    return in.readBoolean();
+                case BYTE:
+                    return in.readByte();
+                case CHARACTER:
+                    return in.readChar();
+                case SHORT:
+                    return in.readShort();
+                case ENUM:
+                    return new AnnotationInformation.EnumValue(readString(), readString());
+                case CLASS:
+                    return new AnnotationInformation.ClassValue(readString());
+                case ANNOTATION:
+                    return readAnnotation();
+                case ARRAY:
+                    int size = in.readInt();
+                    List<Object> values = new ArrayList<>(size);
+                    for (int i = 0; i < size; i++) {
+                        values.add(readValue());
+                    }
+                    return values;
+                default:
+                    throw new IOException("Unknown annotation value tag " + tag);
+            }
+        }
+
+        private List<String> readStrings() throws IOException {
+            int count = in.readInt();
+            List<String> values = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                values.add(readString());
+            }
+            return values;
+        }
+
+        private String readString() throws IOException {
+            int index = in.readInt();
+            if (index < 0) {
+                return null;
+            }
+            if (index < strings.size()) {
+                return strings.get(index);
+            }
+            if (index != strings.size()) {
+                throw new IOException("Invalid string index " + index);
+            }
+            String value = in.readUTF();
+            strings.add(value);
+            return value;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package io.github.jagodevreede.semver.check.core;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+import java.util.jar.JarFile;
+
+/**
+ * Builds the {@link ClassInformation} of the classes in a single jar.
+ */
+interface ApiModelExtractor extends Closeable {
+
+    /**
+     * @param className the binary name of a class in the jar
+     * @return the API model of the class
+     * @throws ReflectiveOperationException if the class could not be found
+     * @throws LinkageError                 if the class could not be read or linked
+     */
+    ClassInformation extract(String className) throws ReflectiveOperationException, IOException;
+
+    /**
+     * @param className the binary name of a class in the jar
+     * @return the binary names of the direct super class and interfaces of the class
+     * @throws ReflectiveOperationException if the class could not be found
+     * @throws LinkageError                 if the class could not be read or linked
+     */
+    List<String> getSuperTypeNames(String className) throws ReflectiveOperationException, IOException;
+
+    static ApiModelExtractor create(JarFile jarFile, RuntimeClasspath runtimeClasspath, Configuration configuration, ApiModelInterner interner) throws IOException {
+        if (configuration.getApiModelMode() == ApiModelMode.REFLECTION) {
+            return new ReflectionApiModelExtractor(jarFile, runtimeClasspath, interner);
+        }
+        return new BytecodeApiModelExtractor(jarFile, runtimeClasspath, interner);
+    }
+}
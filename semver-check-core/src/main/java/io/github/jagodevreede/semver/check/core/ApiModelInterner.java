@@ -0,0 +1,79 @@
+package io.github.jagodevreede.semver.check.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hands out a single instance of equal names, type lists and annotations. The same type names and annotations come
+ * back in nearly every member of both jars, so sharing them keeps the API model small, and lets most comparisons of
+ * two equal values end at the identity check.
+ * <p>
+ * One interner is used for both jars of a check and dropped with it. Thread-safe.
+ */
+final class ApiModelInterner {
+    private final Map<Object, Object> values = new ConcurrentHashMap<>();
+
+    String intern(String value) {
+        return value == null ? null : internValue(value);
+    }
+
+    AnnotationInformation intern(AnnotationInformation annotation) {
+        return internValue(annotation);
+    }
+
+    /**
+     * @return an immutable list with the interned names
+     */
+    List<String> internNames(List<String> names) {
+        if (names.isEmpty()) {
+            return List.of();
+        }
+        @SuppressWarnings("unchecked")
+        List<String> existing = (List<String>) values.get(names);
+        if (existing != null) {
+            return existing;
+        }
+        List<String> interned = new ArrayList<>(names.size());
+        for (String name : names) {
+            interned.add(intern(name));
+        }
+        return internValue(List.copyOf(interned));
+    }
+
+    /**
+     * @return an immutable list with the interned annotations
+     */
+    List<AnnotationInformation> internAnnotations(List<AnnotationInformation> annotations) {
+        if (annotations.isEmpty()) {
+            return List.of();
+        }
+        @SuppressWarnings("unchecked")
+        List<AnnotationInformation> existing = (List<AnnotationInformation>) values.get(annotations);
+        if (existing != null) {
+            return existing;
+        }
+        List<AnnotationInformation> interned = new ArrayList<>(annotations.size());
+        for (AnnotationInformation annotation : annotations) {
+            interned.add(intern(annotation));
+        }
+        return internValue(List.copyOf(interned));
+    }
+
+    /**
+     * @return the number of distinct values
+     */
+    int size() {
+        return values.size();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T internValue(T value) {
+        Object existing = values.get(value);
+        if (existing == null) {
+            existing = values.putIfAbsent(value, value);
+        }
+        return existing == null ? value : (T) existing;
+    }
+}
@@ -0,0 +1,16 @@
+package io.github.jagodevreede.semver.check.core;
+
+/**
+ * The way the API model of the classes in a jar is extracted.
+ */
+public enum ApiModelMode {
+    /**
+     * Reads the class files directly, without loading any class. This is the default.
+     */
+    BYTECODE,
+    /**
+     * Loads every class through a {@link java.net.URLClassLoader} and inspects it with reflection. Only use this as a
+     * fallback if the bytecode mode does not give the expected result.
+     */
+    REFLECTION
+}
@@ -0,0 +1,359 @@
+package io.github.jagodevreede.semver.check.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Compact, immutable API model of all classes of a jar, used for the models that are kept in memory as a whole, like
+ * a cached entry of the {@link ApiModelCache}. Instead of an object graph per member it is stored in columns:
+ * <ul>
+ * <li>a pool with every distinct string, and one with every distinct annotation</li>
+ * <li>a pool of string lists and one of annotation lists, a list is its size followed by the ids of its elements</li>
+ * <li>one int per member for each of its names, modifiers and lists, and a byte for its kind</li>
+ * <li>per class the offset of its first member, the members of a class are next to each other</li>
+ * </ul>
+ * A {@link ClassInformation} is only created the first time a class is asked for, and kept for the next lookups. The
+ * comparison itself still works on these materialized classes, not on the columns.
+ */
+final class ApiModelSnapshot {
+    private static final MemberInformation.Kind[] KINDS = MemberInformation.Kind.values();
+    private static final int KIND_MASK = 0x3;
+    private static final int DECLARED_IN_INTERFACE = 0x4;
+    private static final int EMPTY_LIST = 0;
+    private static final int NULL_STRING = -1;
+
+    private final String[] strings;
+    private final AnnotationInformation[] annotations;
+    private final int[] stringLists;
+    private final int[] annotationLists;
+    private final int[] classNames;
+    private final int[] classModifiers;
+    private final int[] firstMembers;
+    // The class names in order, to find a class by binary search, and the class number at each position
+    private final String[] sortedClassNames;
+    private final int[] sortedClasses;
+    private final AtomicReferenceArray<ClassInformation> materializedClasses;
+    private final byte[] memberFlags;
+    private final int[] memberDeclaringClassNames;
+    private final int[] memberNames;
+    private final int[] memberModifiers;
+    private final int[] memberTypeNames;
+    private final int[] memberGenericTypeNames;
+    private final int[] memberParameterTypeNames;
+    private final int[] memberExceptionTypeNames;
+    private final int[] memberAnnotations;
+
+    private ApiModelSnapshot(Builder builder) {
+        int classCount = builder.classNames.size;
+        int memberCount = builder.memberNames.size;
+        this.strings = builder.strings.toArray(new String[0]);
+        this.annotations = builder.annotations.toArray(new AnnotationInformation[0]);
+        this.stringLists = builder.stringLists.values.toArray();
+        this.annotationLists = builder.annotationLists.values.toArray();
+        this.classNames = builder.classNames.toArray();
+        this.classModifiers = builder.classModifiers.toArray();
+        builder.firstMembers.add(memberCount);
+        this.firstMembers = builder.firstMembers.toArray();
+        this.memberFlags = Arrays.copyOf(builder.memberFlags, memberCount);
+        this.memberDeclaringClassNames = builder.memberDeclaringClassNames.toArray();
+        this.memberNames = builder.memberNames.toArray();
+        this.memberModifiers = builder.memberModifiers.toArray();
+        this.memberTypeNames = builder.memberTypeNames.toArray();
+        this.memberGenericTypeNames = builder.memberGenericTypeNames.toArray();
+        this.memberParameterTypeNames = builder.memberParameterTypeNames.toArray();
+        this.memberExceptionTypeNames = builder.memberExceptionTypeNames.toArray();
+        this.memberAnnotations = builder.memberAnnotations.toArray();
+        this.sortedClassNames = new String[classCount];
+        for (int i = 0; i < classCount; i++) {
+            sortedClassNames[i] = strings[classNames[i]];
+        }
+        Arrays.sort(sortedClassNames);
+        // The position of the name in the high half and the class number in the low half, sorts without boxing
+        long[] order = new long[classCount];
+        for (int i = 0; i < classCount; i++) {
+            order[i] = (long) Arrays.binarySearch(sortedClassNames, strings[classNames[i]]) << 32 | i;
+        }
+        Arrays.sort(order);
+        this.sortedClasses = new int[classCount];
+        for (int i = 0; i < classCount; i++) {
+            sortedClasses[i] = (int) order[i];
+        }
+        this.materializedClasses = new AtomicReferenceArray<>(classCount);
+    }
+
+    static ApiModelSnapshot of(Map<String, ClassInformation> classes) {
+        Builder builder = new Builder();
+        for (ClassInformation classInformation : classes.values()) {
+            builder.add(classInformation);
+        }
+        return builder.build();
+    }
+
+    int size() {
+        return classNames.length;
+    }
+
+    boolean isEmpty() {
+        return classNames.length == 0;
+    }
+
+    /**
+     * @return the names of the classes, in the order they were added
+     */
+    List<String> getClassNames() {
+        List<String> result = new ArrayList<>(classNames.length);
+        for (int nameId : classNames) {
+            result.add(strings[nameId]);
+        }
+        return result;
+    }
+
+    /**
+     * @return the API model of the class, or <code>null</code> if the class is not in the snapshot
+     */
+    ClassInformation get(String className) {
+        int position = Arrays.binarySearch(sortedClassNames, className);
+        if (position < 0) {
+            return null;
+        }
+        int classNumber = sortedClasses[position];
+        ClassInformation classInformation = materializedClasses.get(classNumber);
+        if (classInformation == null) {
+            // Two threads can both create the class, the models are equal so either one can be kept
+            classInformation = toClassInformation(classNumber);
+            materializedClasses.set(classNumber, classInformation);
+        }
+        return classInformation;
+    }
+
+    private ClassInformation toClassInformation(int classNumber) {
+        List<MemberInformation> constructors = new ArrayList<>();
+        List<MemberInformation> fields = new ArrayList<>();
+        List<MemberInformation> methods = new ArrayList<>();
+        for (int member = firstMembers[classNumber]; member < firstMembers[classNumber + 1]; member++) {
+            MemberInformation.Kind kind = KINDS[memberFlags[member] & KIND_MASK];
+            MemberInformation memberInformation = new MemberInformation(kind, strings[memberDeclaringClassNames[member]],
+                    strings[memberNames[member]], memberModifiers[member], getString(memberTypeNames[member]),
+                    getString(memberGenericTypeNames[member]), getStrings(memberParameterTypeNames[member]),
+                    getStrings(memberExceptionTypeNames[member]), getAnnotations(memberAnnotations[member]),
+                    (memberFlags[member] & DECLARED_IN_INTERFACE) != 0);
+            switch (kind) {
+                case CONSTRUCTOR:
+                    constructors.add(memberInformation);
+                    break;
+                case FIELD:
+                    fields.add(memberInformation);
+                    break;
+                default:
+                    methods.add(memberInformation);
+            }
+        }
+        return new ClassInformation(strings[classNames[classNumber]], classModifiers[classNumber], constructors, fields, methods);
+    }
+
+    private String getString(int id) {
+        return id == NULL_STRING ? null : strings[id];
+    }
+
+    private List<String> getStrings(int listId) {
+        int size = stringLists[listId];
+        String[] values = new String[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = strings[stringLists[listId + 1 + i]];
+        }
+        return List.of(values);
+    }
+
+    private List<AnnotationInformation> getAnnotations(int listId) {
+        int size = annotationLists[listId];
+        AnnotationInformation[] values = new AnnotationInformation[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = annotations[annotationLists[listId + 1 + i]];
+        }
+        return List.of(values);
+    }
+
+    /**
+     * Collects classes into a snapshot, the classes themselves are not kept. Not thread-safe.
+     */
+    static final class Builder {
+        private final Map<String, Integer> stringIds = new HashMap<>();
+        private final List<String> strings = new ArrayList<>();
+        private final Map<AnnotationInformation, Integer> annotationIds = new HashMap<>();
+        private final List<AnnotationInformation> annotations = new ArrayList<>();
+        private final ListPool stringLists = new ListPool();
+        private final ListPool annotationLists = new ListPool();
+        private final IntList classNames = new IntList();
+        private final IntList classModifiers = new IntList();
+        private final IntList firstMembers = new IntList();
+        private byte[] memberFlags = new byte[64];
+        private final IntList memberDeclaringClassNames = new IntList();
+        private final IntList memberNames = new IntList();
+        private final IntList memberModifiers = new IntList();
+        private final IntList memberTypeNames = new IntList();
+        private final IntList memberGenericTypeNames = new IntList();
+        private final IntList memberParameterTypeNames = new IntList();
+        private final IntList memberExceptionTypeNames = new IntList();
+        private final IntList memberAnnotations = new IntList();
+
+        Builder add(ClassInformation classInformation) {
+            classNames.add(stringId(classInformation.getName()));
+            classModifiers.add(classInformation.getModifiers());
+            firstMembers.add(memberNames.size);
+            addMembers(classInformation.getConstructors());
+            addMembers(classInformation.getFields());
+            addMembers(classInformation.getMethods());
+            return this;
+        }
+
+        /**
+         * Adds all classes of another snapshot.
+         */
+        Builder addAll(ApiModelSnapshot snapshot) {
+            for (int classNumber = 0; classNumber < snapshot.size(); classNumber++) {
+                add(snapshot.toClassInformation(classNumber));
+            }
+            return this;
+        }
+
+        ApiModelSnapshot build() {
+            return new ApiModelSnapshot(this);
+        }
+
+        private void addMembers(List<MemberInformation> members) {
+            for (MemberInformation member : members) {
+                int index = memberNames.size;
+                if (index == memberFlags.length) {
+                    memberFlags = Arrays.copyOf(memberFlags, index * 2);
+                }
+                memberFlags[index] = (byte) (member.getKind().ordinal() | (member.isDeclaredInInterface() ? DECLARED_IN_INTERFACE : 0));
+                memberDeclaringClassNames.add(stringId(member.getDeclaringClassName()));
+                memberNames.add(stringId(member.getName()));
+                memberModifiers.add(member.getModifiers());
+                memberTypeNames.add(stringId(member.getTypeName()));
+                memberGenericTypeNames.add(stringId(member.getGenericTypeName()));
+                memberParameterTypeNames.add(stringListId(member.getParameterTypeNames()));
+                memberExceptionTypeNames.add(stringListId(member.getExceptionTypeNames()));
+                memberAnnotations.add(annotationListId(member.getAnnotations()));
+            }
+        }
+
+        private int stringId(String value) {
+            if (value == null) {
+                return NULL_STRING;
+            }
+            Integer id = stringIds.get(value);
+            if (id == null) {
+                id = strings.size();
+                strings.add(value);
+                stringIds.put(value, id);
+            }
+            return id;
+        }
+
+        private int annotationId(AnnotationInformation annotation) {
+            Integer id = annotationIds.get(annotation);
+            if (id == null) {
+                id = annotations.size();
+                annotations.add(annotation);
+                annotationIds.put(annotation, id);
+            }
+            return id;
+        }
+
+        private int stringListId(List<String> values) {
+            if (values.isEmpty()) {
+                return EMPTY_LIST;
+            }
+            int[] ids = new int[values.size()];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = stringId(values.get(i));
+            }
+            return stringLists.id(ids);
+        }
+
+        private int annotationListId(List<AnnotationInformation> values) {
+            if (values.isEmpty()) {
+                return EMPTY_LIST;
+            }
+            int[] ids = new int[values.size()];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = annotationId(values.get(i));
+            }
+            return annotationLists.id(ids);
+        }
+    }
+
+    /**
+     * Distinct lists of ids stored after each other, a list is identified by the offset of its size.
+     */
+    private static final class ListPool {
+        private final Map<Key, Integer> ids = new HashMap<>();
+        private final IntList values = new IntList();
+
+        ListPool() {
+            // Offset 0 is the empty list
+            values.add(0);
+        }
+
+        int id(int[] list) {
+            Key key = new Key(list);
+            Integer id = ids.get(key);
+            if (id == null) {
+                id = values.size;
+                values.add(list.length);
+                for (int value : list) {
+                    values.add(value);
+                }
+                ids.put(key, id);
+            }
+            return id;
+        }
+
+        /**
+         * An int array compared by its content.
+         */
+        private static final class Key {
+            private final int[] values;
+            private final int hashCode;
+
+            Key(int[] values) {
+                this.values = values;
+                this.hashCode = Arrays.hashCode(values);
+            }
+
+            @Override
+            public boolean equals(Object o) {
+                return o instanceof Key && hashCode == ((Key) o).hashCode && Arrays.equals(values, ((Key) o).values);
+            }
+
+            @Override
+            public int hashCode() {
+                return hashCode;
+            }
+        }
+    }
+
+    /**
+     * Growable array of primitive ints.
+     */
+    private static final class IntList {
+        private int[] values = new int[64];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package io.github.jagodevreede.semver.check.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * Builds the API model by parsing the class files in the jar, see {@link ClassFileParser}. Super classes, interfaces
+ * and annotation types are looked up in the jar first, then on the runtime classpath, so inherited public members and
+ * default annotation values are part of the model just like they would be with reflection.
+ */
+final class BytecodeApiModelExtractor implements ApiModelExtractor {
+    private static final Logger log = LoggerFactory.getLogger(BytecodeApiModelExtractor.class);
+
+    private final JarFile jarFile;
+    private final RuntimeClasspath runtimeClasspath;
+    private final ApiModelInterner interner;
+    // Classes can be extracted from several threads, a class that is parsed twice at the same time is harmless
+    private final Map<String, Optional<ClassFile>> classFiles = new ConcurrentHashMap<>();
+    private final Map<String, Collection<MemberInformation>> publicMethods = new ConcurrentHashMap<>();
+    private final Map<String, Collection<MemberInformation>> publicFields = new ConcurrentHashMap<>();
+    private final Map<String, Optional<AnnotationType>> annotationTypes = new ConcurrentHashMap<>();
+
+    BytecodeApiModelExtractor(JarFile jarFile, RuntimeClasspath runtimeClasspath, ApiModelInterner interner) {
+        this.jarFile = jarFile;
+        this.runtimeClasspath = runtimeClasspath;
+        this.interner = interner;
+    }
+
+    @Override
+    public ClassInformation extract(String className) throws ReflectiveOperationException, IOException {
+        ClassFile classFile = readClassFile(className);
+        if (classFile == null) {
+            throw new ClassNotFoundException(className);
+        }
+        return new ClassInformation(classFile.getName(), classFile.getModifiers(), classFile.getConstructors(),
+                new ArrayList<>(getPublicFields(classFile)), new ArrayList<>(getPublicMethods(classFile)));
+    }
+
+    @Override
+    public List<String> getSuperTypeNames(String className) throws ReflectiveOperationException, IOException {
+        ClassFile header = classFiles.getOrDefault(className, Optional.empty()).orElse(null);
+        if (header == null) {
+            byte[] bytes = readFromJar(className);
+            if (bytes == null) {
+                throw new ClassNotFoundException(className);
+            }
+            header = ClassFileParser.parseHeader(bytes);
+        }
+        List<String> superTypeNames = new ArrayList<>(header.getInterfaceNames().size() + 1);
+        if (header.getSuperName() != null) {
+            superTypeNames.add(header.getSuperName());
+        }
+        superTypeNames.addAll(header.getInterfaceNames());
+        return superTypeNames;
+    }
+
+    /**
+     * Same rules as {@link Class#getMethods()}: the public methods of the class itself, then the ones of the super
+     * class and then the non-static ones of the interfaces. A method with the same signature is only included once.
+     */
+    private Collection<MemberInformation> getPublicMethods(ClassFile classFile) throws IOException {
+        Collection<MemberInformation> cached = publicMethods.get(classFile.getName());
+        if (cached != null) {
+            return cached;
+        }
+        Map<String, MemberInformation> methods = new LinkedHashMap<>();
+        for (MemberInformation method : classFile.getMethods()) {
+            methods.putIfAbsent(methodKey(method), method);
+        }
+        if (!classFile.isInterface() && classFile.getSuperName() != null) {
+            ClassFile superClass = readSuperType(classFile, classFile.getSuperName());
+            if (superClass != null) {
+                for (MemberInformation method : getPublicMethods(superClass)) {
+                    methods.putIfAbsent(methodKey(method), method);
+                }
+            }
+        }
+        for (String interfaceName : classFile.getInterfaceNames()) {
+            ClassFile superInterface = readSuperType(classFile, interfaceName);
+            if (superInterface != null) {
+                for (MemberInformation method : getPublicMethods(superInterface)) {
+                    if (!method.isStatic()) {
+                        methods.putIfAbsent(methodKey(method), method);
+                    }
+                }
+            }
+        }
+        Collection<MemberInformation> result = methods.values();
+        publicMethods.put(classFile.getName(), result);
+        return result;
+    }
+
+    /**
+     * Same rules as {@link Class#getFields()}: the public fields of the class itself, then the ones of the interfaces
+     * and then the ones of the super class.
+     */
+    private Collection<MemberInformation> getPublicFields(ClassFile classFile) throws IOException {
+        Collection<MemberInformation> cached = publicFields.get(classFile.getName());
+        if (cached != null) {
+            return cached;
+        }
+        Map<String, MemberInformation> fields = new LinkedHashMap<>();
+        for (MemberInformation field : classFile.getFields()) {
+            fields.putIfAbsent(fieldKey(field), field);
+        }
+        for (String interfaceName : classFile.getInterfaceNames()) {
+            ClassFile superInterface = readSuperType(classFile, interfaceName);
+            if (superInterface != null) {
+                for (MemberInformation field : getPublicFields(superInterface)) {
+                    fields.putIfAbsent(fieldKey(field), field);
+                }
+            }
+        }
+        if (!classFile.isInterface() && classFile.getSuperName() != null) {
+            ClassFile superClass = readSuperType(classFile, classFile.getSuperName());
+            if (superClass != null) {
+                for (MemberInformation field : getPublicFields(superClass)) {
+                    fields.putIfAbsent(fieldKey(field), field);
+                }
+            }
+        }
+        Collection<MemberInformation> result = fields.values();
+        publicFields.put(classFile.getName(), result);
+        return result;
+    }
+
+    private static String methodKey(MemberInformation method) {
+        return method.getName() + method.getParameterTypeNames() + method.getTypeName();
+    }
+
+    private static String fieldKey(MemberInformation field) {
+        return field.getDeclaringClassName() + '.' + field.getName();
+    }
+
+    private ClassFile readSuperType(ClassFile classFile, String superTypeName) throws IOException {
+        ClassFile superType = readClassFile(superTypeName);
+        if (superType == null) {
+            log.debug("Unable to find {} the super type of {}, inherited members are ignored", superTypeName, classFile.getName());
+        }
+        return superType;
+    }
+
+    private ClassFile readClassFile(String className) throws IOException {
+        Optional<ClassFile> cached = classFiles.get(className);
+        if (cached != null) {
+            return cached.orElse(null);
+        }
+        byte[] bytes = readFromJar(className);
+        if (bytes == null) {
+            bytes = runtimeClasspath.findClassFile(className);
+        }
+        ClassFile classFile = bytes == null ? null : ClassFileParser.parse(bytes, interner, this::getAnnotationType);
+        classFiles.put(className, Optional.ofNullable(classFile));
+        return classFile;
+    }
+
+    /**
+     * @return the annotation type, or <code>null</code> if its class file is not in the jar or on the runtime classpath
+     */
+    private AnnotationType getAnnotationType(String binaryName) {
+        // Not computeIfAbsent, the default values of an annotation type can use other annotation types
+        Optional<AnnotationType> cached = annotationTypes.get(binaryName);
+        if (cached != null) {
+            return cached.orElse(null);
+        }
+        AnnotationType annotationType = null;
+        try {
+            byte[] bytes = readFromJar(binaryName);
+            if (bytes == null) {
+                bytes = runtimeClasspath.findClassFile(binaryName);
+            }
+            if (bytes == null) {
+                log.debug("Unable to find annotation type {}, default values are ignored", binaryName);
+            } else {
+                annotationType = ClassFileParser.parseAnnotationType(bytes, this::getAnnotationType);
+            }
+        } catch (IOException | ClassFormatError e) {
+            log.debug("Unable to read annotation type {}, default values are ignored: {}", binaryName, e.getMessage());
+        }
+        annotationTypes.put(binaryName, Optional.ofNullable(annotationType));
+        return annotationType;
+    }
+
+    private byte[] readFromJar(String className) throws IOException {
+        JarEntry entry = jarFile.getJarEntry(className.replace('.', '/') + ".class");
+        if (entry == null) {
+            return null;
+        }
+        try (InputStream in = jarFile.getInputStream(entry)) {
+            return in.readAllBytes();
+        }
+    }
+
+    @Override
+    public void close() {
+        classFiles.clear();
+        publicMethods.clear();
+        publicFields.clear();
+        annotationTypes.clear();
+    }
+}
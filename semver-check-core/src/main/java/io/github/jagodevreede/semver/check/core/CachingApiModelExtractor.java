@@ -0,0 +1,120 @@
+package io.github.jagodevreede.semver.check.core;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * Serves the API model from an {@link ApiModelCache} entry and only extracts the classes that are not in it yet.
+ * Newly extracted classes are added to the entry when the extractor is closed, together with the super types they
+ * inherit members from and the annotation types they use that are not in the jar.
+ */
+final class CachingApiModelExtractor implements ApiModelExtractor {
+
+    private final ApiModelExtractor delegate;
+    private final ApiModelCache cache;
+    private final String key;
+    private final JarFile jarFile;
+    private final RuntimeClasspath runtimeClasspath;
+    private final ApiModelCache.Entry cachedEntry;
+    private final Map<String, ClassInformation> extractedClasses = new ConcurrentHashMap<>();
+
+    CachingApiModelExtractor(ApiModelExtractor delegate, ApiModelCache cache, String key, JarFile jarFile, RuntimeClasspath runtimeClasspath) {
+        this.delegate = delegate;
+        this.cache = cache;
+        this.key = key;
+        this.jarFile = jarFile;
+        this.runtimeClasspath = runtimeClasspath;
+        this.cachedEntry = cache.load(key, runtimeClasspath);
+    }
+
+    @Override
+    public ClassInformation extract(String className) throws ReflectiveOperationException, IOException {
+        ClassInformation classInformation = cachedEntry.getClasses().get(className);
+        if (classInformation == null) {
+            classInformation = delegate.extract(className);
+            extractedClasses.put(className, classInformation);
+        }
+        return classInformation;
+    }
+
+    @Override
+    public List<String> getSuperTypeNames(String className) throws ReflectiveOperationException, IOException {
+        return delegate.getSuperTypeNames(className);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (!extractedClasses.isEmpty()) {
+                ApiModelSnapshot.Builder classes = new ApiModelSnapshot.Builder().addAll(cachedEntry.getClasses());
+                extractedClasses.values().forEach(classes::add);
+                Map<String, String> externalClasses = new TreeMap<>(cachedEntry.getExternalClasses());
+                addExternalClasses(externalClasses);
+                cache.store(key, new ApiModelCache.Entry(classes.build(), externalClasses));
+            }
+        } finally {
+            delegate.close();
+        }
+    }
+
+    /**
+     * Walks the super types and the annotation types of the extracted classes, including the annotation types used in
+     * default values, and adds the ones outside the jar with the digest of their class file. A class that can not be
+     * found is added with an empty digest.
+     */
+    private void addExternalClasses(Map<String, String> externalClasses) throws IOException {
+        Set<String> visited = new HashSet<>();
+        Deque<String> classes = new ArrayDeque<>(extractedClasses.keySet());
+        Deque<String> annotationTypes = new ArrayDeque<>();
+        // The parser reports the binary name of every annotation type it comes across
+        Function<String, AnnotationType> collectAnnotationType = annotationType -> {
+            annotationTypes.add(annotationType);
+            return null;
+        };
+        while (!classes.isEmpty() || !annotationTypes.isEmpty()) {
+            boolean annotationType = classes.isEmpty();
+            String className = annotationType ? annotationTypes.pop() : classes.pop();
+            if (!visited.add(className)) {
+                continue;
+            }
+            byte[] classFile = readFromJar(className);
+            if (classFile == null) {
+                classFile = runtimeClasspath.findClassFile(className);
+                externalClasses.put(className, ApiModelCache.digest(classFile));
+                if (classFile == null) {
+                    continue;
+                }
+            }
+            if (annotationType) {
+                ClassFileParser.parseAnnotationType(classFile, collectAnnotationType);
+            } else {
+                ClassFile parsed = ClassFileParser.parse(classFile, new ApiModelInterner(), collectAnnotationType);
+                if (parsed.getSuperName() != null) {
+                    classes.push(parsed.getSuperName());
+                }
+                classes.addAll(parsed.getInterfaceNames());
+            }
+        }
+    }
+
+    private byte[] readFromJar(String className) throws IOException {
+        JarEntry entry = jarFile.getJarEntry(className.replace('.', '/') + ".class");
+        if (entry == null) {
+            return null;
+        }
+        try (InputStream in = jarFile.getInputStream(entry)) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package io.github.jagodevreede.semver.check.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Where the time of a check went: the wall time per phase, counters like the number of compared classes and members,
+ * and the slowest classes. {@link SemVerChecker} fills in its own phases, callers can add theirs (like resolving the
+ * previous version) to the same instance.
+ * <p>
+ * The counters that are summed over all classes (<code>modelExtractionNanos</code> and <code>memberDiffNanos</code>)
+ * can exceed the wall time when classes are compared on multiple threads.
+ * <p>
+ * Not thread-safe, the checker only records metrics on the calling thread.
+ */
+public final class CheckMetrics {
+    private static final int DEFAULT_SLOWEST_CLASS_LIMIT = 10;
+    private static final Comparator<ClassTiming> BY_DURATION = Comparator.comparingLong(ClassTiming::getNanos);
+
+    private final int slowestClassLimit;
+    private final Map<String, String> attributes = new LinkedHashMap<>();
+    private final Map<String, Long> phaseNanos = new LinkedHashMap<>();
+    private final Map<String, Long> counters = new LinkedHashMap<>();
+    private final PriorityQueue<ClassTiming> slowestClasses = new PriorityQueue<>(BY_DURATION);
+
+    public CheckMetrics() {
+        this(DEFAULT_SLOWEST_CLASS_LIMIT);
+    }
+
+    /**
+     * @param slowestClassLimit the number of slowest classes that are kept
+     */
+    public CheckMetrics(int slowestClassLimit) {
+        this.slowestClassLimit = slowestClassLimit;
+    }
+
+    /**
+     * Runs the action and adds its wall time to the phase.
+     */
+    public <T, E extends Exception> T time(String phase, Action<T, E> action) throws E {
+        long start = System.nanoTime();
+        try {
+            return action.run();
+        } finally {
+            addPhase(phase, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Adds the time to the phase, a phase that is recorded more than once is summed.
+     */
+    public void addPhase(String phase, long nanos) {
+        phaseNanos.merge(phase, nanos, Long::sum);
+    }
+
+    public void addCounter(String counter, long delta) {
+        counters.merge(counter, delta, Long::sum);
+    }
+
+    /**
+     * Adds a value that describes the check, like the artifact that was checked.
+     */
+    public void setAttribute(String name, String value) {
+        attributes.put(name, value);
+    }
+
+    void recordClass(String className, long nanos) {
+        if (slowestClassLimit <= 0) {
+            return;
+        }
+        if (slowestClasses.size() < slowestClassLimit) {
+            slowestClasses.add(new ClassTiming(className, nanos));
+        } else if (slowestClasses.peek().getNanos() < nanos) {
+            slowestClasses.poll();
+            slowestClasses.add(new ClassTiming(className, nanos));
+        }
+    }
+
+    public Map<String, String> getAttributes() {
+        return Collections.unmodifiableMap(attributes);
+    }
+
+    /**
+     * @return the wall time of each phase in nanoseconds, in the order the phases were first recorded
+     */
+    public Map<String, Long> getPhaseNanos() {
+        return Collections.unmodifiableMap(phaseNanos);
+    }
+
+    /**
+     * @return the value of the counter, or 0 if it was never recorded
+     */
+    public long getCounter(String counter) {
+        return counters.getOrDefault(counter, 0L);
+    }
+
+    public Map<String, Long> getCounters() {
+        return Collections.unmodifiableMap(counters);
+    }
+
+    /**
+     * @return the slowest classes, the slowest first
+     */
+    public List<ClassTiming> getSlowestClasses() {
+        List<ClassTiming> result = new ArrayList<>(slowestClasses);
+        result.sort(BY_DURATION.reversed());
+        return result;
+    }
+
+    /**
+     * @return the metrics as a JSON object, with the times in milliseconds
+     */
+    public String toJson() {
+        StringBuilder sb = new StringBuilder("{\n  \"attributes\": {");
+        String separator = "\n";
+        for (Map.Entry<String, String> attribute : attributes.entrySet()) {
+            sb.append(separator).append("    ");
+            appendString(sb, attribute.getKey()).append(": ");
+            appendString(sb, attribute.getValue());
+            separator = ",\n";
+        }
+        sb.append(attributes.isEmpty() ? "" : "\n  ").append("},\n  \"phasesMillis\": {");
+        separator = "\n";
+        for (Map.Entry<String, Long> phase : phaseNanos.entrySet()) {
+            sb.append(separator).append("    ");
+            appendString(sb, phase.getKey()).append(": ").append(toMillis(phase.getValue()));
+            separator = ",\n";
+        }
+        sb.append(phaseNanos.isEmpty() ? "" : "\n  ").append("},\n  \"counters\": {");
+        separator = "\n";
+        for (Map.Entry<String, Long> counter : counters.entrySet()) {
+            sb.append(separator).append("    ");
+            appendString(sb, counter.getKey()).append(": ").append(counter.getValue());
+            separator = ",\n";
+        }
+        sb.append(counters.isEmpty() ? "" : "\n  ").append("},\n  \"slowestClasses\": [");
+        separator = "\n";
+        List<ClassTiming> timings = getSlowestClasses();
+        for (ClassTiming timing : timings) {
+            sb.append(separator).append("    {\"className\": ");
+            appendString(sb, timing.getClassName()).append(", \"millis\": ").append(toMillis(timing.getNanos())).append('}');
+            separator = ",\n";
+        }
+        return sb.append(timings.isEmpty() ? "" : "\n  ").append("]\n}\n").toString();
+    }
+
+    static String toMillis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+    }
+
+    private static StringBuilder appendString(StringBuilder sb, String value) {
+        if (value == null) {
+            return sb.append("null");
+        }
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    sb.append("\\\"");
+                    break;
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        return sb.append('"');
+    }
+
+    @FunctionalInterface
+    public interface Action<T, E extends Exception> {
+        T run() throws E;
+    }
+
+    /**
+     * The time it took to compare a single class, including the extraction of its API model.
+     */
+    public static final class ClassTiming {
+        private final String className;
+        private final long nanos;
+
+        ClassTiming(String className, long nanos) {
+            this.className = className;
+            this.nanos = nanos;
+        }
+
+        public String getClassName() {
+            return className;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+    }
+}
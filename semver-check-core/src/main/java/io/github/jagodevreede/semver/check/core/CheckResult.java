@@ -0,0 +1,22 @@
+package io.github.jagodevreede.semver.check.core;
+
+/**
+ * The outcome of {@link SemVerChecker#check()}: the {@link SemVerType} and the metrics of how it was determined.
+ */
+public final class CheckResult {
+    private final SemVerType semVerType;
+    private final CheckMetrics metrics;
+
+    CheckResult(SemVerType semVerType, CheckMetrics metrics) {
+        this.semVerType = semVerType;
+        this.metrics = metrics;
+    }
+
+    public SemVerType getSemVerType() {
+        return semVerType;
+    }
+
+    public CheckMetrics getMetrics() {
+        return metrics;
+    }
+}
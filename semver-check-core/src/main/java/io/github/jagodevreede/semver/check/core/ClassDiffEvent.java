@@ -0,0 +1,27 @@
+package io.github.jagodevreede.semver.check.core;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for comparing a single class, including the extraction of its API model.
+ */
+@Name("io.github.jagodevreede.semver.check.ClassDiff")
+@Label("Class Diff")
+@Description("Compares a class of the original jar with the one in the new jar")
+@Category({"SemVer Check", "Checker"})
+@StackTrace(false)
+final class ClassDiffEvent extends Event {
+    @Label("Class Name")
+    String className;
+
+    @Label("SemVer Type")
+    String semVerType;
+
+    @Label("Members")
+    int memberCount;
+}
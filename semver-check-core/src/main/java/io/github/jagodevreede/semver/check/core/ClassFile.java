@@ -0,0 +1,71 @@
+package io.github.jagodevreede.semver.check.core;
+
+import java.lang.reflect.Modifier;
+import java.util.List;
+
+/**
+ * The publicly visible part of a single class file, as read by the {@link ClassFileParser}. Unlike {@link ClassInformation}
+ * this only contains the members that are declared in the class itself.
+ */
+final class ClassFile {
+
+    private final String name;
+    private final String superName;
+    private final List<String> interfaceNames;
+    private final int modifiers;
+    private final int majorVersion;
+    private final List<MemberInformation> constructors;
+    private final List<MemberInformation> fields;
+    private final List<MemberInformation> methods;
+
+    ClassFile(String name, String superName, List<String> interfaceNames, int modifiers, int majorVersion,
+              List<MemberInformation> constructors, List<MemberInformation> fields, List<MemberInformation> methods) {
+        this.name = name;
+        this.superName = superName;
+        this.interfaceNames = List.copyOf(interfaceNames);
+        this.modifiers = modifiers;
+        this.majorVersion = majorVersion;
+        this.constructors = List.copyOf(constructors);
+        this.fields = List.copyOf(fields);
+        this.methods = List.copyOf(methods);
+    }
+
+    String getName() {
+        return name;
+    }
+
+    /**
+     * @return the binary name of the super class, or <code>null</code> for <code>java.lang.Object</code> and module-info
+     */
+    String getSuperName() {
+        return superName;
+    }
+
+    List<String> getInterfaceNames() {
+        return interfaceNames;
+    }
+
+    int getModifiers() {
+        return modifiers;
+    }
+
+    boolean isInterface() {
+        return Modifier.isInterface(modifiers);
+    }
+
+    int getMajorVersion() {
+        return majorVersion;
+    }
+
+    List<MemberInformation> getConstructors() {
+        return constructors;
+    }
+
+    List<MemberInformation> getFields() {
+        return fields;
+    }
+
+    List<MemberInformation> getMethods() {
+        return methods;
+    }
+}
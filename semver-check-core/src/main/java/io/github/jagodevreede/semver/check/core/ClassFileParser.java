@@ -0,0 +1,507 @@
+package io.github.jagodevreede.semver.check.core;
+
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Reads the public API of a class straight from the bytes of a class file, without loading the class.
+ * <p>
+ * Only the constant pool, the access flags, the descriptors and the <code>Signature</code>, <code>Exceptions</code>,
+ * <code>InnerClasses</code> and <code>RuntimeVisibleAnnotations</code> attributes are interpreted, everything else
+ * (like the byte code itself) is skipped. Members that are not public are skipped as well, as they are not part of
+ * the API.
+ * <p>
+ * Annotations are described like reflection does, with the canonical name of their type and with the default
+ * values of the elements that are not set. Both are read from the class file of the annotation type, see
+ * {@link #parseAnnotationType(byte[], Function)}.
+ * See <a href="https://docs.oracle.com/javase/specs/jvms/se17/html/jvms-4.html">The class File Format</a>.
+ */
+final class ClassFileParser {
+    private static final int MAGIC = 0xCAFEBABE;
+
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_INTEGER = 3;
+    private static final int CONSTANT_FLOAT = 4;
+    private static final int CONSTANT_LONG = 5;
+    private static final int CONSTANT_DOUBLE = 6;
+    private static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_STRING = 8;
+    private static final int CONSTANT_FIELDREF = 9;
+    private static final int CONSTANT_METHODREF = 10;
+    private static final int CONSTANT_INTERFACE_METHODREF = 11;
+    private static final int CONSTANT_NAME_AND_TYPE = 12;
+    private static final int CONSTANT_METHOD_HANDLE = 15;
+    private static final int CONSTANT_METHOD_TYPE = 16;
+    private static final int CONSTANT_DYNAMIC = 17;
+    private static final int CONSTANT_INVOKE_DYNAMIC = 18;
+    private static final int CONSTANT_MODULE = 19;
+    private static final int CONSTANT_PACKAGE = 20;
+
+    /**
+     * ACC_SUPER shares its bit with synchronized, and is not reported by {@link Class#getModifiers()}
+     */
+    private static final int ACC_SUPER = 0x0020;
+
+    private final byte[] bytes;
+    private final int[] constantPoolOffsets;
+    private final String[] utf8Cache;
+    private final ApiModelInterner interner;
+    private final Function<String, AnnotationType> annotationTypes;
+    private int position;
+
+    private ClassFileParser(byte[] bytes, ApiModelInterner interner, Function<String, AnnotationType> annotationTypes) {
+        this.bytes = bytes;
+        this.interner = interner;
+        this.annotationTypes = annotationTypes;
+        if (readInt(0) != MAGIC) {
+            throw new ClassFormatError("Magic number signature not as expected");
+        }
+        int constantPoolCount = readUnsignedShort(8);
+        this.constantPoolOffsets = new int[constantPoolCount];
+        this.utf8Cache = new String[constantPoolCount];
+        this.position = 10;
+        for (int i = 1; i < constantPoolCount; i++) {
+            constantPoolOffsets[i] = position + 1;
+            int tag = bytes[position] & 0xff;
+            switch (tag) {
+                case CONSTANT_UTF8:
+                    position += 3 + readUnsignedShort(position + 1);
+                    break;
+                case CONSTANT_CLASS:
+                case CONSTANT_STRING:
+                case CONSTANT_METHOD_TYPE:
+                case CONSTANT_MODULE:
+                case CONSTANT_PACKAGE:
+                    position += 3;
+                    break;
+                case CONSTANT_METHOD_HANDLE:
+                    position += 4;
+                    break;
+                case CONSTANT_INTEGER:
+                case CONSTANT_FLOAT:
+                case CONSTANT_FIELDREF:
+                case CONSTANT_METHODREF:
+                case CONSTANT_INTERFACE_METHODREF:
+                case CONSTANT_NAME_AND_TYPE:
+                case CONSTANT_DYNAMIC:
+                case CONSTANT_INVOKE_DYNAMIC:
+                    position += 5;
+                    break;
+                case CONSTANT_LONG:
+                case CONSTANT_DOUBLE:
+                    position += 9;
+                    i++;
+                    break;
+                default:
+                    throw new ClassFormatError("Unknown constant pool tag " + tag);
+            }
+        }
+    }
+
+    /**
+     * @param bytes the content of a class file
+     * @return the public API declared in the class file
+     * @throws ClassFormatError if the bytes are not a valid class file
+     */
+    static ClassFile parse(byte[] bytes) {
+        return parse(bytes, new ApiModelInterner(), binaryName -> null);
+    }
+
+    /**
+     * @param bytes           the content of a class file
+     * @param interner        the interner the names and annotations of the members are shared through
+     * @param annotationTypes looks up an annotation type by its binary name, returns <code>null</code> if it can not
+     *                        be found
+     * @return the public API declared in the class file
+     * @throws ClassFormatError if the bytes are not a valid class file
+     */
+    static ClassFile parse(byte[] bytes, ApiModelInterner interner, Function<String, AnnotationType> annotationTypes) {
+        try {
+            return new ClassFileParser(bytes, interner, annotationTypes).parseClass(false);
+        } catch (IndexOutOfBoundsException e) {
+            throw new ClassFormatError("Truncated class file");
+        }
+    }
+
+    /**
+     * Reads the canonical name of an annotation type and the <code>AnnotationDefault</code> attributes of its
+     * elements.
+     *
+     * @param bytes           the content of the class file of an annotation type
+     * @param annotationTypes looks up the annotation types used in default values
+     * @throws ClassFormatError if the bytes are not a valid class file
+     */
+    static AnnotationType parseAnnotationType(byte[] bytes, Function<String, AnnotationType> annotationTypes) {
+        try {
+            return new ClassFileParser(bytes, new ApiModelInterner(), annotationTypes).parseAnnotationType();
+        } catch (IndexOutOfBoundsException e) {
+            throw new ClassFormatError("Truncated class file");
+        }
+    }
+
+    /**
+     * Only reads the name, super class and interfaces, the returned class file has no members and the modifiers
+     * are not corrected for nested classes.
+     *
+     * @param bytes the content of a class file
+     * @return the header of the class file
+     * @throws ClassFormatError if the bytes are not a valid class file
+     */
+    static ClassFile parseHeader(byte[] bytes) {
+        try {
+            return new ClassFileParser(bytes, new ApiModelInterner(), binaryName -> null).parseClass(true);
+        } catch (IndexOutOfBoundsException e) {
+            throw new ClassFormatError("Truncated class file");
+        }
+    }
+
+    private ClassFile parseClass(boolean headerOnly) {
+        int majorVersion = readUnsignedShort(6);
+        int accessFlags = readUnsignedShort(position);
+        String name = interner.intern(Descriptors.toBinaryName(readClassName(readUnsignedShort(position + 2))));
+        int superIndex = readUnsignedShort(position + 4);
+        String superName = superIndex == 0 ? null : Descriptors.toBinaryName(readClassName(superIndex));
+        int interfaceCount = readUnsignedShort(position + 6);
+        position += 8;
+        List<String> interfaceNames = new ArrayList<>(interfaceCount);
+        for (int i = 0; i < interfaceCount; i++) {
+            interfaceNames.add(Descriptors.toBinaryName(readClassName(readUnsignedShort(position))));
+            position += 2;
+        }
+        boolean isInterface = Modifier.isInterface(accessFlags);
+        if (headerOnly) {
+            return new ClassFile(name, superName, interfaceNames, accessFlags & ~ACC_SUPER, majorVersion, List.of(), List.of(), List.of());
+        }
+
+        List<MemberInformation> fields = new ArrayList<>();
+        int fieldCount = readUnsignedShort(position);
+        position += 2;
+        for (int i = 0; i < fieldCount; i++) {
+            MemberInformation field = parseMember(name, isInterface, true);
+            if (field != null) {
+                fields.add(field);
+            }
+        }
+
+        List<MemberInformation> constructors = new ArrayList<>();
+        List<MemberInformation> methods = new ArrayList<>();
+        int methodCount = readUnsignedShort(position);
+        position += 2;
+        for (int i = 0; i < methodCount; i++) {
+            MemberInformation method = parseMember(name, isInterface, false);
+            if (method == null) {
+                continue;
+            }
+            if (method.getKind() == MemberInformation.Kind.CONSTRUCTOR) {
+                constructors.add(method);
+            } else {
+                methods.add(method);
+            }
+        }
+
+        int modifiers = accessFlags & ~ACC_SUPER;
+        int attributeCount = readUnsignedShort(position);
+        position += 2;
+        for (int i = 0; i < attributeCount; i++) {
+            String attributeName = readUtf8(readUnsignedShort(position));
+            int length = readInt(position + 2);
+            int start = position + 6;
+            if ("InnerClasses".equals(attributeName)) {
+                int innerModifiers = findInnerClassModifiers(start, name);
+                if (innerModifiers >= 0) {
+                    modifiers = innerModifiers;
+                }
+            }
+            position = start + length;
+        }
+        return new ClassFile(name, superName, interfaceNames, modifiers, majorVersion, constructors, fields, methods);
+    }
+
+    private AnnotationType parseAnnotationType() {
+        String name = Descriptors.toBinaryName(readClassName(readUnsignedShort(position + 2)));
+        position += 8 + 2 * readUnsignedShort(position + 6);
+        int fieldCount = readUnsignedShort(position);
+        position += 2;
+        for (int i = 0; i < fieldCount; i++) {
+            int attributeCount = readUnsignedShort(position + 6);
+            position += 8;
+            skipAttributes(attributeCount);
+        }
+
+        Map<String, Object> defaults = new LinkedHashMap<>();
+        int methodCount = readUnsignedShort(position);
+        position += 2;
+        for (int i = 0; i < methodCount; i++) {
+            String elementName = readUtf8(readUnsignedShort(position + 2));
+            int attributeCount = readUnsignedShort(position + 6);
+            position += 8;
+            for (int j = 0; j < attributeCount; j++) {
+                int length = readInt(position + 2);
+                int start = position + 6;
+                if ("AnnotationDefault".equals(readUtf8(readUnsignedShort(position)))) {
+                    defaults.put(elementName, readElementValue(new int[]{start}));
+                }
+                position = start + length;
+            }
+        }
+
+        String canonicalName = name;
+        int attributeCount = readUnsignedShort(position);
+        position += 2;
+        for (int i = 0; i < attributeCount; i++) {
+            int length = readInt(position + 2);
+            int start = position + 6;
+            if ("InnerClasses".equals(readUtf8(readUnsignedShort(position)))) {
+                canonicalName = findCanonicalName(start, name);
+            }
+            position = start + length;
+        }
+        return new AnnotationType(canonicalName, defaults);
+    }
+
+    /**
+     * The <code>InnerClasses</code> attribute of a nested class also lists the classes it is nested in, which gives
+     * the simple name of each of them.
+     */
+    private String findCanonicalName(int start, String className) {
+        int count = readUnsignedShort(start);
+        Map<String, String[]> enclosingClasses = new HashMap<>();
+        int offset = start + 2;
+        for (int i = 0; i < count; i++) {
+            int outerClassIndex = readUnsignedShort(offset + 2);
+            int innerNameIndex = readUnsignedShort(offset + 4);
+            if (outerClassIndex != 0 && innerNameIndex != 0) {
+                enclosingClasses.put(Descriptors.toBinaryName(readClassName(readUnsignedShort(offset))),
+                        new String[]{Descriptors.toBinaryName(readClassName(outerClassIndex)), readUtf8(innerNameIndex)});
+            }
+            offset += 8;
+        }
+        Deque<String> simpleNames = new ArrayDeque<>();
+        String name = className;
+        String[] enclosingClass;
+        while ((enclosingClass = enclosingClasses.remove(name)) != null) {
+            simpleNames.push(enclosingClass[1]);
+            name = enclosingClass[0];
+        }
+        return simpleNames.isEmpty() ? className : name + "." + String.join(".", simpleNames);
+    }
+
+    private int findInnerClassModifiers(int start, String className) {
+        int count = readUnsignedShort(start);
+        int offset = start + 2;
+        for (int i = 0; i < count; i++) {
+            int innerClassIndex = readUnsignedShort(offset);
+            if (innerClassIndex != 0 && className.equals(Descriptors.toBinaryName(readClassName(innerClassIndex)))) {
+                return readUnsignedShort(offset + 6);
+            }
+            offset += 8;
+        }
+        return -1;
+    }
+
+    private MemberInformation parseMember(String className, boolean isInterface, boolean isField) {
+        int accessFlags = readUnsignedShort(position);
+        int nameIndex = readUnsignedShort(position + 2);
+        int descriptorIndex = readUnsignedShort(position + 4);
+        int attributeCount = readUnsignedShort(position + 6);
+        position += 8;
+        if (!Modifier.isPublic(accessFlags)) {
+            skipAttributes(attributeCount);
+            return null;
+        }
+        String name = interner.intern(readUtf8(nameIndex));
+        if ("<clinit>".equals(name)) {
+            skipAttributes(attributeCount);
+            return null;
+        }
+        String descriptor = readUtf8(descriptorIndex);
+        String signature = null;
+        List<String> exceptions = List.of();
+        List<AnnotationInformation> annotations = List.of();
+        for (int i = 0; i < attributeCount; i++) {
+            String attributeName = readUtf8(readUnsignedShort(position));
+            int length = readInt(position + 2);
+            int start = position + 6;
+            switch (attributeName) {
+                case "Signature":
+                    signature = readUtf8(readUnsignedShort(start));
+                    break;
+                case "Exceptions":
+                    exceptions = interner.internNames(readExceptions(start));
+                    break;
+                case "RuntimeVisibleAnnotations":
+                    annotations = interner.internAnnotations(readAnnotations(start));
+                    break;
+                default:
+                    break;
+            }
+            position = start + length;
+        }
+
+        if (isField) {
+            return new MemberInformation(MemberInformation.Kind.FIELD, className, name, accessFlags,
+                    interner.intern(Descriptors.fieldTypeName(descriptor)), null, List.of(), List.of(), annotations, isInterface);
+        }
+        List<String> parameterTypeNames = interner.internNames(Descriptors.parameterTypeNames(descriptor));
+        if ("<init>".equals(name)) {
+            return new MemberInformation(MemberInformation.Kind.CONSTRUCTOR, className, className, accessFlags,
+                    "void", null, parameterTypeNames, exceptions, annotations, isInterface);
+        }
+        String returnTypeName = interner.intern(Descriptors.returnTypeName(descriptor));
+        String genericReturnTypeName = interner.intern(signature == null ? Descriptors.toTypeName(returnTypeName) : Descriptors.genericReturnTypeName(signature));
+        return new MemberInformation(MemberInformation.Kind.METHOD, className, name, accessFlags,
+                returnTypeName, genericReturnTypeName, parameterTypeNames, exceptions, annotations, isInterface);
+    }
+
+    private void skipAttributes(int attributeCount) {
+        for (int i = 0; i < attributeCount; i++) {
+            position += 6 + readInt(position + 2);
+        }
+    }
+
+    private List<String> readExceptions(int start) {
+        int count = readUnsignedShort(start);
+        List<String> exceptions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            exceptions.add(Descriptors.toBinaryName(readClassName(readUnsignedShort(start + 2 + i * 2))));
+        }
+        return exceptions;
+    }
+
+    private List<AnnotationInformation> readAnnotations(int start) {
+        int count = readUnsignedShort(start);
+        List<AnnotationInformation> annotations = new ArrayList<>(count);
+        int[] offset = {start + 2};
+        for (int i = 0; i < count; i++) {
+            annotations.add(readAnnotation(offset));
+        }
+        return annotations;
+    }
+
+    /**
+     * @param offset a single element array with the current offset, is updated to point after the annotation
+     */
+    private AnnotationInformation readAnnotation(int[] offset) {
+        String typeName = Descriptors.fieldTypeName(readUtf8(readUnsignedShort(offset[0])));
+        int pairCount = readUnsignedShort(offset[0] + 2);
+        offset[0] += 4;
+        // Sorted by name, like the reflection mode reads them
+        Map<String, Object> elements = new TreeMap<>();
+        for (int i = 0; i < pairCount; i++) {
+            String elementName = readUtf8(readUnsignedShort(offset[0]));
+            offset[0] += 2;
+            elements.put(elementName, readElementValue(offset));
+        }
+        AnnotationType annotationType = annotationTypes.apply(typeName);
+        if (annotationType == null) {
+            return new AnnotationInformation(typeName.replace('$', '.'), elements);
+        }
+        annotationType.getDefaults().forEach(elements::putIfAbsent);
+        return new AnnotationInformation(annotationType.getCanonicalName(), elements);
+    }
+
+    private Object readElementValue(int[] offset) {
+        char tag = (char) (bytes[offset[0]] & 0xff);
+        int index = readUnsignedShort(offset[0] + 1);
+        offset[0] += 3;
+        switch (tag) {
+            case 'B':
+                return (byte) readInt(constantPoolOffsets[index]);
+            case 'C':
+                return (char) readInt(constantPoolOffsets[index]);
+            case 'S':
+                return (short) readInt(constantPoolOffsets[index]);
+            case 'Z':
+                return readInt(constantPoolOffsets[index]) != 0;
+            case 'I':
+                return readInt(constantPoolOffsets[index]);
+            case 'F':
+                return Float.intBitsToFloat(readInt(constantPoolOffsets[index]));
+            case 'J':
+                return readLong(constantPoolOffsets[index]);
+            case 'D':
+                return Double.longBitsToDouble(readLong(constantPoolOffsets[index]));
+            case 's':
+                return readUtf8(index);
+            case 'e': {
+                String constantName = readUtf8(readUnsignedShort(offset[0]));
+                offset[0] += 2;
+                return new AnnotationInformation.EnumValue(Descriptors.fieldTypeName(readUtf8(index)), constantName);
+            }
+            case 'c': {
+                String descriptor = readUtf8(index);
+                return new AnnotationInformation.ClassValue(Descriptors.toTypeName(Descriptors.fieldTypeName(descriptor)));
+            }
+            case '@':
+                offset[0] -= 2;
+                return readAnnotation(offset);
+            case '[': {
+                List<Object> values = new ArrayList<>(index);
+                for (int i = 0; i < index; i++) {
+                    values.add(readElementValue(offset));
+                }
+                return values;
+            }
+            default:
+                throw new ClassFormatError("Unknown annotation element tag " + tag);
+        }
+    }
+
+    private String readClassName(int classIndex) {
+        return readUtf8(readUnsignedShort(constantPoolOffsets[classIndex]));
+    }
+
+    private String readUtf8(int index) {
+        String value = utf8Cache[index];
+        if (value == null) {
+            value = decodeUtf8(constantPoolOffsets[index]);
+            utf8Cache[index] = value;
+        }
+        return value;
+    }
+
+    /**
+     * Decodes a modified UTF-8 string, see {@link java.io.DataInput#readUTF()}
+     */
+    private String decodeUtf8(int offset) {
+        int length = readUnsignedShort(offset);
+        int index = offset + 2;
+        int end = index + length;
+        char[] chars = new char[length];
+        int count = 0;
+        while (index < end) {
+            int c = bytes[index] & 0xff;
+            if (c < 0x80) {
+                chars[count++] = (char) c;
+                index++;
+            } else if ((c & 0xe0) == 0xc0) {
+                chars[count++] = (char) (((c & 0x1f) << 6) | (bytes[index + 1] & 0x3f));
+                index += 2;
+            } else {
+                chars[count++] = (char) (((c & 0x0f) << 12) | ((bytes[index + 1] & 0x3f) << 6) | (bytes[index + 2] & 0x3f));
+                index += 3;
+            }
+        }
+        return new String(chars, 0, count);
+    }
+
+    private int readUnsignedShort(int offset) {
+        return ((bytes[offset] & 0xff) << 8) | (bytes[offset + 1] & 0xff);
+    }
+
+    private int readInt(int offset) {
+        return ((bytes[offset] & 0xff) << 24) | ((bytes[offset + 1] & 0xff) << 16) | ((bytes[offset + 2] & 0xff) << 8) | (bytes[offset + 3] & 0xff);
+    }
+
+    private long readLong(int offset) {
+        return ((long) readInt(offset) << 32) | (readInt(offset + 4) & 0xffffffffL);
+    }
+}
@@ -1,55 +1,55 @@
 package io.github.jagodevreede.semver.check.core;
 
-import java.lang.annotation.Annotation;
-import java.lang.reflect.Constructor;
-import java.lang.reflect.Field;
-import java.lang.reflect.Method;
-import java.util.Map;
-
-@SuppressWarnings("rawtypes") // We don't care about types
+import java.lang.reflect.Modifier;
+import java.util.List;
+
+/**
+ * Immutable API model of a class: its modifiers and all public constructors, fields and methods, including the
+ * inherited ones. Mirrors what {@link Class#getConstructors()}, {@link Class#getFields()} and {@link Class#getMethods()}
+ * would return, without holding on to the {@link Class} itself.
+ */
 final class ClassInformation {
 
-    private final Class aClass;
-    private final Map<Constructor, Annotation[]> constructorsAndAnnotations;
-    private final Map<Field, Annotation[]> fieldsAndAnnotations;
-    private final Map<Method, Annotation[]> methodsAndAnnotations;
-
-    public ClassInformation(Class aClass, Map<Constructor, Annotation[]> constructorsAndAnnotations, Map<Field, Annotation[]> fieldsAndAnnotations, Map<Method, Annotation[]> methodsAndAnnotations) {
-        this.aClass = aClass;
-        this.constructorsAndAnnotations = constructorsAndAnnotations;
-        this.fieldsAndAnnotations = fieldsAndAnnotations;
-        this.methodsAndAnnotations = methodsAndAnnotations;
-    }
+    private final String name;
+    private final int modifiers;
+    private final List<MemberInformation> constructors;
+    private final List<MemberInformation> fields;
+    private final List<MemberInformation> methods;
 
-    public Class getClazz() {
-        return aClass;
+    ClassInformation(String name, int modifiers, List<MemberInformation> constructors, List<MemberInformation> fields, List<MemberInformation> methods) {
+        this.name = name;
+        this.modifiers = modifiers;
+        this.constructors = List.copyOf(constructors);
+        this.fields = List.copyOf(fields);
+        this.methods = List.copyOf(methods);
     }
 
-    public Constructor[] getConstructors() {
-        return constructorsAndAnnotations.keySet().toArray(new Constructor[0]);
+    public String getName() {
+        return name;
     }
 
-    public Field[] getFields() {
-        return fieldsAndAnnotations.keySet().toArray(new Field[0]);
+    public String getPackageName() {
+        int lastDot = name.lastIndexOf('.');
+        return lastDot < 0 ? "" : name.substring(0, lastDot);
     }
 
-    public Method[] getMethods() {
-        return methodsAndAnnotations.keySet().toArray(new Method[0]);
+    public int getModifiers() {
+        return modifiers;
     }
 
-    public Map<Constructor, Annotation[]> getConstructorsAndAnnotations() {
-        return constructorsAndAnnotations;
+    public boolean isPublic() {
+        return Modifier.isPublic(modifiers);
     }
 
-    public Map<Field, Annotation[]> getFieldsAndAnnotations() {
-        return fieldsAndAnnotations;
+    public List<MemberInformation> getConstructors() {
+        return constructors;
     }
 
-    public Map<Method, Annotation[]> getMethodsAndAnnotations() {
-        return methodsAndAnnotations;
+    public List<MemberInformation> getFields() {
+        return fields;
     }
 
-    public String getName() {
-        return aClass.getName();
+    public List<MemberInformation> getMethods() {
+        return methods;
     }
 }
@@ -0,0 +1,68 @@
+package io.github.jagodevreede.semver.check.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The class names of two jars matched: the classes that are removed, added or present in both jars.
+ */
+final class ClassMatches {
+
+    private final List<String> removed;
+    private final List<String> added;
+    private final List<String> common;
+
+    private ClassMatches(List<String> removed, List<String> added, List<String> common) {
+        this.removed = removed;
+        this.added = added;
+        this.common = common;
+    }
+
+    /**
+     * Matches the classes in a single pass over both indexes, so the time needed grows linearly with the number of classes.
+     *
+     * @param classesInOriginalJar the names of the classes of the original jar
+     * @param classesInNewJar      the names of the classes of the new jar
+     * @return the matched classes, in the iteration order of the given sets
+     */
+    static ClassMatches of(Set<String> classesInOriginalJar, Set<String> classesInNewJar) {
+        List<String> removed = new ArrayList<>();
+        List<String> added = new ArrayList<>();
+        List<String> common = new ArrayList<>(Math.min(classesInOriginalJar.size(), classesInNewJar.size()));
+        for (String originalClass : classesInOriginalJar) {
+            if (classesInNewJar.contains(originalClass)) {
+                common.add(originalClass);
+            } else {
+                removed.add(originalClass);
+            }
+        }
+        for (String newClass : classesInNewJar) {
+            if (!classesInOriginalJar.contains(newClass)) {
+                added.add(newClass);
+            }
+        }
+        return new ClassMatches(removed, added, common);
+    }
+
+    /**
+     * @return the classes that are only in the original jar
+     */
+    List<String> getRemoved() {
+        return removed;
+    }
+
+    /**
+     * @return the classes that are only in the new jar
+     */
+    List<String> getAdded() {
+        return added;
+    }
+
+    /**
+     * @return the classes that are in both jars
+     */
+    List<String> getCommon() {
+        return common;
+    }
+}
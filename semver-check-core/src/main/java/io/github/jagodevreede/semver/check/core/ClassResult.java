@@ -0,0 +1,140 @@
+package io.github.jagodevreede.semver.check.core;
+
+import org.slf4j.Logger;
+import org.slf4j.event.Level;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.github.jagodevreede.semver.check.core.SemVerType.NONE;
+
+/**
+ * The outcome of comparing a single class. Log messages are buffered, so classes can be compared in parallel while
+ * the messages are still written in a deterministic order by {@link #replay(Logger)}.
+ */
+final class ClassResult {
+
+    private final String className;
+    private final List<Message> messages = new ArrayList<>();
+    private SemVerType semVerType = NONE;
+    private boolean hiddenChange;
+    private boolean excluded;
+    private long durationNanos = -1;
+    private long extractionNanos;
+    private long memberDiffNanos;
+    private int memberCount;
+
+    ClassResult(String className) {
+        this.className = className;
+    }
+
+    String getClassName() {
+        return className;
+    }
+
+    SemVerType getSemVerType() {
+        return semVerType;
+    }
+
+    void update(SemVerType semVerType) {
+        this.semVerType = SemVerType.updateResult(this.semVerType, semVerType);
+    }
+
+    /**
+     * @return <code>true</code> if the class changed in a way that is not reported on the class itself, but can be
+     * visible in the public API of its subclasses
+     */
+    boolean isHiddenChange() {
+        return hiddenChange;
+    }
+
+    void markHiddenChange() {
+        this.hiddenChange = true;
+    }
+
+    boolean isExcluded() {
+        return excluded;
+    }
+
+    void markExcluded() {
+        this.excluded = true;
+    }
+
+    /**
+     * @return <code>false</code> if the comparison was skipped because the result was already known
+     */
+    boolean isCompared() {
+        return durationNanos >= 0;
+    }
+
+    long getDurationNanos() {
+        return durationNanos;
+    }
+
+    void setDurationNanos(long durationNanos) {
+        this.durationNanos = durationNanos;
+    }
+
+    long getExtractionNanos() {
+        return extractionNanos;
+    }
+
+    void addExtractionNanos(long nanos) {
+        this.extractionNanos += nanos;
+    }
+
+    long getMemberDiffNanos() {
+        return memberDiffNanos;
+    }
+
+    void addMemberDiffNanos(long nanos) {
+        this.memberDiffNanos += nanos;
+    }
+
+    int getMemberCount() {
+        return memberCount;
+    }
+
+    void addMemberCount(int memberCount) {
+        this.memberCount += memberCount;
+    }
+
+    void warn(String format, Object... arguments) {
+        messages.add(new Message(Level.WARN, format, arguments));
+    }
+
+    void info(String format, Object... arguments) {
+        messages.add(new Message(Level.INFO, format, arguments));
+    }
+
+    void debug(String format, Object... arguments) {
+        messages.add(new Message(Level.DEBUG, format, arguments));
+    }
+
+    void replay(Logger log) {
+        for (Message message : messages) {
+            switch (message.level) {
+                case WARN:
+                    log.warn(message.format, message.arguments);
+                    break;
+                case INFO:
+                    log.info(message.format, message.arguments);
+                    break;
+                default:
+                    log.debug(message.format, message.arguments);
+            }
+        }
+    }
+
+    private static final class Message {
+        private final Level level;
+        private final String format;
+        private final Object[] arguments;
+
+        private Message(Level level, String format, Object[] arguments) {
+            this.level = level;
+            this.format = format;
+            this.arguments = arguments;
+        }
+    }
+}
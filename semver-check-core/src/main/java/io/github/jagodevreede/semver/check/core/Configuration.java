@@ -4,6 +4,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -16,6 +18,12 @@ public class Configuration {
     private final List<String> runtimeClasspathElements;
     private final SemVerType annotationAddedStrategy;
     private final SemVerType annotationRemovedStrategy;
+    private final ApiModelMode apiModelMode;
+    private final NameFilter includeFilter;
+    private final NameFilter excludeFilter;
+    private final NameFilter excludeFileFilter;
+    private final Map<String, Boolean> excludedPackages = new ConcurrentHashMap<>();
+    private final Map<String, Boolean> excludedFiles = new ConcurrentHashMap<>();
 
     public Configuration(
             List<String> includePackages,
@@ -24,12 +32,27 @@ public class Configuration {
             List<String> runtimeClasspathElements,
             SemVerType annotationAddedStrategy,
             SemVerType annotationRemovedStrategy) {
+        this(includePackages, excludePackages, excludeFiles, runtimeClasspathElements, annotationAddedStrategy, annotationRemovedStrategy, ApiModelMode.BYTECODE);
+    }
+
+    public Configuration(
+            List<String> includePackages,
+            List<String> excludePackages,
+            List<String> excludeFiles,
+            List<String> runtimeClasspathElements,
+            SemVerType annotationAddedStrategy,
+            SemVerType annotationRemovedStrategy,
+            ApiModelMode apiModelMode) {
         this.includePackages = includePackages.stream().map(Pattern::compile).collect(Collectors.toList());
         this.excludePackages = excludePackages.stream().map(Pattern::compile).collect(Collectors.toList());
         this.excludeFiles = excludeFiles.stream().map(Pattern::compile).collect(Collectors.toList());
         this.runtimeClasspathElements = runtimeClasspathElements;
         this.annotationAddedStrategy = annotationAddedStrategy;
         this.annotationRemovedStrategy = annotationRemovedStrategy;
+        this.apiModelMode = apiModelMode;
+        this.includeFilter = new NameFilter(this.includePackages);
+        this.excludeFilter = new NameFilter(this.excludePackages);
+        this.excludeFileFilter = new NameFilter(this.excludeFiles);
     }
 
     public List<Pattern> getIncludePackages() {
@@ -49,30 +72,40 @@ public class Configuration {
     }
 
     public boolean isExcluded(ClassInformation aClass) {
-        for (Pattern excludePackage : getExcludePackages()) {
-            if (excludePackage.matcher(aClass.getClazz().getPackage().getName()).matches()) {
-                log.debug("Class {} is skipped as it is excluded from the check as it in excluded package {}", aClass.getClazz().getName(), excludePackage);
-                return true;
-            }
-        }
-        for (Pattern includePackage : getIncludePackages()) {
-            if (includePackage.matcher(aClass.getClazz().getPackage().getName()).matches()) {
-                return false;
-            }
+        return isExcluded(aClass.getName());
+    }
+
+    /**
+     * Decides on the name alone, so excluded classes never have to be read. The decision is made once per package.
+     *
+     * @param className the binary name of a class, like <code>java.util.Map$Entry</code>
+     */
+    public boolean isExcluded(String className) {
+        int lastDot = className.lastIndexOf('.');
+        String packageName = lastDot < 0 ? "" : className.substring(0, lastDot);
+        return excludedPackages.computeIfAbsent(packageName, this::isPackageExcluded);
+    }
+
+    private boolean isPackageExcluded(String packageName) {
+        if (excludeFilter.matches(packageName)) {
+            log.debug("Classes in package {} are skipped as it is excluded from the check as it in excluded packages {}", packageName, excludePackages);
+            return true;
         }
-        if (!getIncludePackages().isEmpty()) {
-            log.debug("Class {} is skipped as it is not included in the check", aClass.getClazz().getName());
+        if (!includeFilter.isEmpty() && !includeFilter.matches(packageName)) {
+            log.debug("Classes in package {} are skipped as it is not included in the check", packageName);
             return true;
         }
         return false;
     }
 
     public boolean isFileExcluded(String fileName) {
-        for (Pattern excludeFile : getExcludeFiles()) {
-            if (excludeFile.matcher(fileName).matches()) {
-                log.debug("File {} is skipped as it is excluded from the check as it in excluded files {}", fileName, excludeFile);
-                return true;
-            }
+        return excludedFiles.computeIfAbsent(fileName, this::isFileNameExcluded);
+    }
+
+    private boolean isFileNameExcluded(String fileName) {
+        if (excludeFileFilter.matches(fileName)) {
+            log.debug("File {} is skipped as it is excluded from the check as it in excluded files {}", fileName, excludeFiles);
+            return true;
         }
         return false;
     }
@@ -84,4 +117,8 @@ public class Configuration {
     public SemVerType getAnnotationAddedStrategy() {
         return annotationAddedStrategy;
     }
+
+    public ApiModelMode getApiModelMode() {
+        return apiModelMode;
+    }
 }
@@ -0,0 +1,191 @@
+package io.github.jagodevreede.semver.check.core;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Converts JVM descriptors and generic signatures into the type names that reflection would report.
+ */
+final class Descriptors {
+
+    private Descriptors() {
+    }
+
+    /**
+     * @param internalName a name like <code>java/lang/String</code>
+     * @return the binary name, for example <code>java.lang.String</code>
+     */
+    static String toBinaryName(String internalName) {
+        return internalName.replace('/', '.');
+    }
+
+    /**
+     * @param methodDescriptor a descriptor like <code>(ILjava/lang/String;)V</code>
+     * @return the parameter types as {@link Class#getName()} would return them
+     */
+    static List<String> parameterTypeNames(String methodDescriptor) {
+        List<String> result = new ArrayList<>();
+        int index = 1;
+        while (methodDescriptor.charAt(index) != ')') {
+            int end = endOfFieldType(methodDescriptor, index);
+            result.add(fieldTypeName(methodDescriptor.substring(index, end)));
+            index = end;
+        }
+        return result;
+    }
+
+    /**
+     * @param methodDescriptor a descriptor like <code>(ILjava/lang/String;)V</code>
+     * @return the return type as {@link Class#getName()} would return it
+     */
+    static String returnTypeName(String methodDescriptor) {
+        return fieldTypeName(methodDescriptor.substring(methodDescriptor.indexOf(')') + 1));
+    }
+
+    /**
+     * @param descriptor a field descriptor like <code>[Ljava/lang/String;</code>
+     * @return the type as {@link Class#getName()} would return it
+     */
+    static String fieldTypeName(String descriptor) {
+        char first = descriptor.charAt(0);
+        switch (first) {
+            case 'L':
+                return toBinaryName(descriptor.substring(1, descriptor.length() - 1));
+            case '[':
+                return toBinaryName(descriptor);
+            default:
+                return primitiveName(first);
+        }
+    }
+
+    /**
+     * @param name a name as returned by {@link Class#getName()}
+     * @return the name as returned by {@link Class#getTypeName()}, that only differs for arrays
+     */
+    static String toTypeName(String name) {
+        if (name.charAt(0) != '[') {
+            return name;
+        }
+        int dimensions = 0;
+        while (name.charAt(dimensions) == '[') {
+            dimensions++;
+        }
+        StringBuilder sb = new StringBuilder(fieldTypeName(name.substring(dimensions).replace('.', '/')));
+        for (int i = 0; i < dimensions; i++) {
+            sb.append("[]");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * @param methodSignature a generic method signature like <code>&lt;T:Ljava/lang/Object;&gt;()Ljava/util/List&lt;TT;&gt;;</code>
+     * @return the return type as {@link java.lang.reflect.Type#getTypeName()} would return it
+     */
+    static String genericReturnTypeName(String methodSignature) {
+        int start = methodSignature.indexOf(')') + 1;
+        StringBuilder sb = new StringBuilder();
+        appendGenericType(methodSignature, start, sb);
+        return sb.toString();
+    }
+
+    private static int appendGenericType(String signature, int index, StringBuilder sb) {
+        char c = signature.charAt(index);
+        switch (c) {
+            case 'L':
+                return appendClassTypeSignature(signature, index + 1, sb);
+            case 'T': {
+                int end = signature.indexOf(';', index);
+                sb.append(signature, index + 1, end);
+                return end + 1;
+            }
+            case '[': {
+                int next = appendGenericType(signature, index + 1, sb);
+                sb.append("[]");
+                return next;
+            }
+            default:
+                sb.append(primitiveName(c));
+                return index + 1;
+        }
+    }
+
+    private static int appendClassTypeSignature(String signature, int index, StringBuilder sb) {
+        int i = index;
+        while (true) {
+            char c = signature.charAt(i);
+            if (c == ';') {
+                return i + 1;
+            } else if (c == '<') {
+                sb.append('<');
+                i++;
+                boolean first = true;
+                while (signature.charAt(i) != '>') {
+                    if (!first) {
+                        sb.append(", ");
+                    }
+                    first = false;
+                    char wildcard = signature.charAt(i);
+                    if (wildcard == '*') {
+                        sb.append('?');
+                        i++;
+                    } else if (wildcard == '+') {
+                        sb.append("? extends ");
+                        i = appendGenericType(signature, i + 1, sb);
+                    } else if (wildcard == '-') {
+                        sb.append("? super ");
+                        i = appendGenericType(signature, i + 1, sb);
+                    } else {
+                        i = appendGenericType(signature, i, sb);
+                    }
+                }
+                sb.append('>');
+                i++;
+            } else if (c == '.') {
+                sb.append('$');
+                i++;
+            } else if (c == '/') {
+                sb.append('.');
+                i++;
+            } else {
+                sb.append(c);
+                i++;
+            }
+        }
+    }
+
+    private static int endOfFieldType(String descriptor, int index) {
+        int i = index;
+        while (descriptor.charAt(i) == '[') {
+            i++;
+        }
+        if (descriptor.charAt(i) == 'L') {
+            return descriptor.indexOf(';', i) + 1;
+        }
+        return i + 1;
+    }
+
+    private static String primitiveName(char descriptor) {
+        switch (descriptor) {
+            case 'B':
+                return "byte";
+            case 'C':
+                return "char";
+            case 'D':
+                return "double";
+            case 'F':
+                return "float";
+            case 'I':
+                return "int";
+            case 'J':
+                return "long";
+            case 'S':
+                return "short";
+            case 'Z':
+                return "boolean";
+            case 'V':
+                return "void";
+            default:
+                throw new IllegalArgumentException("Unknown descriptor " + descriptor);
+        }
+    }
+}
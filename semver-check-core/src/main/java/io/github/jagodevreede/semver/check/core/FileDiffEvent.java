@@ -0,0 +1,27 @@
+package io.github.jagodevreede.semver.check.core;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for comparing the files that are not classes, like resources.
+ */
+@Name("io.github.jagodevreede.semver.check.FileDiff")
+@Label("File Diff")
+@Description("Compares the files that are not classes of both jars")
+@Category({"SemVer Check", "Checker"})
+@StackTrace(false)
+final class FileDiffEvent extends Event {
+    @Label("Files in Original")
+    int originalFileCount;
+
+    @Label("Files in New")
+    int newFileCount;
+
+    @Label("SemVer Type")
+    String semVerType;
+}
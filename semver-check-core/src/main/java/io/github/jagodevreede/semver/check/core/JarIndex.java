@@ -0,0 +1,413 @@
+package io.github.jagodevreede.semver.check.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+
+/**
+ * Index of all entries in a jar, built once by reading the central directory at the end of the zip file.
+ * Classes are indexed by their binary name, all other files by their entry name. In the same pass the major version
+ * of every class file is read, which only needs the first bytes of each class to be inflated.
+ * <p>
+ * The central directory is read into a heap buffer and the class headers through a small read ahead window, the jar
+ * is not memory mapped as a mapping can not be released and keeps the file locked on Windows until it is collected.
+ * See <a href="https://pkware.cachefly.net/webdocs/casestudies/APPNOTE.TXT">the zip file format</a>.
+ */
+final class JarIndex {
+    private static final String CLASS_EXTENSION = ".class";
+    private static final String VERSIONED_PREFIX = "META-INF/versions/";
+
+    private static final int END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06054b50;
+    private static final int END_OF_CENTRAL_DIRECTORY_SIZE = 22;
+    private static final int ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR_SIGNATURE = 0x07064b50;
+    private static final int ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR_SIZE = 20;
+    private static final int ZIP64_END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06064b50;
+    private static final int CENTRAL_DIRECTORY_HEADER_SIGNATURE = 0x02014b50;
+    private static final int CENTRAL_DIRECTORY_HEADER_SIZE = 46;
+    private static final int ZIP64_EXTRA_FIELD_ID = 0x0001;
+    private static final int MAX_COMMENT_LENGTH = 0xffff;
+    private static final long ZIP64_MAGIC = 0xffffffffL;
+    private static final int LOCAL_FILE_HEADER_SIGNATURE = 0x04034b50;
+    private static final int LOCAL_FILE_HEADER_SIZE = 30;
+    private static final int CLASS_MAGIC = 0xCAFEBABE;
+    private static final int CLASS_HEADER_SIZE = 8;
+    /**
+     * The input is fed in chunks, a dynamic huffman block starts with its code tables before the first 8 bytes of data
+     */
+    private static final int CLASS_HEADER_INPUT_SIZE = 512;
+    /**
+     * The local headers are read in the order of the jar, so most of them are in the window read for an earlier entry
+     */
+    private static final int WINDOW_SIZE = 64 * 1024;
+    static final int UNKNOWN_VERSION = -1;
+
+    private final Map<String, Entry> classes;
+    private final List<Entry> classEntries;
+    private final Map<String, Entry> files;
+
+    private JarIndex(Map<String, Entry> classes, List<Entry> classEntries, Map<String, Entry> files) {
+        this.classes = Collections.unmodifiableMap(classes);
+        this.classEntries = Collections.unmodifiableList(classEntries);
+        this.files = Collections.unmodifiableMap(files);
+    }
+
+    /**
+     * @param jarFile the jar to index
+     * @return the index of all entries in the jar
+     * @throws IOException if the jar could not be read or is not a valid zip file
+     */
+    static JarIndex of(File jarFile) throws IOException {
+        try (FileChannel channel = FileChannel.open(jarFile.toPath(), StandardOpenOption.READ)) {
+            Reader reader = new Reader(channel);
+            try {
+                return reader.read();
+            } finally {
+                reader.close();
+            }
+        }
+    }
+
+    /**
+     * @return all classes in the jar keyed by binary name, like <code>java.lang.String</code>, in the order of the jar.
+     * The classes for other java versions in a multi release jar, under <code>META-INF/versions/</code>, are left out
+     * and are not compared.
+     */
+    Map<String, Entry> getClasses() {
+        return classes;
+    }
+
+    /**
+     * @return all class file entries in the jar, including the ones for other java versions in a multi release jar
+     */
+    List<Entry> getClassEntries() {
+        return classEntries;
+    }
+
+    /**
+     * @param className the binary name of a class
+     * @return the entry of the class, or <code>null</code> if the class is not in the jar
+     */
+    Entry getClass(String className) {
+        return classes.get(className);
+    }
+
+    /**
+     * @return all entries that are not a class or a directory, keyed by entry name, in the order of the jar
+     */
+    Map<String, Entry> getFiles() {
+        return files;
+    }
+
+    private static String toClassName(String entryName) {
+        return entryName.substring(0, entryName.length() - CLASS_EXTENSION.length()).replace('/', '.');
+    }
+
+    private static String decodeName(ByteBuffer buffer, int start, int length) {
+        byte[] bytes = new byte[length];
+        buffer.duplicate().position(start).get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads the jar through the channel, small reads are served from a window of the file.
+     */
+    private static final class Reader {
+        private final FileChannel channel;
+        private final long fileSize;
+        private final ByteBuffer window = ByteBuffer.allocate(WINDOW_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        private long windowPosition;
+        private final byte[] classHeader = new byte[CLASS_HEADER_SIZE];
+        private final byte[] classHeaderInput = new byte[CLASS_HEADER_INPUT_SIZE];
+        private Inflater inflater;
+
+        private Reader(FileChannel channel) throws IOException {
+            this.channel = channel;
+            this.fileSize = channel.size();
+            window.limit(0);
+        }
+
+        private JarIndex read() throws IOException {
+            int tailSize = (int) Math.min(fileSize, END_OF_CENTRAL_DIRECTORY_SIZE + MAX_COMMENT_LENGTH);
+            ByteBuffer tail = region(fileSize - tailSize, tailSize);
+            int endOfCentralDirectory = -1;
+            for (int i = tailSize - END_OF_CENTRAL_DIRECTORY_SIZE; i >= 0; i--) {
+                if (tail.getInt(i) == END_OF_CENTRAL_DIRECTORY_SIGNATURE) {
+                    endOfCentralDirectory = i;
+                    break;
+                }
+            }
+            if (endOfCentralDirectory < 0) {
+                throw new ZipException("Unable to find the end of the central directory");
+            }
+            long endOfCentralDirectoryPosition = fileSize - tailSize + endOfCentralDirectory;
+            long entryCount = Short.toUnsignedInt(tail.getShort(endOfCentralDirectory + 10));
+            long centralDirectorySize = Integer.toUnsignedLong(tail.getInt(endOfCentralDirectory + 12));
+            long centralDirectoryOffset = Integer.toUnsignedLong(tail.getInt(endOfCentralDirectory + 16));
+            long centralDirectoryEnd = endOfCentralDirectoryPosition;
+
+            int locator = endOfCentralDirectory - ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR_SIZE;
+            if (locator >= 0 && tail.getInt(locator) == ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR_SIGNATURE) {
+                long zip64EndPosition = tail.getLong(locator + 8);
+                ByteBuffer zip64End = region(zip64EndPosition, 56);
+                if (zip64End.getInt(0) != ZIP64_END_OF_CENTRAL_DIRECTORY_SIGNATURE) {
+                    throw new ZipException("Invalid zip64 end of central directory");
+                }
+                entryCount = zip64End.getLong(32);
+                centralDirectorySize = zip64End.getLong(40);
+                centralDirectoryOffset = zip64End.getLong(48);
+                centralDirectoryEnd = zip64EndPosition;
+            }
+            // Jars can be prefixed with other data, like a launch script, the offsets are relative to the start of the zip
+            long prefixLength = centralDirectoryEnd - centralDirectorySize - centralDirectoryOffset;
+            if (prefixLength < 0 || centralDirectorySize > Integer.MAX_VALUE) {
+                throw new ZipException("Invalid central directory");
+            }
+            if (entryCount < 0 || entryCount > centralDirectorySize / CENTRAL_DIRECTORY_HEADER_SIZE) {
+                throw new ZipException("Invalid number of entries in the central directory: " + entryCount);
+            }
+            ByteBuffer centralDirectory = region(centralDirectoryOffset + prefixLength, (int) centralDirectorySize);
+            return readCentralDirectory(centralDirectory, entryCount, prefixLength);
+        }
+
+        private JarIndex readCentralDirectory(ByteBuffer buffer, long entryCount, long prefixLength) throws IOException {
+            // Bounded by the size of the central directory, which is read into memory already
+            int initialCapacity = (int) (entryCount * 2);
+            Map<String, Entry> classes = new LinkedHashMap<>(initialCapacity);
+            List<Entry> classEntries = new ArrayList<>(initialCapacity / 2);
+            Map<String, Entry> files = new LinkedHashMap<>();
+            int position = 0;
+            for (long i = 0; i < entryCount; i++) {
+                if (buffer.getInt(position) != CENTRAL_DIRECTORY_HEADER_SIGNATURE) {
+                    throw new ZipException("Invalid central directory header");
+                }
+                int method = Short.toUnsignedInt(buffer.getShort(position + 10));
+                long crc = Integer.toUnsignedLong(buffer.getInt(position + 16));
+                long compressedSize = Integer.toUnsignedLong(buffer.getInt(position + 20));
+                long size = Integer.toUnsignedLong(buffer.getInt(position + 24));
+                int nameLength = Short.toUnsignedInt(buffer.getShort(position + 28));
+                int extraLength = Short.toUnsignedInt(buffer.getShort(position + 30));
+                int commentLength = Short.toUnsignedInt(buffer.getShort(position + 32));
+                long offset = Integer.toUnsignedLong(buffer.getInt(position + 42));
+                int nameStart = position + CENTRAL_DIRECTORY_HEADER_SIZE;
+                String name = decodeName(buffer, nameStart, nameLength);
+
+                if (size == ZIP64_MAGIC || compressedSize == ZIP64_MAGIC || offset == ZIP64_MAGIC) {
+                    int extra = nameStart + nameLength;
+                    int extraEnd = extra + extraLength;
+                    while (extra + 4 <= extraEnd) {
+                        int id = Short.toUnsignedInt(buffer.getShort(extra));
+                        int dataSize = Short.toUnsignedInt(buffer.getShort(extra + 2));
+                        if (id == ZIP64_EXTRA_FIELD_ID) {
+                            int value = extra + 4;
+                            if (size == ZIP64_MAGIC) {
+                                size = buffer.getLong(value);
+                                value += 8;
+                            }
+                            if (compressedSize == ZIP64_MAGIC) {
+                                compressedSize = buffer.getLong(value);
+                                value += 8;
+                            }
+                            if (offset == ZIP64_MAGIC) {
+                                offset = buffer.getLong(value);
+                            }
+                            break;
+                        }
+                        extra += 4 + dataSize;
+                    }
+                }
+
+                boolean isClass = name.endsWith(CLASS_EXTENSION);
+                int majorVersion = isClass ? readMajorVersion(offset + prefixLength, method, compressedSize) : UNKNOWN_VERSION;
+                Entry entry = new Entry(name, crc, compressedSize, size, offset + prefixLength, method, majorVersion);
+                if (isClass) {
+                    classEntries.add(entry);
+                    if (!name.startsWith(VERSIONED_PREFIX)) {
+                        classes.put(toClassName(name), entry);
+                    }
+                } else if (!entry.isDirectory()) {
+                    files.put(name, entry);
+                }
+                position = nameStart + nameLength + extraLength + commentLength;
+            }
+            return new JarIndex(classes, classEntries, files);
+        }
+
+        /**
+         * @return the major version of the class file that starts at the given local header, or {@link #UNKNOWN_VERSION}
+         */
+        private int readMajorVersion(long localHeaderOffset, int method, long compressedSize) throws IOException {
+            if (compressedSize < CLASS_HEADER_SIZE && method == ZipEntry.STORED) {
+                return UNKNOWN_VERSION;
+            }
+            ByteBuffer localHeader = windowed(localHeaderOffset, LOCAL_FILE_HEADER_SIZE);
+            if (localHeader.getInt(0) != LOCAL_FILE_HEADER_SIGNATURE) {
+                return UNKNOWN_VERSION;
+            }
+            long dataOffset = localHeaderOffset + LOCAL_FILE_HEADER_SIZE + Short.toUnsignedInt(localHeader.getShort(26)) + Short.toUnsignedInt(localHeader.getShort(28));
+            if (method == ZipEntry.STORED) {
+                windowed(dataOffset, CLASS_HEADER_SIZE).get(classHeader);
+            } else if (method == ZipEntry.DEFLATED) {
+                if (inflater == null) {
+                    inflater = new Inflater(true);
+                } else {
+                    inflater.reset();
+                }
+                try {
+                    int inflated = 0;
+                    long inputOffset = 0;
+                    while (inflated < CLASS_HEADER_SIZE) {
+                        int count = inflater.inflate(classHeader, inflated, CLASS_HEADER_SIZE - inflated);
+                        inflated += count;
+                        if (count == 0) {
+                            if (!inflater.needsInput() || inputOffset >= compressedSize) {
+                                break;
+                            }
+                            int inputSize = (int) Math.min(compressedSize - inputOffset, CLASS_HEADER_INPUT_SIZE);
+                            windowed(dataOffset + inputOffset, inputSize).get(classHeaderInput, 0, inputSize);
+                            inflater.setInput(classHeaderInput, 0, inputSize);
+                            inputOffset += inputSize;
+                        }
+                    }
+                    if (inflated < CLASS_HEADER_SIZE) {
+                        return UNKNOWN_VERSION;
+                    }
+                } catch (DataFormatException e) {
+                    return UNKNOWN_VERSION;
+                }
+            } else {
+                return UNKNOWN_VERSION;
+            }
+            ByteBuffer header = ByteBuffer.wrap(classHeader);
+            if (header.getInt(0) != CLASS_MAGIC) {
+                return UNKNOWN_VERSION;
+            }
+            return Short.toUnsignedInt(header.getShort(6));
+        }
+
+        private void close() {
+            if (inflater != null) {
+                inflater.end();
+            }
+        }
+
+        /**
+         * @return a new buffer with the given region of the file
+         */
+        private ByteBuffer region(long position, int length) throws IOException {
+            checkBounds(position, length);
+            ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+            readFully(buffer, position);
+            return buffer.flip();
+        }
+
+        /**
+         * @return the given region of the file, backed by the window so only valid until the next call
+         */
+        private ByteBuffer windowed(long position, int length) throws IOException {
+            checkBounds(position, length);
+            if (position < windowPosition || position + length > windowPosition + window.limit()) {
+                window.clear().limit((int) Math.min(WINDOW_SIZE, fileSize - position));
+                readFully(window, position);
+                window.flip();
+                windowPosition = position;
+            }
+            int start = (int) (position - windowPosition);
+            return window.duplicate().position(start).limit(start + length).slice().order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        private void checkBounds(long position, int length) throws ZipException {
+            if (position < 0 || position + length > fileSize) {
+                throw new ZipException("Unexpected end of file");
+            }
+        }
+
+        private void readFully(ByteBuffer buffer, long position) throws IOException {
+            long start = position - buffer.position();
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, start + buffer.position()) < 0) {
+                    throw new ZipException("Unexpected end of file");
+                }
+            }
+        }
+    }
+
+    /**
+     * The metadata of a single entry in the jar, as stored in the central directory.
+     */
+    static final class Entry {
+        private final String name;
+        private final long crc;
+        private final long compressedSize;
+        private final long size;
+        private final long localHeaderOffset;
+        private final int method;
+        private final int majorVersion;
+
+        Entry(String name, long crc, long compressedSize, long size, long localHeaderOffset, int method, int majorVersion) {
+            this.name = name;
+            this.crc = crc;
+            this.compressedSize = compressedSize;
+            this.size = size;
+            this.localHeaderOffset = localHeaderOffset;
+            this.method = method;
+            this.majorVersion = majorVersion;
+        }
+
+        /**
+         * @return the name of the entry in the jar, like <code>java/lang/String.class</code>
+         */
+        String getName() {
+            return name;
+        }
+
+        long getCrc() {
+            return crc;
+        }
+
+        long getCompressedSize() {
+            return compressedSize;
+        }
+
+        long getSize() {
+            return size;
+        }
+
+        /**
+         * @return the offset of the local file header of this entry from the start of the file
+         */
+        long getLocalHeaderOffset() {
+            return localHeaderOffset;
+        }
+
+        /**
+         * @return the compression method, see {@link java.util.zip.ZipEntry#STORED} and {@link java.util.zip.ZipEntry#DEFLATED}
+         */
+        int getMethod() {
+            return method;
+        }
+
+        /**
+         * @return the major version of a class file, or {@link #UNKNOWN_VERSION} if this is not a readable class file
+         */
+        int getMajorVersion() {
+            return majorVersion;
+        }
+
+        boolean isDirectory() {
+            return name.endsWith("/");
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package io.github.jagodevreede.semver.check.core;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for reading the central directory of a jar.
+ */
+@Name("io.github.jagodevreede.semver.check.JarScan")
+@Label("Jar Scan")
+@Description("Reads the entries of a jar")
+@Category({"SemVer Check", "Checker"})
+@StackTrace(false)
+final class JarScanEvent extends Event {
+    @Label("Jar")
+    String jar;
+
+    @Label("Entries")
+    int entryCount;
+
+    @Label("Classes")
+    int classCount;
+}
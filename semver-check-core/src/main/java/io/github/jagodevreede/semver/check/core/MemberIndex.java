@@ -0,0 +1,67 @@
+package io.github.jagodevreede.semver.check.core;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hash index over the members of a class, so a member can be looked up in the other jar without scanning all members.
+ */
+final class MemberIndex {
+
+    private final Map<String, MemberInformation> methodsBySignature;
+    private final Map<String, MemberInformation> membersByDisplayString;
+
+    private MemberIndex(Map<String, MemberInformation> methodsBySignature, Map<String, MemberInformation> membersByDisplayString) {
+        this.methodsBySignature = methodsBySignature;
+        this.membersByDisplayString = membersByDisplayString;
+    }
+
+    static MemberIndex of(List<MemberInformation> members) {
+        Map<String, MemberInformation> methodsBySignature = new HashMap<>(members.size() * 2);
+        Map<String, MemberInformation> membersByDisplayString = new HashMap<>(members.size() * 2);
+        for (MemberInformation member : members) {
+            if (member.getKind() == MemberInformation.Kind.METHOD) {
+                methodsBySignature.putIfAbsent(signatureKey(member), member);
+            }
+            membersByDisplayString.putIfAbsent(member.toString(), member);
+        }
+        return new MemberIndex(methodsBySignature, membersByDisplayString);
+    }
+
+    /**
+     * A method matches on name, parameter types and declared exceptions, so a changed return type can be detected by
+     * the caller. Other members need to be identical.
+     *
+     * @return the matching member, or <code>null</code> if there is none
+     */
+    MemberInformation findMatching(MemberInformation member) {
+        if (member.getKind() == MemberInformation.Kind.METHOD) {
+            return methodsBySignature.get(signatureKey(member));
+        }
+        return findIdentical(member);
+    }
+
+    /**
+     * @return the member with the same modifiers, types and declaring class, or <code>null</code> if there is none
+     */
+    MemberInformation findIdentical(MemberInformation member) {
+        return membersByDisplayString.get(member.toString());
+    }
+
+    /**
+     * The name and erased parameter types, like a method descriptor without the return type, followed by the
+     * declared exceptions.
+     */
+    private static String signatureKey(MemberInformation method) {
+        StringBuilder sb = new StringBuilder(method.getName()).append('(');
+        for (String parameterTypeName : method.getParameterTypeNames()) {
+            sb.append(parameterTypeName).append(';');
+        }
+        sb.append(')');
+        for (String exceptionTypeName : method.getExceptionTypeNames()) {
+            sb.append(exceptionTypeName).append(';');
+        }
+        return sb.toString();
+    }
+}
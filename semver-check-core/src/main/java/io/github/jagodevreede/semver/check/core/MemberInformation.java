@@ -0,0 +1,173 @@
+package io.github.jagodevreede.semver.check.core;
+
+import java.lang.reflect.Modifier;
+import java.util.List;
+
+/**
+ * Immutable description of a public constructor, field or method, as it is visible from the outside of a class.
+ */
+final class MemberInformation {
+
+    enum Kind {
+        CONSTRUCTOR("Constructor"),
+        FIELD("Field"),
+        METHOD("Method");
+
+        private final String displayName;
+
+        Kind(String displayName) {
+            this.displayName = displayName;
+        }
+
+        String getDisplayName() {
+            return displayName;
+        }
+    }
+
+    private static final int DEFAULT_METHOD_MODIFIERS = Modifier.ABSTRACT | Modifier.STATIC;
+
+    private final Kind kind;
+    private final String declaringClassName;
+    private final String name;
+    private final int modifiers;
+    private final String typeName;
+    private final String genericTypeName;
+    private final List<String> parameterTypeNames;
+    private final List<String> exceptionTypeNames;
+    private final List<AnnotationInformation> annotations;
+    private final boolean declaredInInterface;
+    private final String displayString;
+
+    /**
+     * @param kind                the kind of member
+     * @param declaringClassName  the binary name of the class that declares this member
+     * @param name                the name of the member, for constructors this is the name of the declaring class
+     * @param modifiers           the access flags of the member
+     * @param typeName            the return type of a method or the type of field, as {@link Class#getName()} would return it
+     * @param genericTypeName     the generic return type of a method, as {@link java.lang.reflect.Type#getTypeName()} would return it
+     * @param parameterTypeNames  the parameter types, as {@link Class#getName()} would return them
+     * @param exceptionTypeNames  the declared exceptions, as {@link Class#getName()} would return them
+     * @param annotations         the runtime visible annotations on the member
+     * @param declaredInInterface if the declaring class is an interface
+     */
+    MemberInformation(Kind kind, String declaringClassName, String name, int modifiers, String typeName, String genericTypeName,
+                      List<String> parameterTypeNames, List<String> exceptionTypeNames, List<AnnotationInformation> annotations,
+                      boolean declaredInInterface) {
+        this.kind = kind;
+        this.declaringClassName = declaringClassName;
+        this.name = name;
+        this.modifiers = modifiers;
+        this.typeName = typeName;
+        this.genericTypeName = genericTypeName;
+        this.parameterTypeNames = List.copyOf(parameterTypeNames);
+        this.exceptionTypeNames = List.copyOf(exceptionTypeNames);
+        this.annotations = List.copyOf(annotations);
+        this.declaredInInterface = declaredInInterface;
+        this.displayString = createDisplayString();
+    }
+
+    Kind getKind() {
+        return kind;
+    }
+
+    String getDeclaringClassName() {
+        return declaringClassName;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    int getModifiers() {
+        return modifiers;
+    }
+
+    String getTypeName() {
+        return typeName;
+    }
+
+    String getGenericTypeName() {
+        return genericTypeName;
+    }
+
+    List<String> getParameterTypeNames() {
+        return parameterTypeNames;
+    }
+
+    List<String> getExceptionTypeNames() {
+        return exceptionTypeNames;
+    }
+
+    List<AnnotationInformation> getAnnotations() {
+        return annotations;
+    }
+
+    boolean isDeclaredInInterface() {
+        return declaredInInterface;
+    }
+
+    boolean isStatic() {
+        return Modifier.isStatic(modifiers);
+    }
+
+    /**
+     * @return true if this is a default method of an interface, same as {@link java.lang.reflect.Method#isDefault()}
+     */
+    boolean isDefault() {
+        return kind == Kind.METHOD && declaredInInterface && Modifier.isPublic(modifiers) && (modifiers & DEFAULT_METHOD_MODIFIERS) == 0;
+    }
+
+    /**
+     * @return the same string as {@link java.lang.reflect.Member}'s <code>toString()</code> would return
+     */
+    @Override
+    public String toString() {
+        return displayString;
+    }
+
+    private String createDisplayString() {
+        StringBuilder sb = new StringBuilder();
+        switch (kind) {
+            case FIELD:
+                if (modifiers != 0) {
+                    appendModifiers(sb, modifiers);
+                }
+                sb.append(Descriptors.toTypeName(typeName)).append(' ').append(declaringClassName).append('.').append(name);
+                return sb.toString();
+            case CONSTRUCTOR:
+                appendModifiers(sb, modifiers & Modifier.constructorModifiers());
+                sb.append(declaringClassName);
+                break;
+            case METHOD:
+                int mod = modifiers & Modifier.methodModifiers();
+                if (isDefault()) {
+                    appendModifiers(sb, mod & (Modifier.PUBLIC | Modifier.PROTECTED | Modifier.PRIVATE));
+                    sb.append("default ");
+                    appendModifiers(sb, mod & ~(Modifier.PUBLIC | Modifier.PROTECTED | Modifier.PRIVATE));
+                } else {
+                    appendModifiers(sb, mod);
+                }
+                sb.append(Descriptors.toTypeName(typeName)).append(' ').append(declaringClassName).append('.').append(name);
+                break;
+        }
+        sb.append('(');
+        for (int i = 0; i < parameterTypeNames.size(); i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(Descriptors.toTypeName(parameterTypeNames.get(i)));
+        }
+        sb.append(')');
+        if (!exceptionTypeNames.isEmpty()) {
+            sb.append(" throws ").append(String.join(",", exceptionTypeNames));
+        }
+        return sb.toString();
+    }
+
+    private static void appendModifiers(StringBuilder sb, int modifiers) {
+        String modifierString = Modifier.toString(modifiers);
+        if (!modifierString.isEmpty()) {
+            sb.append(modifierString).append(' ');
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package io.github.jagodevreede.semver.check.core;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for extracting the API model of a single class.
+ */
+@Name("io.github.jagodevreede.semver.check.ModelExtraction")
+@Label("Model Extraction")
+@Description("Extracts the API model of a class")
+@Category({"SemVer Check", "Checker"})
+@StackTrace(false)
+final class ModelExtractionEvent extends Event {
+    @Label("Jar")
+    String jar;
+
+    @Label("Class Name")
+    String className;
+
+    @Label("Members")
+    int memberCount;
+}
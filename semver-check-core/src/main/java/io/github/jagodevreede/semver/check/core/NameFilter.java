@@ -0,0 +1,156 @@
+package io.github.jagodevreede.semver.check.core;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Matches a name against a list of regular expressions with the same result as trying every
+ * {@link java.util.regex.Matcher#matches()} in turn, but without looping over the patterns.
+ * <p>
+ * Patterns that are a plain name, optionally followed by <code>.*</code>, like <code>com.acme</code> or
+ * <code>org.slf4j:.*</code>, are put in a trie. A <code>.</code> in them still matches any character, like it does
+ * in the regular expression. All other patterns are combined into a single alternation, only patterns with a back
+ * reference are kept apart as their group numbers would shift, and patterns with a named group as two of them can use
+ * the same name.
+ * <p>
+ * Thread-safe. Verdicts are not cached here, callers memoize them for the names they see repeatedly.
+ */
+public final class NameFilter {
+    private static final Pattern BACK_REFERENCE = Pattern.compile("\\\\[1-9k]");
+    private static final Pattern NAMED_GROUP = Pattern.compile("\\(\\?<[a-zA-Z]");
+
+    private final Node root = new Node();
+    private final Pattern alternation;
+    private final List<Pattern> separatePatterns = new ArrayList<>();
+    private final boolean empty;
+
+    public NameFilter(List<Pattern> patterns) {
+        List<String> alternatives = new ArrayList<>();
+        for (Pattern pattern : patterns) {
+            String regex = pattern.pattern();
+            if (pattern.flags() != 0 || BACK_REFERENCE.matcher(regex).find() || NAMED_GROUP.matcher(regex).find()) {
+                separatePatterns.add(pattern);
+            } else if (!addToTrie(regex)) {
+                alternatives.add(regex);
+            }
+        }
+        this.alternation = alternatives.isEmpty() ? null : Pattern.compile(alternatives.stream()
+                .map(regex -> "(?:" + regex + ")")
+                .collect(Collectors.joining("|")));
+        this.empty = patterns.isEmpty();
+    }
+
+    /**
+     * @return <code>true</code> if there are no patterns, so nothing matches
+     */
+    public boolean isEmpty() {
+        return empty;
+    }
+
+    /**
+     * @return <code>true</code> if any of the patterns matches the whole name
+     */
+    public boolean matches(String name) {
+        if (matchesTrie(name)) {
+            return true;
+        }
+        if (alternation != null && alternation.matcher(name).matches()) {
+            return true;
+        }
+        for (Pattern pattern : separatePatterns) {
+            if (pattern.matcher(name).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean addToTrie(String regex) {
+        int end = regex.length();
+        boolean prefix = false;
+        if (regex.endsWith(".*") && !regex.endsWith("\\.*")) {
+            prefix = true;
+            end -= 2;
+        }
+        for (int i = 0; i < end; i++) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                if (i + 1 >= end || regex.charAt(i + 1) != '.') {
+                    return false;
+                }
+                i++;
+            } else if (c != '.' && !isLiteral(c)) {
+                return false;
+            }
+        }
+        Node node = root;
+        for (int i = 0; i < end; i++) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                node = node.children.computeIfAbsent(regex.charAt(++i), k -> new Node());
+            } else if (c == '.') {
+                if (node.anyChild == null) {
+                    node.anyChild = new Node();
+                }
+                node = node.anyChild;
+            } else {
+                node = node.children.computeIfAbsent(c, k -> new Node());
+            }
+        }
+        if (prefix) {
+            node.prefixEnd = true;
+        } else {
+            node.end = true;
+        }
+        return true;
+    }
+
+    private static boolean isLiteral(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '-' || c == '/' || c == ':';
+    }
+
+    /**
+     * Walks all paths through the trie at once, there is more than one as soon as a pattern has a <code>.</code> on a
+     * position where another has a literal character.
+     */
+    private boolean matchesTrie(String name) {
+        List<Node> active = new ArrayList<>(List.of(root));
+        List<Node> next = new ArrayList<>();
+        for (int i = 0; i < name.length() && !active.isEmpty(); i++) {
+            char c = name.charAt(i);
+            for (Node node : active) {
+                if (node.prefixEnd) {
+                    return true;
+                }
+                Node child = node.children.get(c);
+                if (child != null) {
+                    next.add(child);
+                }
+                if (node.anyChild != null) {
+                    next.add(node.anyChild);
+                }
+            }
+            List<Node> swap = active;
+            active = next;
+            next = swap;
+            next.clear();
+        }
+        for (Node node : active) {
+            if (node.end || node.prefixEnd) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class Node {
+        private final Map<Character, Node> children = new HashMap<>(4);
+        private Node anyChild;
+        private boolean end;
+        private boolean prefixEnd;
+    }
+}
@@ -0,0 +1,146 @@
+package io.github.jagodevreede.semver.check.core;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.JarFile;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Builds the API model by loading the classes through a {@link URLClassLoader} over only the jar, with the loader of
+ * the runtime classpath as parent so the dependencies are read once for both jars. The reflection objects are
+ * converted into the model right away, so no {@link Class} is kept once the loader is closed.
+ */
+final class ReflectionApiModelExtractor implements ApiModelExtractor {
+
+    private final URLClassLoader classLoader;
+    private final ApiModelInterner interner;
+
+    ReflectionApiModelExtractor(JarFile jarFile, RuntimeClasspath runtimeClasspath, ApiModelInterner interner) throws IOException {
+        this.interner = interner;
+        this.classLoader = URLClassLoader.newInstance(new URL[]{new URL("jar:file:" + jarFile.getName() + "!/")}, runtimeClasspath.getClassLoader());
+    }
+
+    @Override
+    public ClassInformation extract(String className) throws ReflectiveOperationException {
+        Class<?> aClass = classLoader.loadClass(className);
+        List<MemberInformation> constructors = Stream.of(aClass.getConstructors()).map(this::toMemberInformation).collect(Collectors.toList());
+        List<MemberInformation> fields = Stream.of(aClass.getFields()).map(this::toMemberInformation).collect(Collectors.toList());
+        List<MemberInformation> methods = Stream.of(aClass.getMethods()).map(this::toMemberInformation).collect(Collectors.toList());
+        return new ClassInformation(aClass.getName(), aClass.getModifiers(), constructors, fields, methods);
+    }
+
+    @Override
+    public List<String> getSuperTypeNames(String className) throws ReflectiveOperationException {
+        Class<?> aClass = classLoader.loadClass(className);
+        List<String> superTypeNames = new ArrayList<>();
+        if (aClass.getSuperclass() != null) {
+            superTypeNames.add(aClass.getSuperclass().getName());
+        }
+        for (Class<?> anInterface : aClass.getInterfaces()) {
+            superTypeNames.add(anInterface.getName());
+        }
+        return superTypeNames;
+    }
+
+    private MemberInformation toMemberInformation(Constructor<?> constructor) {
+        String declaringClassName = interner.intern(constructor.getDeclaringClass().getName());
+        return new MemberInformation(MemberInformation.Kind.CONSTRUCTOR, declaringClassName, declaringClassName,
+                constructor.getModifiers(), "void", null, getParameterTypeNames(constructor), getExceptionTypeNames(constructor),
+                toAnnotationInformation(constructor.getAnnotations()), constructor.getDeclaringClass().isInterface());
+    }
+
+    private MemberInformation toMemberInformation(Field field) {
+        return new MemberInformation(MemberInformation.Kind.FIELD, interner.intern(field.getDeclaringClass().getName()), interner.intern(field.getName()),
+                field.getModifiers(), interner.intern(field.getType().getName()), null, List.of(), List.of(),
+                toAnnotationInformation(field.getAnnotations()), field.getDeclaringClass().isInterface());
+    }
+
+    private MemberInformation toMemberInformation(Method method) {
+        String genericReturnTypeName;
+        try {
+            genericReturnTypeName = method.getGenericReturnType().getTypeName();
+        } catch (Exception e) {
+            // There is actually not a good way to get generic information, only if it's about classes already loaded
+            genericReturnTypeName = null;
+        }
+        return new MemberInformation(MemberInformation.Kind.METHOD, interner.intern(method.getDeclaringClass().getName()), interner.intern(method.getName()),
+                method.getModifiers(), interner.intern(method.getReturnType().getName()), interner.intern(genericReturnTypeName), getParameterTypeNames(method),
+                getExceptionTypeNames(method), toAnnotationInformation(method.getAnnotations()), method.getDeclaringClass().isInterface());
+    }
+
+    private List<String> getParameterTypeNames(Executable executable) {
+        return interner.internNames(Stream.of(executable.getParameterTypes()).map(Class::getName).collect(Collectors.toList()));
+    }
+
+    private List<String> getExceptionTypeNames(Executable executable) {
+        return interner.internNames(Stream.of(executable.getExceptionTypes()).map(Class::getName).collect(Collectors.toList()));
+    }
+
+    private List<AnnotationInformation> toAnnotationInformation(Annotation[] annotations) {
+        return interner.internAnnotations(Stream.of(annotations)
+                .map(ReflectionApiModelExtractor::toAnnotationInformation)
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Reads the element values, including the defaults, so annotations can be compared the same way as in the
+     * bytecode mode. Annotations of which the type is not on the classpath are not visible through reflection at all.
+     */
+    private static AnnotationInformation toAnnotationInformation(Annotation annotation) {
+        Method[] elementMethods = annotation.annotationType().getDeclaredMethods();
+        Arrays.sort(elementMethods, Comparator.comparing(Method::getName));
+        Map<String, Object> elements = new LinkedHashMap<>();
+        try {
+            for (Method elementMethod : elementMethods) {
+                if (elementMethod.getParameterCount() == 0 && !Modifier.isStatic(elementMethod.getModifiers())) {
+                    elementMethod.setAccessible(true);
+                    elements.put(elementMethod.getName(), toElementValue(elementMethod.invoke(annotation)));
+                }
+            }
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return new AnnotationInformation(annotation.annotationType().getCanonicalName(), annotation.toString());
+        }
+        return new AnnotationInformation(annotation.annotationType().getCanonicalName(), elements);
+    }
+
+    private static Object toElementValue(Object value) {
+        if (value instanceof Class) {
+            return new AnnotationInformation.ClassValue(((Class<?>) value).getTypeName());
+        }
+        if (value instanceof Enum) {
+            return new AnnotationInformation.EnumValue(((Enum<?>) value).getDeclaringClass().getName(), ((Enum<?>) value).name());
+        }
+        if (value instanceof Annotation) {
+            return toAnnotationInformation((Annotation) value);
+        }
+        if (value.getClass().isArray()) {
+            int length = Array.getLength(value);
+            List<Object> values = new ArrayList<>(length);
+            for (int i = 0; i < length; i++) {
+                values.add(toElementValue(Array.get(value, i)));
+            }
+            return values;
+        }
+        return value;
+    }
+
+    @Override
+    public void close() throws IOException {
+        classLoader.close();
+    }
+}
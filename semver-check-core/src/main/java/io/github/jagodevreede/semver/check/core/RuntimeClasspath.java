@@ -0,0 +1,206 @@
+package io.github.jagodevreede.semver.check.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * Gives access to the class files on the runtime classpath of the project, and of the JDK itself, without loading
+ * any class. Jars are opened on first use and kept open until {@link #close()} is called. Class files can be looked
+ * up from several threads at the same time.
+ * <p>
+ * When the jars are opened their entries are indexed by package, so a lookup only reads the jars that contain the
+ * package of the class instead of searching all of them. The entries come from the central directory that
+ * {@link JarFile} reads anyway, so the index costs no extra I/O.
+ * <p>
+ * For the reflection mode it also holds a class loader over the jars, which is used as parent of the loaders of the
+ * jars under test. Through a {@link RuntimeClasspathCache} both are shared between checks with the same classpath.
+ */
+class RuntimeClasspath implements Closeable {
+    private static final Logger log = LoggerFactory.getLogger(RuntimeClasspath.class);
+
+    private final List<String> elements;
+    private volatile List<JarFile> jars;
+    private volatile Map<String, List<JarFile>> jarsByPackage;
+    private volatile List<File> directories;
+    private URLClassLoader classLoader;
+
+    RuntimeClasspath(List<String> elements) {
+        this.elements = elements;
+    }
+
+    /**
+     * @param binaryName the binary name of a class, like <code>java.lang.String</code>
+     * @return the bytes of the class file, or <code>null</code> if it could not be found
+     */
+    byte[] findClassFile(String binaryName) throws IOException {
+        String entryName = toEntryName(binaryName);
+        byte[] classFile = findClassFileInJars(entryName);
+        if (classFile != null) {
+            return classFile;
+        }
+        for (File directory : directories) {
+            File file = new File(directory, entryName);
+            if (file.isFile()) {
+                return Files.readAllBytes(file.toPath());
+            }
+        }
+        try (InputStream in = ClassLoader.getSystemResourceAsStream(entryName)) {
+            return in == null ? null : in.readAllBytes();
+        }
+    }
+
+    /**
+     * Looks up a class file in the jars that contain its package, in the order of the classpath.
+     */
+    private byte[] findClassFileInJars(String entryName) throws IOException {
+        open();
+        for (JarFile jar : jarsByPackage.getOrDefault(getPackage(entryName), List.of())) {
+            JarEntry entry = jar.getJarEntry(entryName);
+            if (entry != null) {
+                try (InputStream in = jar.getInputStream(entry)) {
+                    return in.readAllBytes();
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String toEntryName(String binaryName) {
+        return binaryName.replace('.', '/') + ".class";
+    }
+
+    /**
+     * @return the directory part of the entry name, like <code>java/lang</code>, empty for the default package
+     */
+    private static String getPackage(String entryName) {
+        int lastSlash = entryName.lastIndexOf('/');
+        return lastSlash < 0 ? "" : entryName.substring(0, lastSlash);
+    }
+
+    /**
+     * @return the class loader over the jars of the runtime classpath, created on first use
+     */
+    synchronized ClassLoader getClassLoader() throws MalformedURLException {
+        if (classLoader == null) {
+            List<URL> urls = new ArrayList<>();
+            for (String element : elements) {
+                if (element.endsWith(".jar")) {
+                    urls.add(new URL("jar:file:" + element + "!/"));
+                }
+            }
+            classLoader = new IndexedClassLoader(urls.toArray(new URL[0]), this);
+        }
+        return classLoader;
+    }
+
+    private synchronized void open() {
+        if (this.jars != null) {
+            return;
+        }
+        List<JarFile> jars = new ArrayList<>();
+        Map<String, List<JarFile>> jarsByPackage = new HashMap<>();
+        List<File> directories = new ArrayList<>();
+        for (String element : elements) {
+            File file = new File(element);
+            if (file.isDirectory()) {
+                directories.add(file);
+            } else if (element.endsWith(".jar") && file.isFile()) {
+                try {
+                    JarFile jar = JarFileHelper.getJarFile(file);
+                    jars.add(jar);
+                    indexPackages(jar, jarsByPackage);
+                } catch (IOException e) {
+                    log.warn("Unable to open {} due to: {}", element, e.getMessage());
+                }
+            }
+        }
+        log.debug("Indexed {} packages in {} jars of the runtime classpath", jarsByPackage.size(), jars.size());
+        this.directories = directories;
+        this.jarsByPackage = jarsByPackage;
+        this.jars = jars;
+    }
+
+    private static void indexPackages(JarFile jar, Map<String, List<JarFile>> jarsByPackage) {
+        String lastPackage = null;
+        Enumeration<JarEntry> entries = jar.entries();
+        while (entries.hasMoreElements()) {
+            String name = entries.nextElement().getName();
+            if (!name.endsWith(".class") || name.startsWith("META-INF/")) {
+                continue;
+            }
+            String packageName = getPackage(name);
+            // Entries of a package are usually next to each other, so most of the map lookups can be skipped
+            if (!packageName.equals(lastPackage)) {
+                List<JarFile> jarsOfPackage = jarsByPackage.computeIfAbsent(packageName, p -> new ArrayList<>(1));
+                if (jarsOfPackage.isEmpty() || jarsOfPackage.get(jarsOfPackage.size() - 1) != jar) {
+                    jarsOfPackage.add(jar);
+                }
+                lastPackage = packageName;
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (classLoader != null) {
+            classLoader.close();
+            classLoader = null;
+        }
+        if (jars == null) {
+            return;
+        }
+        for (JarFile jar : jars) {
+            jar.close();
+        }
+        jars = null;
+        jarsByPackage = null;
+        directories = null;
+    }
+
+    /**
+     * Finds the classes through the package index of the runtime classpath instead of searching every jar. Only the
+     * jars are covered, not the directories, and resources are still looked up by the {@link URLClassLoader} itself.
+     */
+    private static final class IndexedClassLoader extends URLClassLoader {
+        static {
+            registerAsParallelCapable();
+        }
+
+        private final RuntimeClasspath runtimeClasspath;
+
+        IndexedClassLoader(URL[] urls, RuntimeClasspath runtimeClasspath) {
+            super(urls, ClassLoader.getSystemClassLoader());
+            this.runtimeClasspath = runtimeClasspath;
+        }
+
+        @Override
+        protected Class<?> findClass(String name) throws ClassNotFoundException {
+            byte[] classFile;
+            try {
+                classFile = runtimeClasspath.findClassFileInJars(toEntryName(name));
+            } catch (IOException e) {
+                throw new ClassNotFoundException(name, e);
+            }
+            if (classFile == null) {
+                throw new ClassNotFoundException(name);
+            }
+            return defineClass(name, classFile, 0, classFile.length);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package io.github.jagodevreede.semver.check.core;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shares the runtime classpath between checks: the opened dependency jars and, in the reflection mode, the class
+ * loader over them. There is one entry per distinct list of classpath elements, so modules with the same dependencies
+ * use the same one. The loaders of the jars under test only hold that jar, and are still closed after each check.
+ * <p>
+ * Thread-safe, the entries are only closed by {@link #close()}.
+ */
+public final class RuntimeClasspathCache implements Closeable {
+    private final Map<List<String>, RuntimeClasspath> classpaths = new ConcurrentHashMap<>();
+
+    RuntimeClasspath get(List<String> elements) {
+        return classpaths.computeIfAbsent(List.copyOf(elements), RuntimeClasspath::new);
+    }
+
+    /**
+     * @return the number of distinct classpaths in the cache
+     */
+    public int size() {
+        return classpaths.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        List<RuntimeClasspath> toClose = new ArrayList<>(classpaths.values());
+        classpaths.clear();
+        for (RuntimeClasspath classpath : toClose) {
+            classpath.close();
+        }
+    }
+}
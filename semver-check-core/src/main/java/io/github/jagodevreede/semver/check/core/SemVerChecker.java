@@ -3,24 +3,21 @@ package io.github.jagodevreede.semver.check.core;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
-import java.lang.annotation.Annotation;
-import java.lang.reflect.*;
-import java.net.MalformedURLException;
-import java.net.URL;
-import java.net.URLClassLoader;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
 import java.util.*;
-import java.util.function.Function;
-import java.util.jar.JarEntry;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
 import java.util.jar.JarFile;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import static io.github.jagodevreede.semver.check.core.SemVerType.*;
 
-@SuppressWarnings("rawtypes")
-public class SemVerChecker {
+public class SemVerChecker implements Closeable {
     private static final Logger log = LoggerFactory.getLogger(SemVerChecker.class);
     private static final String MODULE_INFO_CLASS_NAME = "module-info";
 
@@ -29,13 +26,25 @@ public class SemVerChecker {
     private final JarFile original;
     private final JarFile newJar;
     private final Configuration configuration;
+    // Only the jars opened by this checker itself are closed by it
+    private final boolean ownsJars;
+    private JarIndex originalIndex;
+    private JarIndex newJarIndex;
+    private int threads = 1;
+    private ForkJoinPool forkJoinPool;
+    private ApiModelCache apiModelCache;
+    private RuntimeClasspathCache runtimeClasspathCache;
+    private boolean earlyExit;
+    private CheckMetrics metrics = new CheckMetrics();
+    // Set from the comparing threads, so classes that are still queued can be skipped
+    private volatile boolean verdictFinal;
 
     /**
      * @param original the original JAR file
      * @param newJar   the new JAR file to compare against the original
      */
     public SemVerChecker(final File original, final File newJar, final Configuration configuration) throws IOException {
-        this(JarFileHelper.getJarFile(original), JarFileHelper.getJarFile(newJar), configuration);
+        this(JarFileHelper.getJarFile(original), JarFileHelper.getJarFile(newJar), configuration, true);
     }
 
     /**
@@ -43,9 +52,58 @@ public class SemVerChecker {
      * @param newJar   the new JAR file to compare against the original
      */
     public SemVerChecker(final JarFile original, final JarFile newJar, final Configuration configuration) {
+        this(original, newJar, configuration, false);
+    }
+
+    private SemVerChecker(final JarFile original, final JarFile newJar, final Configuration configuration, boolean ownsJars) {
         this.original = original;
         this.newJar = newJar;
         this.configuration = configuration;
+        this.ownsJars = ownsJars;
+    }
+
+    /**
+     * @param threads the number of threads used to compare the classes of both jars, when set to 1 (the default)
+     *                the classes are compared on the calling thread. Log messages come out in the same order either way.
+     */
+    public void setThreads(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("The number of threads must be at least 1, but was " + threads);
+        }
+        this.threads = threads;
+    }
+
+    /**
+     * @param apiModelCache the cache used for the API model of the original jar, or <code>null</code> (the default)
+     *                      to always extract it
+     */
+    public void setApiModelCache(ApiModelCache apiModelCache) {
+        this.apiModelCache = apiModelCache;
+    }
+
+    /**
+     * @param runtimeClasspathCache the cache the runtime classpath is taken from, so its jars are opened once for all
+     *                              checks that share it, or <code>null</code> (the default) to open them for this check only
+     */
+    public void setRuntimeClasspathCache(RuntimeClasspathCache runtimeClasspathCache) {
+        this.runtimeClasspathCache = runtimeClasspathCache;
+    }
+
+    /**
+     * @param earlyExit if set to <code>true</code> the check stops as soon as the result can no longer change: at the
+     *                  first major change, or at a minor change once only added classes are left. The result is the
+     *                  same, but the remaining changes are not logged. When classes are compared in parallel, which of
+     *                  the changes are logged can differ between runs.
+     */
+    public void setEarlyExit(boolean earlyExit) {
+        this.earlyExit = earlyExit;
+    }
+
+    /**
+     * @param metrics the metrics the phases and counters of the check are added to, by default a new instance is used
+     */
+    public void setMetrics(CheckMetrics metrics) {
+        this.metrics = metrics;
     }
 
     /**
@@ -64,86 +122,456 @@ public class SemVerChecker {
      * @throws IOException if there is an error reading from the JAR files
      */
     public SemVerType determineSemVerType() throws IOException {
-        int originalClassVersion = getVersionOfClass(original);
-        int newJarClassVersion = getVersionOfClass(newJar);
+        return check().getSemVerType();
+    }
+
+    /**
+     * Same as {@link #determineSemVerType()}, but also returns the metrics of the check.
+     *
+     * @return the semantic version type and the metrics
+     * @throws IOException if there is an error reading from the JAR files
+     */
+    public CheckResult check() throws IOException {
+        try {
+            return new CheckResult(compareJars(), metrics);
+        } finally {
+            // The indexes hold an entry for every class and file of both jars
+            originalIndex = null;
+            newJarIndex = null;
+        }
+    }
+
+    /**
+     * Closes the jars if they were opened by this checker, jars that were passed in are left open.
+     */
+    @Override
+    public void close() throws IOException {
+        if (ownsJars) {
+            try {
+                original.close();
+            } finally {
+                newJar.close();
+            }
+        }
+    }
+
+    private SemVerType compareJars() throws IOException {
+        long start = System.nanoTime();
+        originalIndex = scan(original);
+        newJarIndex = scan(newJar);
+        start = endPhase("jarIndex", start);
+
+        int originalClassVersion = ClassVersion.getVersionNumber(originalIndex);
+        int newJarClassVersion = ClassVersion.getVersionNumber(newJarIndex);
+        start = endPhase("classVersion", start);
 
         if (originalClassVersion < newJarClassVersion) {
             log.info("The new JAR file contains a higher class version, changed from {} to {}", originalClassVersion, newJarClassVersion);
             return MAJOR;
         }
 
-        Set<ClassInformation> classesInOriginalJar = getClassesInJar(original);
-        Set<ClassInformation> classesInNewJar = getClassesInJar(newJar);
-
-        for (ClassInformation originalClass : classesInOriginalJar) {
-            if (configuration.isExcluded(originalClass)) {
-                continue;
-            }
-            Optional<ClassInformation> classInNewJar = classesInNewJar.stream().filter(c -> c.getName().equals(originalClass.getName())).findFirst();
-            var classResult = NONE;
-            if (classInNewJar.isEmpty()) {
-                if (Modifier.isPublic(originalClass.getClazz().getModifiers())) {
-                    log.info("Public Class {} is removed", originalClass.getName());
-                    classResult = MAJOR;
+        ClassMatches classMatches = ClassMatches.of(getClassNames(originalIndex), getClassNames(newJarIndex));
+        metrics.addCounter("classesInOriginal", originalIndex.getClasses().size());
+        metrics.addCounter("classesInNew", newJarIndex.getClasses().size());
+        metrics.addCounter("classesRemoved", classMatches.getRemoved().size());
+        metrics.addCounter("classesAdded", classMatches.getAdded().size());
+        metrics.addCounter("classesCommon", classMatches.getCommon().size());
+        endPhase("classMatching", start);
+        if (threads > 1) {
+            forkJoinPool = new ForkJoinPool(threads);
+        }
+        ApiModelInterner interner = new ApiModelInterner();
+        RuntimeClasspath runtimeClasspath = runtimeClasspathCache == null
+                ? new RuntimeClasspath(configuration.getRuntimeClasspathElements())
+                : runtimeClasspathCache.get(configuration.getRuntimeClasspathElements());
+        try (ApiModelExtractor originalExtractor = createOriginalExtractor(runtimeClasspath, interner);
+             ApiModelExtractor newJarExtractor = ApiModelExtractor.create(newJar, runtimeClasspath, configuration, interner)) {
+            determineClassesDifferences(classMatches, originalExtractor, newJarExtractor);
+            if (earlyExit) {
+                // Files can still lead to a major change, added classes only to a minor change
+                determineFileDifferencesIfNeeded();
+                if (!isVerdictFinal(MINOR)) {
+                    determineAddedClassesDifferences(classMatches, newJarExtractor);
                 } else {
-                    log.info("Non-Public Class {} is removed", originalClass.getName());
-                    classResult = PATCH;
+                    metrics.addCounter("classesSkippedEarlyExit", classMatches.getAdded().size());
                 }
-                result = updateResult(result, classResult);
             } else {
-                if (Modifier.isPublic(originalClass.getClazz().getModifiers())) {
-                    classResult = determineClassDifference(originalClass, classInNewJar.get());
-                }
-                if (NONE.equals(classResult)) {
-                    JarEntry originalEntry = getJarEntry(original, originalClass.getName());
-                    JarEntry newEntry = getJarEntry(newJar, originalClass.getName());
-                    if (originalEntry.getCrc() != newEntry.getCrc()) {
-                        log.info("Class {} has been changed on byte level", originalClass.getName());
-                        result = updateResult(result, PATCH);
-                    } else {
-                        log.debug("Class {} remains the same", originalClass.getName());
-                    }
-                } else {
-                    result = updateResult(result, classResult);
-                }
+                determineAddedClassesDifferences(classMatches, newJarExtractor);
+                determineFileDifferencesIfNeeded();
+            }
+        } finally {
+            if (forkJoinPool != null) {
+                forkJoinPool.shutdownNow();
+                forkJoinPool = null;
             }
+            if (runtimeClasspathCache == null) {
+                runtimeClasspath.close();
+            }
+        }
+        if (earlyExit && verdictFinal) {
+            log.info("Stopped comparing as soon as the result was known to be {}", result.toLowerCaseString());
         }
 
-        for (ClassInformation newClass : classesInNewJar) {
-            if (configuration.isExcluded(newClass)) {
-                continue;
-            }
-            Optional<ClassInformation> classInOriginalJar = classesInOriginalJar.stream().filter(c -> c.getName().equals(newClass.getName())).findFirst();
-            if (classInOriginalJar.isEmpty()) {
-                if (Modifier.isPublic(newClass.getClazz().getModifiers())) {
-                    log.info("Public class {} has been added", newClass.getName());
-                    result = updateResult(result, MINOR);
-                    break;
-                } else {
-                    log.info("Non-public Class {} has been added", newClass.getName());
-                    result = updateResult(result, PATCH);
-                }
+        return result;
+    }
 
+    private ApiModelExtractor createOriginalExtractor(RuntimeClasspath runtimeClasspath, ApiModelInterner interner) throws IOException {
+        ApiModelExtractor extractor = ApiModelExtractor.create(original, runtimeClasspath, configuration, interner);
+        if (apiModelCache == null) {
+            return extractor;
+        }
+        String key = apiModelCache.getKey(new File(original.getName()), configuration);
+        return key == null ? extractor : new CachingApiModelExtractor(extractor, apiModelCache, key, original, runtimeClasspath);
+    }
+
+    private void determineClassesDifferences(ClassMatches classMatches, ApiModelExtractor originalExtractor, ApiModelExtractor newJarExtractor) throws IOException {
+        // Changes to these classes are not reported on the class itself, but can show up in the public API of subclasses
+        Set<String> hiddenChanges = new HashSet<>();
+
+        long start = System.nanoTime();
+        forEachClassResult(classMatches.getRemoved(), className -> compareRemovedClass(className, originalExtractor), classResult -> {
+            combine(classResult, hiddenChanges);
+            return !isVerdictFinal(MAJOR);
+        });
+
+        start = endPhase("removedClasses", start);
+
+        // Byte-identical classes are only analysed when they inherit from a class with a hidden change
+        List<String> changedClasses = new ArrayList<>();
+        List<String> identicalClasses = new ArrayList<>();
+        for (String commonClassName : classMatches.getCommon()) {
+            if (isByteIdentical(commonClassName)) {
+                identicalClasses.add(commonClassName);
+            } else {
+                changedClasses.add(commonClassName);
+            }
+        }
+        forEachClassResult(changedClasses, className -> compareCommonClass(className, originalExtractor, newJarExtractor), classResult -> {
+            combine(classResult, hiddenChanges);
+            return !isVerdictFinal(MAJOR);
+        });
+        start = endPhase("changedClasses", start);
+        if (isVerdictFinal(MAJOR)) {
+            metrics.addCounter("classesSkippedByteIdentical", identicalClasses.size());
+            return;
+        }
+        Map<String, Boolean> inheritsHiddenChange = new HashMap<>();
+        List<String> identicalClassesToCompare = new ArrayList<>();
+        for (String identicalClassName : identicalClasses) {
+            if (!hiddenChanges.isEmpty() && !configuration.isExcluded(identicalClassName) && inheritsHiddenChange(identicalClassName, originalExtractor, hiddenChanges, inheritsHiddenChange)) {
+                identicalClassesToCompare.add(identicalClassName);
+            } else {
+                log.debug("Class {} remains the same", identicalClassName);
             }
         }
+        metrics.addCounter("classesSkippedByteIdentical", identicalClasses.size() - identicalClassesToCompare.size());
+        forEachClassResult(identicalClassesToCompare, className -> compareCommonClass(className, originalExtractor, newJarExtractor), classResult -> {
+            combine(classResult, hiddenChanges);
+            return !isVerdictFinal(MAJOR);
+        });
+        endPhase("identicalClasses", start);
+    }
+
+    private void determineAddedClassesDifferences(ClassMatches classMatches, ApiModelExtractor newJarExtractor) throws IOException {
+        long start = System.nanoTime();
+        forEachClassResult(classMatches.getAdded(), className -> compareAddedClass(className, newJarExtractor), classResult -> {
+            combine(classResult, Set.of());
+            // A single public class is enough for a minor change
+            return classResult.getSemVerType() != MINOR && !isVerdictFinal(MAJOR);
+        });
+        endPhase("addedClasses", start);
+    }
 
+    private void determineFileDifferencesIfNeeded() throws IOException {
         if (result != MAJOR) {
-            SemVerType fileDifferences = determineFileDifferences();
+            FileDiffEvent event = new FileDiffEvent();
+            event.begin();
+            long start = System.nanoTime();
+            SemVerType fileDifferences = determineFileDifferences(event);
             result = updateResult(result, fileDifferences);
+            endPhase("files", start);
+            if (event.shouldCommit()) {
+                event.semVerType = fileDifferences.name();
+                event.commit();
+            }
         }
+    }
 
-        return result;
+    private static JarIndex scan(JarFile jarFile) throws IOException {
+        JarScanEvent event = new JarScanEvent();
+        event.begin();
+        JarIndex index = JarIndex.of(new File(jarFile.getName()));
+        if (event.shouldCommit()) {
+            event.jar = jarFile.getName();
+            event.classCount = index.getClasses().size();
+            event.entryCount = event.classCount + index.getFiles().size();
+            event.commit();
+        }
+        return index;
     }
 
-    private SemVerType determineFileDifferences() throws IOException {
-        Map<String, JarEntry> filesInOriginalJar = getFilesNotClassedInJar(original);
-        Map<String, JarEntry> filesInNewJar = getFilesNotClassedInJar(newJar);
+    /**
+     * Adds the time since the start to the phase.
+     *
+     * @return the end of the phase, to be used as start of the next one
+     */
+    private long endPhase(String phase, long start) {
+        long end = System.nanoTime();
+        metrics.addPhase(phase, end - start);
+        return end;
+    }
 
-        for (Map.Entry<String, JarEntry> fileInOriginal : filesInOriginalJar.entrySet()) {
+    /**
+     * @param highestRemaining the most significant change the remaining comparisons can lead to
+     * @return <code>true</code> if early exit is enabled and the remaining comparisons can not change the result
+     */
+    private boolean isVerdictFinal(SemVerType highestRemaining) {
+        if (earlyExit && result.ordinal() <= highestRemaining.ordinal()) {
+            verdictFinal = true;
+        }
+        return verdictFinal;
+    }
+
+    /**
+     * Compares the given classes, on the fork join pool if more than one thread is configured. The results are
+     * handed to the consumer in the order of the given class names until it returns <code>false</code>.
+     */
+    private void forEachClassResult(List<String> classNames, ClassComparison comparison, Predicate<ClassResult> consumer) throws IOException {
+        if (forkJoinPool == null || classNames.size() < 2) {
+            for (int i = 0; i < classNames.size(); i++) {
+                ClassResult classResult = compareTimed(comparison, classNames.get(i));
+                record(classResult);
+                if (!consumer.test(classResult)) {
+                    metrics.addCounter("classesSkippedEarlyExit", classNames.size() - i - 1);
+                    return;
+                }
+            }
+            return;
+        }
+        List<ClassResult> classResults;
+        try {
+            classResults = forkJoinPool.submit(() -> classNames.parallelStream()
+                    .map(className -> {
+                        if (verdictFinal) {
+                            return new ClassResult(className);
+                        }
+                        try {
+                            ClassResult classResult = compareTimed(comparison, className);
+                            if (earlyExit && classResult.getSemVerType() == MAJOR) {
+                                verdictFinal = true;
+                            }
+                            return classResult;
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    })
+                    .collect(Collectors.toList())).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while comparing classes");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+        for (int i = 0; i < classResults.size(); i++) {
+            ClassResult classResult = classResults.get(i);
+            if (!classResult.isCompared()) {
+                metrics.addCounter("classesSkippedEarlyExit", 1);
+                continue;
+            }
+            record(classResult);
+            if (!consumer.test(classResult)) {
+                metrics.addCounter("classesSkippedEarlyExit", classResults.size() - i - 1);
+                return;
+            }
+        }
+    }
+
+    private static ClassResult compareTimed(ClassComparison comparison, String className) throws IOException {
+        ClassDiffEvent event = new ClassDiffEvent();
+        event.begin();
+        long start = System.nanoTime();
+        ClassResult classResult = comparison.compare(className);
+        classResult.setDurationNanos(System.nanoTime() - start);
+        if (event.shouldCommit()) {
+            event.className = className;
+            event.semVerType = String.valueOf(classResult.getSemVerType());
+            event.memberCount = classResult.getMemberCount();
+            event.commit();
+        }
+        return classResult;
+    }
+
+    private void record(ClassResult classResult) {
+        metrics.addCounter("classesCompared", 1);
+        if (classResult.isExcluded()) {
+            metrics.addCounter("classesSkippedExcluded", 1);
+        }
+        metrics.addCounter("membersCompared", classResult.getMemberCount());
+        metrics.addCounter("modelExtractionNanos", classResult.getExtractionNanos());
+        metrics.addCounter("memberDiffNanos", classResult.getMemberDiffNanos());
+        metrics.recordClass(classResult.getClassName(), classResult.getDurationNanos());
+    }
+
+    private void combine(ClassResult classResult, Set<String> hiddenChanges) {
+        classResult.replay(log);
+        result = updateResult(result, classResult.getSemVerType());
+        if (classResult.isHiddenChange()) {
+            hiddenChanges.add(classResult.getClassName());
+        }
+    }
+
+    private ClassResult compareRemovedClass(String className, ApiModelExtractor originalExtractor) throws IOException {
+        ClassResult classResult = new ClassResult(className);
+        if (configuration.isExcluded(className)) {
+            classResult.markExcluded();
+            classResult.markHiddenChange();
+            return classResult;
+        }
+        ClassInformation removedClass = extract(originalExtractor, original, className, classResult);
+        if (removedClass == null) {
+            return classResult;
+        }
+        if (removedClass.isPublic()) {
+            classResult.info("Public Class {} is removed", removedClass.getName());
+            classResult.update(MAJOR);
+        } else {
+            classResult.info("Non-Public Class {} is removed", removedClass.getName());
+            classResult.markHiddenChange();
+            classResult.update(PATCH);
+        }
+        return classResult;
+    }
+
+    private ClassResult compareCommonClass(String className, ApiModelExtractor originalExtractor, ApiModelExtractor newJarExtractor) throws IOException {
+        ClassResult classResult = new ClassResult(className);
+        if (configuration.isExcluded(className)) {
+            classResult.markExcluded();
+            classResult.markHiddenChange();
+            return classResult;
+        }
+        ClassInformation originalClass = extract(originalExtractor, original, className, classResult);
+        if (originalClass == null) {
+            return classResult;
+        }
+        if (originalClass.isPublic()) {
+            ClassInformation classInNewJar = extract(newJarExtractor, newJar, className, classResult);
+            if (classInNewJar == null) {
+                return classResult;
+            }
+            determineClassDifference(originalClass, classInNewJar, classResult);
+        } else {
+            classResult.markHiddenChange();
+        }
+        if (NONE.equals(classResult.getSemVerType())) {
+            if (!isByteIdentical(className)) {
+                classResult.info("Class {} has been changed on byte level", className);
+                classResult.update(PATCH);
+            } else {
+                classResult.debug("Class {} remains the same", className);
+            }
+        }
+        return classResult;
+    }
+
+    private ClassResult compareAddedClass(String className, ApiModelExtractor newJarExtractor) throws IOException {
+        ClassResult classResult = new ClassResult(className);
+        if (configuration.isExcluded(className)) {
+            classResult.markExcluded();
+            return classResult;
+        }
+        ClassInformation newClass = extract(newJarExtractor, newJar, className, classResult);
+        if (newClass == null) {
+            return classResult;
+        }
+        if (newClass.isPublic()) {
+            classResult.info("Public class {} has been added", newClass.getName());
+            classResult.update(MINOR);
+        } else {
+            classResult.info("Non-public Class {} has been added", newClass.getName());
+            classResult.update(PATCH);
+        }
+        return classResult;
+    }
+
+    private boolean isByteIdentical(String className) {
+        JarIndex.Entry originalEntry = originalIndex.getClass(className);
+        JarIndex.Entry newEntry = newJarIndex.getClass(className);
+        return originalEntry.getCrc() == newEntry.getCrc() && originalEntry.getSize() == newEntry.getSize();
+    }
+
+    /**
+     * Walks the super types that are part of the original jar, only the headers of those class files are read.
+     */
+    private boolean inheritsHiddenChange(String className, ApiModelExtractor originalExtractor, Set<String> hiddenChanges, Map<String, Boolean> inheritsHiddenChange) throws IOException {
+        Boolean known = inheritsHiddenChange.get(className);
+        if (known != null) {
+            return known;
+        }
+        // Guards against cycles in broken class hierarchies
+        inheritsHiddenChange.put(className, false);
+        boolean inherits = false;
+        try {
+            for (String superTypeName : originalExtractor.getSuperTypeNames(className)) {
+                if (hiddenChanges.contains(superTypeName)
+                        || (originalIndex.getClass(superTypeName) != null && inheritsHiddenChange(superTypeName, originalExtractor, hiddenChanges, inheritsHiddenChange))) {
+                    inherits = true;
+                    break;
+                }
+            }
+        } catch (ReflectiveOperationException | LinkageError e) {
+            log.debug("Unable to read the super types of {}, assuming it inherits a change: {}", className, e.getMessage());
+            inherits = true;
+        }
+        inheritsHiddenChange.put(className, inherits);
+        return inherits;
+    }
+
+    private ClassInformation extract(ApiModelExtractor extractor, JarFile jarFile, String className, ClassResult classResult) throws IOException {
+        ModelExtractionEvent event = new ModelExtractionEvent();
+        event.begin();
+        long start = System.nanoTime();
+        ClassInformation classInformation = null;
+        try {
+            classInformation = extractor.extract(className);
+            return classInformation;
+        } catch (ReflectiveOperationException | LinkageError e) {
+            classResult.warn("Failed to load class {} from {} due to: {} {}", className, jarFile.getName(), e.getClass().getName(), e.getMessage());
+            return null;
+        } finally {
+            classResult.addExtractionNanos(System.nanoTime() - start);
+            if (event.shouldCommit()) {
+                event.jar = jarFile.getName();
+                event.className = className;
+                if (classInformation != null) {
+                    event.memberCount = classInformation.getConstructors().size() + classInformation.getFields().size() + classInformation.getMethods().size();
+                }
+                event.commit();
+            }
+        }
+    }
+
+    private SemVerType determineFileDifferences(FileDiffEvent event) throws IOException {
+        Map<String, JarIndex.Entry> filesInOriginalJar = getFilesNotClassedInJar(originalIndex);
+        Map<String, JarIndex.Entry> filesInNewJar = getFilesNotClassedInJar(newJarIndex);
+        event.originalFileCount = filesInOriginalJar.size();
+        event.newFileCount = filesInNewJar.size();
+        metrics.addCounter("filesInOriginal", filesInOriginalJar.size());
+        metrics.addCounter("filesInNew", filesInNewJar.size());
+
+        for (Map.Entry<String, JarIndex.Entry> fileInOriginal : filesInOriginalJar.entrySet()) {
             if (configuration.isFileExcluded(fileInOriginal.getKey())) {
                 continue;
             }
-            JarEntry fileInNewJar = filesInNewJar.get(fileInOriginal.getKey());
+            JarIndex.Entry fileInNewJar = filesInNewJar.get(fileInOriginal.getKey());
             if (fileInNewJar == null) {
                 log.info("File {} is removed", fileInOriginal.getKey());
                 return MAJOR;
@@ -154,11 +582,11 @@ public class SemVerChecker {
             }
         }
 
-        for (Map.Entry<String, JarEntry> fileInNewJar : filesInNewJar.entrySet()) {
+        for (Map.Entry<String, JarIndex.Entry> fileInNewJar : filesInNewJar.entrySet()) {
             if (configuration.isFileExcluded(fileInNewJar.getKey())) {
                 continue;
             }
-            JarEntry fileInOriginal = filesInOriginalJar.get(fileInNewJar.getKey());
+            JarIndex.Entry fileInOriginal = filesInOriginalJar.get(fileInNewJar.getKey());
             if (fileInOriginal == null) {
                 log.info("File {} is added", fileInNewJar.getKey());
                 result = updateResult(result, PATCH);
@@ -167,68 +595,39 @@ public class SemVerChecker {
         return NONE;
     }
 
-    private SemVerType determineClassDifference(ClassInformation originalClass, ClassInformation classInNewJar) {
-        SemVerType classResult = NONE;
-        try {
-            Map<Constructor, Annotation[]> originalClassConstructors = originalClass.getConstructorsAndAnnotations();
-            Map<Constructor, Annotation[]> classInNewJarConstructors = classInNewJar.getConstructorsAndAnnotations();
-            SemVerType constructorResult = getSemVerType(originalClass.getClazz(), originalClassConstructors, classInNewJarConstructors);
-            classResult = updateResult(classResult, constructorResult);
-
-            Map<Field, Annotation[]> originalClassFields = originalClass.getFieldsAndAnnotations();
-            Map<Field, Annotation[]> inNewJarFields = classInNewJar.getFieldsAndAnnotations();
-            SemVerType fieldResult = getSemVerType(originalClass.getClazz(), originalClassFields, inNewJarFields);
-            classResult = updateResult(classResult, fieldResult);
-
-            Map<Method, Annotation[]> originalClassMethods = originalClass.getMethodsAndAnnotations();
-            Map<Method, Annotation[]> classInNewJarMethods = classInNewJar.getMethodsAndAnnotations();
-            SemVerType methodResult = getSemVerType(originalClass.getClazz(), originalClassMethods, classInNewJarMethods);
-            classResult = updateResult(classResult, methodResult);
-        } catch (LinkageError e) {
-            log.info("Unable to determine class difference due to linkage error {}", e.getMessage());
-            return MAJOR;
-        }
-
-        return classResult;
-    }
-
-    private int getVersionOfClass(JarFile jarFile) {
-        return ClassVersion.getVersionNumber(jarFile);
+    private void determineClassDifference(ClassInformation originalClass, ClassInformation classInNewJar, ClassResult classResult) {
+        long start = System.nanoTime();
+        classResult.update(getSemVerType(originalClass, originalClass.getConstructors(), classInNewJar.getConstructors(), classResult));
+        classResult.update(getSemVerType(originalClass, originalClass.getFields(), classInNewJar.getFields(), classResult));
+        classResult.update(getSemVerType(originalClass, originalClass.getMethods(), classInNewJar.getMethods(), classResult));
+        classResult.addMemberDiffNanos(System.nanoTime() - start);
+        classResult.addMemberCount(originalClass.getConstructors().size() + originalClass.getFields().size() + originalClass.getMethods().size());
     }
 
-    private <M extends AccessibleObject> SemVerType getSemVerType(Class originalClass, Map<M, Annotation[]> originalClassMembers, Map<M, Annotation[]> inNewJarMembers) {
+    private SemVerType getSemVerType(ClassInformation originalClass, List<MemberInformation> originalClassMembers, List<MemberInformation> inNewJarMembers, ClassResult classResult) {
         SemVerType maxChange = NONE;
-        for (M originalClassMember : originalClassMembers.keySet()) {
-            M memberInNew = getMemberInOther(originalClassMember, inNewJarMembers, false);
-            if (memberInNew instanceof Method) {
-                Method originalMethod = (Method) originalClassMember;
-                Method classMethod = (Method) memberInNew;
-                if (!classMethod.getReturnType().getName().equals(originalMethod.getReturnType().getName())) {
-                    if ("void".equals(originalMethod.getReturnType().getName())) {
+        MemberIndex inNewJarIndex = MemberIndex.of(inNewJarMembers);
+        for (MemberInformation originalClassMember : originalClassMembers) {
+            MemberInformation memberInNew = inNewJarIndex.findMatching(originalClassMember);
+            if (memberInNew != null && memberInNew.getKind() == MemberInformation.Kind.METHOD) {
+                if (!memberInNew.getTypeName().equals(originalClassMember.getTypeName())) {
+                    if ("void".equals(originalClassMember.getTypeName())) {
                         maxChange = SemVerType.updateResult(maxChange, MINOR);
                     } else {
-                        log.info("{} '{}' no longer exists in {}", originalClassMember.getClass().getSimpleName(), originalClassMember, originalClass.getName());
+                        classResult.info("{} '{}' no longer exists in {}", originalClassMember.getKind().getDisplayName(), originalClassMember, originalClass.getName());
                         return MAJOR;
                     }
-                } else {
-                    try {
-                        if (!Objects.equals(classMethod.getGenericReturnType().getTypeName(), originalMethod.getGenericReturnType().getTypeName())) {
-                            log.info("Generics of return type in {} '{}' in {} have been changed from {} to {}", originalClassMember.getClass().getSimpleName(), originalClassMember, originalClass.getName(), nullSafeToString(originalMethod.getGenericReturnType()), nullSafeToString(classMethod.getGenericReturnType()));
-                            return MAJOR;
-                        }
-                    } catch (Exception e) {
-                        // There is actually not a good way to get generic information, only if it's about classes already loaded
-                        log.trace("Unable to get generic information", e);
-                    }
+                } else if (originalClassMember.getGenericTypeName() != null && memberInNew.getGenericTypeName() != null
+                        && !memberInNew.getGenericTypeName().equals(originalClassMember.getGenericTypeName())) {
+                    classResult.info("Generics of return type in {} '{}' in {} have been changed from {} to {}", originalClassMember.getKind().getDisplayName(), originalClassMember, originalClass.getName(), originalClassMember.getGenericTypeName(), memberInNew.getGenericTypeName());
+                    return MAJOR;
                 }
             }
             if (memberInNew == null) {
-                log.info("{} '{}' no longer exists in {}", originalClassMember.getClass().getSimpleName(), originalClassMember, originalClass.getName());
+                classResult.info("{} '{}' no longer exists in {}", originalClassMember.getKind().getDisplayName(), originalClassMember, originalClass.getName());
                 return MAJOR;
             } else {
-                Annotation[] annotationsInNew = memberInNew.getAnnotations();
-                Annotation[] annotationsInOriginal = originalClassMember.getAnnotations();
-                SemVerType annotationSemVerType = getSemVerType(originalClassMember, annotationsInNew, annotationsInOriginal);
+                SemVerType annotationSemVerType = getSemVerType(originalClassMember, memberInNew.getAnnotations(), originalClassMember.getAnnotations(), classResult);
                 maxChange = SemVerType.updateResult(maxChange, annotationSemVerType);
             }
         }
@@ -237,170 +636,103 @@ public class SemVerChecker {
             return maxChange;
         }
 
-        for (M memberInNew : inNewJarMembers.keySet()) {
-            M originalClassMember = getMemberInOther(memberInNew, originalClassMembers, true);
+        MemberIndex originalClassIndex = MemberIndex.of(originalClassMembers);
+        for (MemberInformation memberInNew : inNewJarMembers) {
+            MemberInformation originalClassMember = originalClassIndex.findIdentical(memberInNew);
             if (originalClassMember == null) {
-                log.info("{} '{}' in {} is new", memberInNew.getClass().getSimpleName(), memberInNew, originalClass.getName());
+                classResult.info("{} '{}' in {} is new", memberInNew.getKind().getDisplayName(), memberInNew, originalClass.getName());
                 return MINOR;
             }
         }
         return NONE;
     }
 
-    private static String nullSafeToString(Object value) {
-        if (value == null) {
-            return null;
+    private SemVerType getSemVerType(MemberInformation originalClassMember, List<AnnotationInformation> annotationsInNew, List<AnnotationInformation> annotationsInOriginal, ClassResult classResult) {
+        if (annotationsInOriginal.isEmpty() && annotationsInNew.isEmpty()) {
+            return NONE;
         }
-        return value.toString();
-    }
-
-    private SemVerType getSemVerType(AccessibleObject originalClassMember, Annotation[] annotationsInNew, Annotation[] annotationsInOriginal) {
-        Map<String, List<String>> annotationInOriginalByName = Stream.of(annotationsInOriginal)
-                .collect(Collectors.groupingBy(
-                        a -> a.annotationType().getCanonicalName(),
-                        Collectors.mapping(Object::toString, Collectors.toList())
-                ));
-        Map<String, List<String>> annotationInNewByName = Stream.of(annotationsInNew)
-                .collect(Collectors.groupingBy(
-                        a -> a.annotationType().getCanonicalName(),
-                        Collectors.mapping(Object::toString, Collectors.toList())
-                ));
-        for (Map.Entry<String, List<String>> annotationsInOriginalEntries : annotationInOriginalByName.entrySet()) {
-            List<String> sameAnnotationsInNew = annotationInNewByName.get(annotationsInOriginalEntries.getKey());
+        Map<String, List<AnnotationInformation>> annotationInOriginalByName = annotationsInOriginal.stream()
+                .collect(Collectors.groupingBy(AnnotationInformation::getTypeName));
+        Map<String, List<AnnotationInformation>> annotationInNewByName = annotationsInNew.stream()
+                .collect(Collectors.groupingBy(AnnotationInformation::getTypeName));
+        for (Map.Entry<String, List<AnnotationInformation>> annotationsInOriginalEntries : annotationInOriginalByName.entrySet()) {
+            List<AnnotationInformation> sameAnnotationsInNew = annotationInNewByName.get(annotationsInOriginalEntries.getKey());
             if (sameAnnotationsInNew == null) {
-                log.info("Annotation {} is no longer available on {}", annotationsInOriginalEntries.getKey(), originalClassMember);
+                classResult.info("Annotation {} is no longer available on {}", annotationsInOriginalEntries.getKey(), originalClassMember);
                 return configuration.getAnnotationRemovedStrategy();
             }
             if (annotationsInOriginalEntries.getValue().size() > sameAnnotationsInNew.size()) {
-                log.info("An annotation {} is has been removed on {}", annotationsInOriginalEntries.getKey(), originalClassMember);
+                classResult.info("An annotation {} is has been removed on {}", annotationsInOriginalEntries.getKey(), originalClassMember);
                 return configuration.getAnnotationRemovedStrategy();
             }
             if (annotationsInOriginalEntries.getValue().size() < sameAnnotationsInNew.size()) {
-                log.info("An annotation {} is has been added on {}", annotationsInOriginalEntries.getKey(), originalClassMember);
+                classResult.info("An annotation {} is has been added on {}", annotationsInOriginalEntries.getKey(), originalClassMember);
                 return configuration.getAnnotationAddedStrategy();
             }
-            List<String> differences = annotationsInOriginalEntries.getValue().stream()
-                    .filter(element -> !sameAnnotationsInNew.contains(element))
-                    .collect(Collectors.toList());
+            List<AnnotationInformation> differences = getDifferences(annotationsInOriginalEntries.getValue(), sameAnnotationsInNew);
             if (!differences.isEmpty()) {
                 differences.forEach(difference -> {
-                    log.info("Annotation {} is has been changed on {}", difference, originalClassMember);
+                    classResult.info("Annotation {} is has been changed on {}", difference, originalClassMember);
                 });
                 return PATCH;
             }
         }
-        for (Map.Entry<String, List<String>> annotationsInNewEntries : annotationInNewByName.entrySet()) {
-            List<String> sameAnnotationsInOriginal = annotationInOriginalByName.get(annotationsInNewEntries.getKey());
+        for (Map.Entry<String, List<AnnotationInformation>> annotationsInNewEntries : annotationInNewByName.entrySet()) {
+            List<AnnotationInformation> sameAnnotationsInOriginal = annotationInOriginalByName.get(annotationsInNewEntries.getKey());
             if (sameAnnotationsInOriginal == null) {
-                log.info("Annotation {} is has been added on {}", annotationsInNewEntries.getKey(), originalClassMember);
+                classResult.info("Annotation {} is has been added on {}", annotationsInNewEntries.getKey(), originalClassMember);
                 return configuration.getAnnotationAddedStrategy();
             }
         }
         return NONE;
     }
 
-    private <M extends AccessibleObject> M getMemberInOther(M originalClassMember, Map<M, Annotation[]> inNewJarMembers, boolean ignoreReturnType) {
-        for (M classMember : inNewJarMembers.keySet()) {
-            if (!ignoreReturnType && classMember instanceof Method && originalClassMember instanceof Method) {
-                Method originalMethod = (Method) originalClassMember;
-                Method classMethod = (Method) classMember;
-                if (originalMethod.getName().equals(classMethod.getName())) {
-                    List<Class<?>> originalParameterTypes = List.of(originalMethod.getParameterTypes());
-                    List<Class<?>> classParameterTypes = List.of(classMethod.getParameterTypes());
-                    if (allMatch(originalParameterTypes, classParameterTypes)) {
-                        List<Class<?>> originalMethodExceptionTypes = List.of(originalMethod.getExceptionTypes());
-                        List<Class<?>> classMethodExceptionTypes = List.of(classMethod.getExceptionTypes());
-                        if (allMatch(originalMethodExceptionTypes, classMethodExceptionTypes)) {
-                            return classMember;
-                        }
-                    }
-                }
-            } else if (originalClassMember.toString().equals(classMember.toString())) {
-                return classMember;
-            }
-        }
-        return null;
-    }
-
-    private boolean allMatch(List<Class<?>> originalParameterTypes, List<Class<?>> classParameterTypes) {
-        if (originalParameterTypes.size() != classParameterTypes.size()) {
-            return false;
+    /**
+     * @return the annotations in the original that have no equal annotation left in the new ones, each annotation in
+     * the new ones can only be matched once
+     */
+    private static List<AnnotationInformation> getDifferences(List<AnnotationInformation> annotationsInOriginal, List<AnnotationInformation> annotationsInNew) {
+        if (annotationsInOriginal.size() == 1) {
+            // Nearly all annotations are not repeated
+            AnnotationInformation annotationInOriginal = annotationsInOriginal.get(0);
+            return annotationInOriginal.equals(annotationsInNew.get(0)) ? List.of() : List.of(annotationInOriginal);
         }
-        for (int i = 0; i < originalParameterTypes.size(); i++) {
-            String origClass = originalParameterTypes.get(i).getName();
-            String otherClass = classParameterTypes.get(i).getName();
-            if (!origClass.equals(otherClass)) {
-                return false;
-            }
+        Map<AnnotationInformation, Integer> unmatchedInNew = new HashMap<>();
+        for (AnnotationInformation annotationInNew : annotationsInNew) {
+            unmatchedInNew.merge(annotationInNew, 1, Integer::sum);
         }
-        return true;
-    }
-
-    private Set<ClassInformation> getClassesInJar(JarFile jarFile) throws IOException {
-        List<URL> jarsInRuntime = new ArrayList<>(configuration.getRuntimeClasspathElements()
-                .stream()
-                .filter(jar -> jar.endsWith(".jar"))
-                .map(s -> {
-                    try {
-                        return new URL("jar:file:" + s + "!/");
-                    } catch (MalformedURLException e) {
-                        return null;
-                    }
-                })
-                .collect(Collectors.toList()));
-        jarsInRuntime.add(new URL("jar:file:" + jarFile.getName() + "!/"));
-        Set<String> classNames = getClassNamesFromJarFile(jarFile);
-        Set<ClassInformation> classes = new HashSet<>(classNames.size());
-        try (URLClassLoader cl = URLClassLoader.newInstance(jarsInRuntime.toArray(new URL[0]))) {
-            for (String name : classNames) {
-                if (MODULE_INFO_CLASS_NAME.equals(name)) {
-                    log.debug("Skipping module-info as that is not a class");
-                    continue;
-                }
-                try {
-                    Class aClass = cl.loadClass(name);
-                    Map<Constructor, Annotation[]> constructorsAndAnnotations = getAnnotationMapFromAccessibleObject(aClass.getConstructors());
-                    Map<Method, Annotation[]> fieldsAndAnnotations = getAnnotationMapFromAccessibleObject(aClass.getMethods());
-                    Map<Field, Annotation[]> methodsAndAnnotations = getAnnotationMapFromAccessibleObject(aClass.getFields());
-                    classes.add(new ClassInformation(aClass, constructorsAndAnnotations, methodsAndAnnotations, fieldsAndAnnotations));
-                } catch (ReflectiveOperationException | LinkageError e) {
-                    log.warn("Failed to load class {} from {} due to: {} {}", name, jarFile.getName(), e.getClass().getName(), e.getMessage());
-                }
+        List<AnnotationInformation> differences = new ArrayList<>();
+        for (AnnotationInformation annotationInOriginal : annotationsInOriginal) {
+            Integer count = unmatchedInNew.get(annotationInOriginal);
+            if (count == null) {
+                differences.add(annotationInOriginal);
+            } else if (count == 1) {
+                unmatchedInNew.remove(annotationInOriginal);
+            } else {
+                unmatchedInNew.put(annotationInOriginal, count - 1);
             }
         }
-        return classes;
+        return differences;
     }
 
-    private <T extends AccessibleObject> Map<T, Annotation[]> getAnnotationMapFromAccessibleObject(T[] AccessibleObjects) {
-        Map<T, Annotation[]> tHashMap = new HashMap<>();
-        for (T a : AccessibleObjects) {
-            tHashMap.put(a, a.getAnnotations());
+    private Set<String> getClassNames(JarIndex jarIndex) {
+        Set<String> classNames = jarIndex.getClasses().keySet();
+        if (classNames.contains(MODULE_INFO_CLASS_NAME)) {
+            log.debug("Skipping module-info as that is not a class");
+            classNames = new LinkedHashSet<>(classNames);
+            classNames.remove(MODULE_INFO_CLASS_NAME);
         }
-        return tHashMap;
-    }
-
-    private Set<String> getClassNamesFromJarFile(JarFile jarFile) {
-        return jarFile.stream()
-                .filter(jar -> jar.getName().endsWith(".class"))
-                .map(jar -> jar.getName().replace("/", ".")
-                        .replace(".class", ""))
-                .collect(Collectors.toSet());
+        return classNames;
     }
 
-    private Map<String, JarEntry> getFilesNotClassedInJar(JarFile jarFile) {
-        return jarFile.stream()
-                .filter(jarEntry -> !jarEntry.getName().endsWith(".class"))
-                .filter(jarEntry -> !jarEntry.getName().startsWith("META-INF/maven/"))
-                .filter(jarEntry -> !jarEntry.isDirectory())
-                .collect(Collectors.toMap(JarEntry::getName, Function.identity()));
+    private Map<String, JarIndex.Entry> getFilesNotClassedInJar(JarIndex jarIndex) {
+        Map<String, JarIndex.Entry> files = new LinkedHashMap<>(jarIndex.getFiles());
+        files.keySet().removeIf(name -> name.startsWith("META-INF/maven/"));
+        return files;
     }
 
-    private JarEntry getJarEntry(JarFile jarFile, String className) {
-        return jarFile.stream()
-                .filter(jar -> jar.getName().endsWith(".class"))
-                .filter(jar -> (jar.getName().replace("/", ".")
-                        .replace(".class", "")).equals(className))
-                .findFirst()
-                .orElseThrow(() -> new RuntimeException(String.format("tries to load class %s for own jar and did not find it anymore?", className)));
+    @FunctionalInterface
+    private interface ClassComparison {
+        ClassResult compare(String className) throws IOException;
     }
 }
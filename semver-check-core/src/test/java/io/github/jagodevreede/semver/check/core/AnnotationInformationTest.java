@@ -0,0 +1,51 @@
+package io.github.jagodevreede.semver.check.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AnnotationInformationTest {
+
+    @Test
+    void equals_ignoresOrderOfElements() {
+        Map<String, Object> elements = new LinkedHashMap<>();
+        elements.put("since", "1.2");
+        elements.put("forRemoval", true);
+        Map<String, Object> reversedElements = new LinkedHashMap<>();
+        reversedElements.put("forRemoval", true);
+        reversedElements.put("since", "1.2");
+
+        AnnotationInformation annotation = new AnnotationInformation("java.lang.Deprecated", elements);
+        AnnotationInformation reversed = new AnnotationInformation("java.lang.Deprecated", reversedElements);
+
+        assertThat(annotation).isEqualTo(reversed).hasSameHashCodeAs(reversed);
+    }
+
+    @Test
+    void equals_comparesNestedValues() {
+        AnnotationInformation annotation = annotation(List.of(new AnnotationInformation.EnumValue("a.Level", "HIGH"), new AnnotationInformation.ClassValue("a.B[]")));
+        AnnotationInformation same = annotation(List.of(new AnnotationInformation.EnumValue("a.Level", "HIGH"), new AnnotationInformation.ClassValue("a.B[]")));
+        AnnotationInformation otherEnum = annotation(List.of(new AnnotationInformation.EnumValue("a.Level", "LOW"), new AnnotationInformation.ClassValue("a.B[]")));
+        AnnotationInformation otherClass = annotation(List.of(new AnnotationInformation.EnumValue("a.Level", "HIGH"), new AnnotationInformation.ClassValue("a.B")));
+
+        assertThat(annotation).isEqualTo(same).hasSameHashCodeAs(same);
+        assertThat(annotation).isNotEqualTo(otherEnum).isNotEqualTo(otherClass);
+    }
+
+    @Test
+    void equals_displayOnlyComparesDisplayString() {
+        AnnotationInformation annotation = new AnnotationInformation("a.Marker", "@a.Marker(1)");
+
+        assertThat(annotation).isEqualTo(new AnnotationInformation("a.Marker", "@a.Marker(1)"));
+        assertThat(annotation).isNotEqualTo(new AnnotationInformation("a.Marker", "@a.Marker(2)"));
+        assertThat(annotation).isNotEqualTo(new AnnotationInformation("a.Marker", Map.of()));
+    }
+
+    private static AnnotationInformation annotation(Object value) {
+        return new AnnotationInformation("a.Annotation", Map.of("value", value));
+    }
+}
@@ -0,0 +1,186 @@
+package io.github.jagodevreede.semver.check.core;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Collectors;
+
+import static io.github.jagodevreede.semver.check.core.ClassFileWriter.ACC_PUBLIC;
+import static io.github.jagodevreede.semver.check.core.ClassFileWriter.ACC_SUPER;
+import static io.github.jagodevreede.semver.check.core.SemVerType.MAJOR;
+import static io.github.jagodevreede.semver.check.core.SemVerType.MINOR;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ApiModelCacheTest {
+
+    private final File baseJar = new File("../sample/sample-base/target/semver-check-sample-base-1.0.0-SNAPSHOT.jar");
+    private final File additionJar = new File("../sample/sample-addition/target/semver-check-sample-addition-1.1.0-SNAPSHOT.jar");
+    private final Configuration configuration = new Configuration(List.of(), List.of(), List.of(), List.of(), MINOR, MAJOR);
+
+    @TempDir
+    Path cacheDirectory;
+
+    @Test
+    void load_returnsStoredModel() throws Exception {
+        Map<String, ClassInformation> classes = new LinkedHashMap<>();
+        try (JarFile jarFile = new JarFile(baseJar);
+             RuntimeClasspath runtimeClasspath = new RuntimeClasspath(List.of());
+             ApiModelExtractor extractor = new BytecodeApiModelExtractor(jarFile, runtimeClasspath, new ApiModelInterner())) {
+            for (String className : List.of("io.github.jagodevreede.semver.sample.ExampleClass", "java.lang.Thread", "java.lang.annotation.Retention")) {
+                classes.put(className, extractor.extract(className));
+            }
+        }
+        ApiModelCache subject = new ApiModelCache(cacheDirectory.toFile(), Long.MAX_VALUE);
+        String key = subject.getKey(baseJar, configuration);
+
+        subject.store(key, new ApiModelCache.Entry(ApiModelSnapshot.of(classes), Map.of()));
+        ApiModelSnapshot result = subject.load(key, new RuntimeClasspath(List.of())).getClasses();
+
+        assertThat(result.getClassNames()).containsExactlyElementsOf(classes.keySet());
+        for (ClassInformation expected : classes.values()) {
+            ClassInformation actual = result.get(expected.getName());
+            assertThat(actual.getModifiers()).isEqualTo(expected.getModifiers());
+            assertThat(describe(actual.getConstructors())).isEqualTo(describe(expected.getConstructors()));
+            assertThat(describe(actual.getFields())).isEqualTo(describe(expected.getFields()));
+            assertThat(describe(actual.getMethods())).isEqualTo(describe(expected.getMethods()));
+        }
+    }
+
+    @Test
+    void getKey_differsPerJarAndConfiguration() {
+        ApiModelCache subject = new ApiModelCache(cacheDirectory.toFile(), Long.MAX_VALUE);
+        Configuration reflectionConfiguration = new Configuration(List.of(), List.of(), List.of(), List.of(), MINOR, MAJOR, ApiModelMode.REFLECTION);
+
+        assertThat(subject.getKey(baseJar, configuration)).isEqualTo(subject.getKey(baseJar, configuration));
+        assertThat(subject.getKey(baseJar, configuration)).isNotEqualTo(subject.getKey(additionJar, configuration));
+        assertThat(subject.getKey(baseJar, configuration)).isNotEqualTo(subject.getKey(baseJar, reflectionConfiguration));
+    }
+
+    @Test
+    void load_ignoresCorruptEntry() throws Exception {
+        ApiModelCache subject = new ApiModelCache(cacheDirectory.toFile(), Long.MAX_VALUE);
+        String key = subject.getKey(baseJar, configuration);
+        Files.write(cacheDirectory.resolve(key + ".model"), new byte[]{1, 2, 3});
+
+        assertThat(subject.load(key, new RuntimeClasspath(List.of())).getClasses().isEmpty()).isTrue();
+        assertThat(cacheDirectory.resolve(key + ".model")).doesNotExist();
+    }
+
+    @Test
+    void store_evictsLeastRecentlyUsedEntries() throws Exception {
+        ApiModelCache subject = new ApiModelCache(cacheDirectory.toFile(), 100);
+        ClassInformation classInformation = new ClassInformation("a.B", 1, List.of(), List.of(), List.of());
+        subject.store("first", entry(classInformation));
+        long entrySize = Files.size(cacheDirectory.resolve("first.model"));
+        subject = new ApiModelCache(cacheDirectory.toFile(), entrySize * 2);
+        subject.store("second", entry(classInformation));
+        Files.setLastModifiedTime(cacheDirectory.resolve("first.model"), FileTime.fromMillis(0));
+        Files.setLastModifiedTime(cacheDirectory.resolve("second.model"), FileTime.fromMillis(0));
+        subject.load("first", new RuntimeClasspath(List.of()));
+
+        subject.store("third", entry(classInformation));
+
+        assertThat(cacheDirectory.resolve("first.model")).exists();
+        assertThat(cacheDirectory.resolve("second.model")).doesNotExist();
+        assertThat(cacheDirectory.resolve("third.model")).exists();
+    }
+
+    @Test
+    void determineSemVerType_sameResultWithCache() throws Exception {
+        ApiModelCache cache = new ApiModelCache(cacheDirectory.toFile(), Long.MAX_VALUE);
+
+        for (int i = 0; i < 2; i++) {
+            SemVerChecker subject = new SemVerChecker(additionJar, baseJar, configuration);
+            subject.setApiModelCache(cache);
+            assertThat(subject.determineSemVerType()).isEqualTo(MAJOR);
+        }
+        assertThat(cache.load(cache.getKey(additionJar, configuration), new RuntimeClasspath(List.of())).getClasses().isEmpty()).isFalse();
+    }
+
+    @Test
+    void load_ignoresEntryWhenSuperTypeOnClasspathChanged(@TempDir Path classpathDirectory) throws Exception {
+        File jar = classpathDirectory.resolve("sub.jar").toFile();
+        try (JarOutputStream out = new JarOutputStream(new FileOutputStream(jar))) {
+            out.putNextEntry(new JarEntry("a/Sub.class"));
+            out.write(new ClassFileWriter(ACC_PUBLIC | ACC_SUPER, "a/Sub", "b/Base").toByteArray());
+        }
+        Path classes = Files.createDirectories(classpathDirectory.resolve("classes"));
+        Path baseClass = writeBaseClass(classes, "first");
+        List<String> classpath = List.of(classes.toString());
+        ApiModelCache subject = new ApiModelCache(cacheDirectory.toFile(), Long.MAX_VALUE);
+        String key = subject.getKey(jar, configuration);
+        try (JarFile jarFile = new JarFile(jar);
+             RuntimeClasspath runtimeClasspath = new RuntimeClasspath(classpath);
+             ApiModelExtractor extractor = new CachingApiModelExtractor(new BytecodeApiModelExtractor(jarFile, runtimeClasspath, new ApiModelInterner()), subject, key, jarFile, runtimeClasspath)) {
+            assertThat(extractor.extract("a.Sub").getMethods()).extracting(MemberInformation::getName).contains("first");
+        }
+
+        // A rebuilt module on the classpath with the same classes keeps the entry
+        Files.setLastModifiedTime(baseClass, FileTime.fromMillis(System.currentTimeMillis() + 60_000));
+        ApiModelCache.Entry unchanged = subject.load(key, new RuntimeClasspath(classpath));
+        writeBaseClass(classes, "second");
+        ApiModelCache.Entry changed = subject.load(key, new RuntimeClasspath(classpath));
+
+        assertThat(unchanged.getClasses().getClassNames()).containsExactly("a.Sub");
+        assertThat(unchanged.getExternalClasses()).containsKeys("b.Base", "java.lang.Object");
+        assertThat(changed.getClasses().isEmpty()).isTrue();
+    }
+
+    @Test
+    void load_ignoresEntryWhenAnnotationTypeOnClasspathChanged(@TempDir Path directory) throws Exception {
+        File annotationJar = compileAnnotations(directory, "first");
+        List<String> classpath = List.of(annotationJar.getPath());
+        File jar = SourceJarCompiler.compile(directory, "api", classpath, "package a; public class Api { @q.Ann public void run() {} }");
+        ApiModelCache subject = new ApiModelCache(cacheDirectory.toFile(), Long.MAX_VALUE);
+        String key = subject.getKey(jar, configuration);
+        try (JarFile jarFile = new JarFile(jar);
+             RuntimeClasspath runtimeClasspath = new RuntimeClasspath(classpath);
+             ApiModelExtractor extractor = new CachingApiModelExtractor(new BytecodeApiModelExtractor(jarFile, runtimeClasspath, new ApiModelInterner()), subject, key, jarFile, runtimeClasspath)) {
+            extractor.extract("a.Api");
+        }
+
+        ApiModelCache.Entry unchanged = subject.load(key, new RuntimeClasspath(classpath));
+        // The changed default is in an annotation type that is only used in a default value
+        compileAnnotations(directory, "second");
+        ApiModelCache.Entry changed = subject.load(key, new RuntimeClasspath(classpath));
+
+        assertThat(unchanged.getClasses().getClassNames()).containsExactly("a.Api");
+        assertThat(unchanged.getExternalClasses()).containsKeys("q.Ann", "q.Inner");
+        assertThat(changed.getClasses().isEmpty()).isTrue();
+    }
+
+    private static File compileAnnotations(Path directory, String defaultValue) throws Exception {
+        return SourceJarCompiler.compile(directory, "annotations", List.of(),
+                "package q; import java.lang.annotation.*; @Retention(RetentionPolicy.RUNTIME) public @interface Ann { Inner inner() default @Inner; }",
+                "package q; import java.lang.annotation.*; @Retention(RetentionPolicy.RUNTIME) public @interface Inner { String value() default \"" + defaultValue + "\"; }");
+    }
+
+    private static Path writeBaseClass(Path classes, String methodName) throws Exception {
+        ClassFileWriter writer = new ClassFileWriter(ACC_PUBLIC | ACC_SUPER, "b/Base", "java/lang/Object");
+        writer.addMethod(ACC_PUBLIC, methodName, "()V", Map.of());
+        Path baseClass = classes.resolve("b/Base.class");
+        Files.createDirectories(baseClass.getParent());
+        return Files.write(baseClass, writer.toByteArray());
+    }
+
+    private static ApiModelCache.Entry entry(ClassInformation classInformation) {
+        return new ApiModelCache.Entry(ApiModelSnapshot.of(Map.of(classInformation.getName(), classInformation)), Map.of());
+    }
+
+    private static List<String> describe(List<MemberInformation> members) {
+        return members.stream()
+                .map(m -> m + " " + m.getGenericTypeName() + " " + m.getAnnotations() + " " + m.isDeclaredInInterface())
+                .collect(Collectors.toList());
+    }
+}
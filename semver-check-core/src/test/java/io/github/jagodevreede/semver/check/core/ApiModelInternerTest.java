@@ -0,0 +1,56 @@
+package io.github.jagodevreede.semver.check.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.JarFile;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ApiModelInternerTest {
+
+    private final File baseJar = new File("../sample/sample-base/target/semver-check-sample-base-1.0.0-SNAPSHOT.jar");
+    private final File additionJar = new File("../sample/sample-addition/target/semver-check-sample-addition-1.1.0-SNAPSHOT.jar");
+
+    @Test
+    void intern_returnsSameInstanceForEqualValues() {
+        ApiModelInterner subject = new ApiModelInterner();
+        String name = subject.intern(new String("java.lang.String"));
+        List<String> names = subject.internNames(new ArrayList<>(List.of("int", "java.lang.String")));
+        AnnotationInformation annotation = subject.intern(new AnnotationInformation("java.lang.Deprecated", Map.of("since", "1")));
+
+        assertThat(subject.intern(new String("java.lang.String"))).isSameAs(name);
+        assertThat(subject.internNames(List.of("int", "java.lang.String"))).isSameAs(names);
+        assertThat(names.get(1)).isSameAs(name);
+        assertThat(subject.internAnnotations(List.of(new AnnotationInformation("java.lang.Deprecated", Map.of("since", "1"))))).containsExactly(annotation);
+        assertThat(subject.internAnnotations(List.of(new AnnotationInformation("java.lang.Deprecated", Map.of("since", "1")))).get(0)).isSameAs(annotation);
+        assertThat(subject.internNames(new ArrayList<>())).isEmpty();
+        assertThat(subject.intern((String) null)).isNull();
+    }
+
+    @Test
+    void extract_sharesNamesBetweenJars() throws Exception {
+        ApiModelInterner interner = new ApiModelInterner();
+        String className = "io.github.jagodevreede.semver.sample.ExampleClass";
+        try (JarFile original = new JarFile(baseJar);
+             JarFile newJar = new JarFile(additionJar);
+             RuntimeClasspath runtimeClasspath = new RuntimeClasspath(List.of());
+             ApiModelExtractor originalExtractor = new BytecodeApiModelExtractor(original, runtimeClasspath, interner);
+             ApiModelExtractor newJarExtractor = new BytecodeApiModelExtractor(newJar, runtimeClasspath, interner)) {
+            ClassInformation originalClass = originalExtractor.extract(className);
+            ClassInformation newClass = newJarExtractor.extract(className);
+
+            assertThat(newClass.getName()).isSameAs(originalClass.getName());
+            MemberInformation originalMethod = originalClass.getMethods().get(0);
+            MemberInformation newMethod = newClass.getMethods().stream()
+                    .filter(m -> m.toString().equals(originalMethod.toString()))
+                    .findFirst().orElseThrow();
+            assertThat(newMethod.getName()).isSameAs(originalMethod.getName());
+            assertThat(newMethod.getParameterTypeNames()).isSameAs(originalMethod.getParameterTypeNames());
+            assertThat(newMethod.getTypeName()).isSameAs(originalMethod.getTypeName());
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package io.github.jagodevreede.semver.check.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.JarFile;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ApiModelSnapshotTest {
+
+    private final File baseJar = new File("../sample/sample-base/target/semver-check-sample-base-1.0.0-SNAPSHOT.jar");
+
+    @Test
+    void get_returnsEqualModel() throws Exception {
+        Map<String, ClassInformation> classes = new LinkedHashMap<>();
+        try (JarFile jarFile = new JarFile(baseJar);
+             RuntimeClasspath runtimeClasspath = new RuntimeClasspath(List.of());
+             ApiModelExtractor extractor = new BytecodeApiModelExtractor(jarFile, runtimeClasspath, new ApiModelInterner())) {
+            for (String className : List.of("io.github.jagodevreede.semver.sample.ExampleClass", "java.lang.Thread", "java.lang.annotation.Retention")) {
+                classes.put(className, extractor.extract(className));
+            }
+        }
+
+        ApiModelSnapshot subject = ApiModelSnapshot.of(classes);
+
+        assertThat(subject.size()).isEqualTo(3);
+        assertThat(subject.getClassNames()).containsExactlyElementsOf(classes.keySet());
+        for (ClassInformation expected : classes.values()) {
+            ClassInformation actual = subject.get(expected.getName());
+            assertThat(actual.getName()).isEqualTo(expected.getName());
+            assertThat(actual.getModifiers()).isEqualTo(expected.getModifiers());
+            assertThat(describe(actual.getConstructors())).isEqualTo(describe(expected.getConstructors()));
+            assertThat(describe(actual.getFields())).isEqualTo(describe(expected.getFields()));
+            assertThat(describe(actual.getMethods())).isEqualTo(describe(expected.getMethods()));
+        }
+        assertThat(subject.get("java.lang.Object")).isNull();
+    }
+
+    @Test
+    void get_materializesClassOnce() {
+        ApiModelSnapshot subject = ApiModelSnapshot.of(Map.of(
+                "a.C", new ClassInformation("a.C", 1, List.of(), List.of(), List.of()),
+                "a.B", new ClassInformation("a.B", 1, List.of(), List.of(), List.of())));
+
+        assertThat(subject.get("a.B")).isSameAs(subject.get("a.B"));
+        assertThat(subject.get("a.C").getName()).isEqualTo("a.C");
+    }
+
+    @Test
+    void addAll_keepsMembersOfEachClass() {
+        AnnotationInformation deprecated = new AnnotationInformation("java.lang.Deprecated", Map.of("since", "1"));
+        MemberInformation field = new MemberInformation(MemberInformation.Kind.FIELD, "a.B", "count", 1, "int", null,
+                List.of(), List.of(), List.of(deprecated), false);
+        MemberInformation method = new MemberInformation(MemberInformation.Kind.METHOD, "a.C", "run", 1025, "void", null,
+                List.of("java.lang.String", "int"), List.of("java.io.IOException"), List.of(), true);
+        ApiModelSnapshot first = ApiModelSnapshot.of(Map.of("a.B", new ClassInformation("a.B", 1, List.of(), List.of(field), List.of())));
+
+        ApiModelSnapshot subject = new ApiModelSnapshot.Builder()
+                .addAll(first)
+                .add(new ClassInformation("a.C", 1537, List.of(), List.of(), List.of(method)))
+                .build();
+
+        assertThat(subject.getClassNames()).containsExactly("a.B", "a.C");
+        MemberInformation actualField = subject.get("a.B").getFields().get(0);
+        assertThat(actualField.getGenericTypeName()).isNull();
+        assertThat(actualField.getAnnotations()).containsExactly(deprecated);
+        MemberInformation actualMethod = subject.get("a.C").getMethods().get(0);
+        assertThat(actualMethod.getParameterTypeNames()).containsExactly("java.lang.String", "int");
+        assertThat(actualMethod.getExceptionTypeNames()).containsExactly("java.io.IOException");
+        assertThat(actualMethod.isDeclaredInInterface()).isTrue();
+        assertThat(subject.get("a.C").getModifiers()).isEqualTo(1537);
+    }
+
+    private static List<String> describe(List<MemberInformation> members) {
+        return members.stream()
+                .map(m -> m + " " + m.getGenericTypeName() + " " + m.getAnnotations() + " " + m.isDeclaredInInterface())
+                .collect(Collectors.toList());
+    }
+}
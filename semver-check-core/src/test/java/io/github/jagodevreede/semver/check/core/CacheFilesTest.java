@@ -0,0 +1,34 @@
+package io.github.jagodevreede.semver.check.core;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheFilesTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void writeLines_replacesFileWithoutLeavingTemporaryFiles() throws Exception {
+        Path file = directory.resolve("a/b/entry.versions");
+
+        CacheFiles.writeLines(file, List.of("1.0.0", "1.1.0"));
+        CacheFiles.writeLines(file, List.of("2.0.0"));
+
+        assertThat(Files.readAllLines(file)).containsExactly("2.0.0");
+        assertThat(file.getParent()).isDirectoryContaining(path -> true).isDirectoryNotContaining("glob:**.tmp");
+    }
+
+    @Test
+    void sha256_isLowerCaseHex() {
+        assertThat(CacheFiles.sha256("abc".getBytes(StandardCharsets.UTF_8)))
+                .isEqualTo("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad");
+    }
+}
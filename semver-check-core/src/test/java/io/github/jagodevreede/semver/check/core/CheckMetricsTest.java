@@ -0,0 +1,57 @@
+package io.github.jagodevreede.semver.check.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CheckMetricsTest {
+
+    @Test
+    void getSlowestClasses_keepsOnlyTheSlowest() {
+        CheckMetrics subject = new CheckMetrics(2);
+        subject.recordClass("a.Fast", 1);
+        subject.recordClass("a.Slowest", 30);
+        subject.recordClass("a.Medium", 10);
+        subject.recordClass("a.Slow", 20);
+
+        assertThat(subject.getSlowestClasses()).extracting(CheckMetrics.ClassTiming::getClassName).containsExactly("a.Slowest", "a.Slow");
+    }
+
+    @Test
+    void addPhase_sumsRepeatedPhases() throws Exception {
+        CheckMetrics subject = new CheckMetrics();
+        subject.addPhase("files", 5);
+        String result = subject.time("other", () -> "done");
+        subject.addPhase("files", 7);
+
+        assertThat(result).isEqualTo("done");
+        assertThat(subject.getPhaseNanos()).containsKeys("files", "other").containsEntry("files", 12L);
+    }
+
+    @Test
+    void toJson() {
+        CheckMetrics subject = new CheckMetrics();
+        subject.setAttribute("artifact", "group:\"id\"");
+        subject.addPhase("jarIndex", TimeUnit.MILLISECONDS.toNanos(12));
+        subject.addCounter("classesCompared", 3);
+        subject.recordClass("a.B", 1_500_000);
+
+        assertThat(subject.toJson()).isEqualTo("{\n" +
+                "  \"attributes\": {\n" +
+                "    \"artifact\": \"group:\\\"id\\\"\"\n" +
+                "  },\n" +
+                "  \"phasesMillis\": {\n" +
+                "    \"jarIndex\": 12.000\n" +
+                "  },\n" +
+                "  \"counters\": {\n" +
+                "    \"classesCompared\": 3\n" +
+                "  },\n" +
+                "  \"slowestClasses\": [\n" +
+                "    {\"className\": \"a.B\", \"millis\": 1.500}\n" +
+                "  ]\n" +
+                "}\n");
+        assertThat(new CheckMetrics().toJson()).isEqualTo("{\n  \"attributes\": {},\n  \"phasesMillis\": {},\n  \"counters\": {},\n  \"slowestClasses\": []\n}\n");
+    }
+}
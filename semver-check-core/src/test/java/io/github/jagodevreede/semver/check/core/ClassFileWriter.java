@@ -0,0 +1,266 @@
+package io.github.jagodevreede.semver.check.core;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes a class file without a compiler. Only supports what {@link SyntheticJarGenerator} needs: fields, methods with
+ * straight-line code and runtime visible annotations with string elements.
+ */
+final class ClassFileWriter {
+    static final int ACC_PUBLIC = 0x0001;
+    static final int ACC_SUPER = 0x0020;
+    private static final int JAVA_11 = 55;
+
+    private final ByteArrayOutputStream constantPoolBytes = new ByteArrayOutputStream(1024);
+    private final DataOutputStream constantPool = new DataOutputStream(constantPoolBytes);
+    private final Map<String, Integer> constants = new HashMap<>();
+    private final List<byte[]> fields = new ArrayList<>();
+    private final List<byte[]> methods = new ArrayList<>();
+    private final int access;
+    private final int thisClass;
+    private final int superClass;
+    private int constantCount = 1;
+
+    /**
+     * @param internalName the name of the class with slashes, like <code>java/lang/Object</code>
+     */
+    ClassFileWriter(int access, String internalName, String superInternalName) {
+        this.access = access;
+        this.thisClass = classConstant(internalName);
+        this.superClass = classConstant(superInternalName);
+    }
+
+    void addField(int access, String name, String descriptor) {
+        Output out = new Output();
+        out.writeShort(access);
+        out.writeShort(utf8(name));
+        out.writeShort(utf8(descriptor));
+        out.writeShort(0);
+        fields.add(out.toByteArray());
+    }
+
+    /**
+     * Adds a constructor that only calls the no-argument constructor of the super class.
+     *
+     * @param padding the number of <code>nop</code> instructions before the call, to change the bytes of the class
+     *                without changing its API
+     */
+    void addDefaultConstructor(String superInternalName, int padding) {
+        int superConstructor = methodConstant(superInternalName, "<init>", "()V");
+        byte[] code = new byte[5 + padding];
+        int i = padding;
+        code[i++] = 0x2a; // aload_0
+        code[i++] = (byte) 0xb7; // invokespecial
+        code[i++] = (byte) (superConstructor >> 8);
+        code[i++] = (byte) superConstructor;
+        code[i] = (byte) 0xb1; // return
+        methods.add(method(ACC_PUBLIC, "<init>", "()V", 1, 1, code, Map.of()));
+    }
+
+    /**
+     * Adds a method that returns the default value of its return type.
+     *
+     * @param annotations the descriptors of the annotations on the method, each with its string elements
+     */
+    void addMethod(int access, String name, String descriptor, Map<String, Map<String, String>> annotations) {
+        byte[] code;
+        int maxStack = 1;
+        switch (descriptor.charAt(descriptor.indexOf(')') + 1)) {
+            case 'V':
+                code = new byte[]{(byte) 0xb1}; // return
+                break;
+            case 'J':
+                code = new byte[]{0x09, (byte) 0xad}; // lconst_0, lreturn
+                maxStack = 2;
+                break;
+            case 'F':
+                code = new byte[]{0x0b, (byte) 0xae}; // fconst_0, freturn
+                break;
+            case 'D':
+                code = new byte[]{0x0e, (byte) 0xaf}; // dconst_0, dreturn
+                maxStack = 2;
+                break;
+            case 'L':
+            case '[':
+                code = new byte[]{0x01, (byte) 0xb0}; // aconst_null, areturn
+                break;
+            default:
+                code = new byte[]{0x03, (byte) 0xac}; // iconst_0, ireturn
+        }
+        methods.add(method(access, name, descriptor, maxStack, 1 + parameterSlots(descriptor), code, annotations));
+    }
+
+    byte[] toByteArray() {
+        Output out = new Output();
+        out.writeInt(0xCAFEBABE);
+        out.writeShort(0);
+        out.writeShort(JAVA_11);
+        out.writeShort(constantCount);
+        out.write(constantPoolBytes.toByteArray());
+        out.writeShort(access);
+        out.writeShort(thisClass);
+        out.writeShort(superClass);
+        out.writeShort(0); // interfaces
+        out.writeAll(fields);
+        out.writeAll(methods);
+        out.writeShort(0); // attributes
+        return out.toByteArray();
+    }
+
+    private byte[] method(int access, String name, String descriptor, int maxStack, int maxLocals, byte[] code,
+                          Map<String, Map<String, String>> annotations) {
+        Output out = new Output();
+        out.writeShort(access);
+        out.writeShort(utf8(name));
+        out.writeShort(utf8(descriptor));
+        out.writeShort(annotations.isEmpty() ? 1 : 2);
+        out.writeShort(utf8("Code"));
+        out.writeInt(12 + code.length);
+        out.writeShort(maxStack);
+        out.writeShort(maxLocals);
+        out.writeInt(code.length);
+        out.write(code);
+        out.writeShort(0); // exception table
+        out.writeShort(0); // attributes
+        if (!annotations.isEmpty()) {
+            Output attribute = new Output();
+            attribute.writeShort(annotations.size());
+            for (Map.Entry<String, Map<String, String>> annotation : annotations.entrySet()) {
+                attribute.writeShort(utf8(annotation.getKey()));
+                attribute.writeShort(annotation.getValue().size());
+                for (Map.Entry<String, String> element : annotation.getValue().entrySet()) {
+                    attribute.writeShort(utf8(element.getKey()));
+                    attribute.writeByte('s');
+                    attribute.writeShort(utf8(element.getValue()));
+                }
+            }
+            byte[] bytes = attribute.toByteArray();
+            out.writeShort(utf8("RuntimeVisibleAnnotations"));
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+        return out.toByteArray();
+    }
+
+    private static int parameterSlots(String descriptor) {
+        int slots = 0;
+        int i = 1;
+        while (descriptor.charAt(i) != ')') {
+            char c = descriptor.charAt(i);
+            if (c == 'J' || c == 'D') {
+                slots += 2;
+                i++;
+                continue;
+            }
+            // Arrays and objects take a single slot
+            while (descriptor.charAt(i) == '[') {
+                i++;
+            }
+            if (descriptor.charAt(i) == 'L') {
+                i = descriptor.indexOf(';', i);
+            }
+            slots++;
+            i++;
+        }
+        return slots;
+    }
+
+    private int utf8(String value) {
+        Integer index = constants.get(value);
+        if (index == null) {
+            writeConstant(1, value);
+            index = addConstant(value);
+        }
+        return index;
+    }
+
+    private int classConstant(String internalName) {
+        String key = "#Class " + internalName;
+        Integer index = constants.get(key);
+        if (index == null) {
+            int name = utf8(internalName);
+            writeConstant(7, name);
+            index = addConstant(key);
+        }
+        return index;
+    }
+
+    private int methodConstant(String owner, String name, String descriptor) {
+        String key = "#Method " + owner + '.' + name + descriptor;
+        Integer index = constants.get(key);
+        if (index == null) {
+            int ownerIndex = classConstant(owner);
+            int nameIndex = utf8(name);
+            int descriptorIndex = utf8(descriptor);
+            writeConstant(12, nameIndex, descriptorIndex);
+            int nameAndType = addConstant("#NameAndType " + name + descriptor);
+            writeConstant(10, ownerIndex, nameAndType);
+            index = addConstant(key);
+        }
+        return index;
+    }
+
+    private void writeConstant(int tag, Object... values) {
+        try {
+            constantPool.writeByte(tag);
+            for (Object value : values) {
+                if (value instanceof String) {
+                    constantPool.writeUTF((String) value);
+                } else {
+                    constantPool.writeShort((Integer) value);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private int addConstant(String key) {
+        int index = constantCount++;
+        constants.put(key, index);
+        return index;
+    }
+
+    /**
+     * Big-endian output to a byte array, like a {@link DataOutputStream} that can not throw an {@link IOException}.
+     */
+    private static final class Output {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+
+        void writeByte(int value) {
+            bytes.write(value);
+        }
+
+        void writeShort(int value) {
+            bytes.write(value >>> 8);
+            bytes.write(value);
+        }
+
+        void writeInt(int value) {
+            writeShort(value >>> 16);
+            writeShort(value);
+        }
+
+        void write(byte[] value) {
+            bytes.write(value, 0, value.length);
+        }
+
+        void writeAll(List<byte[]> items) {
+            writeShort(items.size());
+            for (byte[] item : items) {
+                write(item);
+            }
+        }
+
+        byte[] toByteArray() {
+            return bytes.toByteArray();
+        }
+    }
+}
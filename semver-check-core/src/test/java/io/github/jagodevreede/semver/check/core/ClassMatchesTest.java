@@ -0,0 +1,69 @@
+package io.github.jagodevreede.semver.check.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClassMatchesTest {
+
+    @Test
+    void of_matchesClassesByName() {
+        ClassMatches result = ClassMatches.of(Set.of("a.Removed", "a.Common"), Set.of("a.Common", "a.Added"));
+
+        assertThat(result.getRemoved()).containsExactly("a.Removed");
+        assertThat(result.getAdded()).containsExactly("a.Added");
+        assertThat(result.getCommon()).containsExactly("a.Common");
+    }
+
+    @Test
+    void of_looksUpEachClassOnce() {
+        for (int numberOfClasses : new int[]{1_000, 50_000}) {
+            CountingSet original = new CountingSet();
+            CountingSet inNewJar = new CountingSet();
+            for (int i = 0; i < numberOfClasses; i++) {
+                String className = "com.example.p" + (i % 100) + ".Class" + i;
+                if (i % 10 != 0) {
+                    original.classes.add(className);
+                }
+                if (i % 10 != 1) {
+                    inNewJar.classes.add(className);
+                }
+            }
+
+            ClassMatches matches = ClassMatches.of(original, inNewJar);
+
+            assertThat(matches.getRemoved()).hasSize(numberOfClasses / 10);
+            // Quadratic matching would compare every class with every class of the other jar
+            assertThat(original.lookups + inNewJar.lookups).isEqualTo(original.size() + inNewJar.size());
+        }
+    }
+
+    /**
+     * Counts the lookups of the classes, the matching itself is timed in the benchmarks module.
+     */
+    private static final class CountingSet extends AbstractSet<String> {
+        private final Set<String> classes = new LinkedHashSet<>();
+        private int lookups;
+
+        @Override
+        public boolean contains(Object o) {
+            lookups++;
+            return classes.contains(o);
+        }
+
+        @Override
+        public Iterator<String> iterator() {
+            return classes.iterator();
+        }
+
+        @Override
+        public int size() {
+            return classes.size();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package io.github.jagodevreede.semver.check.core;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static io.github.jagodevreede.semver.check.core.SemVerType.MAJOR;
+import static io.github.jagodevreede.semver.check.core.SemVerType.MINOR;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FlightRecorderEventsTest {
+
+    private static final String PREFIX = "io.github.jagodevreede.semver.check.";
+
+    private final File baseJar = new File("../sample/sample-base/target/semver-check-sample-base-1.0.0-SNAPSHOT.jar");
+    private final File additionJar = new File("../sample/sample-addition/target/semver-check-sample-addition-1.1.0-SNAPSHOT.jar");
+    private final Configuration configuration = new Configuration(List.of(), List.of(), List.of("META-INF/maven/"), List.of(), MINOR, MAJOR);
+
+    @Test
+    void check_emitsEvents(@TempDir Path tempDir) throws Exception {
+        Path dump = tempDir.resolve("check.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(PREFIX + "JarScan");
+            recording.enable(PREFIX + "ModelExtraction");
+            recording.enable(PREFIX + "ClassDiff");
+            recording.enable(PREFIX + "FileDiff");
+            recording.start();
+            new SemVerChecker(baseJar, additionJar, configuration).determineSemVerType();
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+        List<RecordedEvent> jarScans = ofType(events, "JarScan");
+        assertThat(jarScans).hasSize(2);
+        assertThat(jarScans.get(0).getString("jar")).endsWith(baseJar.getName());
+        assertThat(jarScans.get(0).getInt("classCount")).isPositive();
+        assertThat(ofType(events, "ModelExtraction")).isNotEmpty().allSatisfy(e -> assertThat(e.getString("className")).isNotEmpty());
+        assertThat(ofType(events, "ClassDiff")).isNotEmpty().anySatisfy(e -> assertThat(e.getString("semVerType")).isEqualTo("MINOR"));
+        List<RecordedEvent> fileDiffs = ofType(events, "FileDiff");
+        assertThat(fileDiffs).hasSize(1);
+        assertThat(fileDiffs.get(0).getInt("originalFileCount")).isPositive();
+    }
+
+    private static List<RecordedEvent> ofType(List<RecordedEvent> events, String name) {
+        return events.stream()
+                .filter(e -> e.getEventType().getName().equals(PREFIX + name))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,127 @@
+package io.github.jagodevreede.semver.check.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipOutputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JarIndexTest {
+
+    private final File baseJar = new File("../sample/sample-base/target/semver-check-sample-base-1.0.0-SNAPSHOT.jar");
+
+    @Test
+    void of_hasSameEntriesAsJarFile() throws IOException {
+        JarIndex subject = JarIndex.of(baseJar);
+
+        try (JarFile jarFile = new JarFile(baseJar)) {
+            JarEntry exampleClass = jarFile.getJarEntry("io/github/jagodevreede/semver/sample/ExampleClass.class");
+            JarIndex.Entry entry = subject.getClass("io.github.jagodevreede.semver.sample.ExampleClass");
+            assertThat(entry.getName()).isEqualTo(exampleClass.getName());
+            assertThat(entry.getCrc()).isEqualTo(exampleClass.getCrc());
+            assertThat(entry.getSize()).isEqualTo(exampleClass.getSize());
+            assertThat(entry.getCompressedSize()).isEqualTo(exampleClass.getCompressedSize());
+            assertThat(entry.getMajorVersion()).isEqualTo(ClassFileParser.parse(jarFile.getInputStream(exampleClass).readAllBytes()).getMajorVersion());
+
+            long numberOfClasses = jarFile.stream().filter(e -> e.getName().endsWith(".class")).count();
+            long numberOfFiles = jarFile.stream().filter(e -> !e.getName().endsWith(".class") && !e.isDirectory()).count();
+            assertThat(subject.getClasses()).hasSize((int) numberOfClasses);
+            assertThat(subject.getFiles()).hasSize((int) numberOfFiles).containsKey("META-INF/MANIFEST.MF");
+        }
+    }
+
+    @Test
+    void of_readsZip64Jars() throws IOException {
+        File jar = new File("target/zip64.jar");
+        int numberOfEntries = 70_000; // more than fits in the entry count of a normal zip file
+        try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(jar))) {
+            for (int i = 0; i < numberOfEntries; i++) {
+                out.putNextEntry(new ZipEntry("p" + (i % 10) + "/C" + i + ".class"));
+                out.write(("class " + i).getBytes(UTF_8));
+                out.closeEntry();
+            }
+            out.putNextEntry(new ZipEntry("resource.txt"));
+            out.closeEntry();
+        }
+
+        JarIndex subject = JarIndex.of(jar);
+
+        assertThat(subject.getClasses()).hasSize(numberOfEntries);
+        assertThat(subject.getClass("p9.C69999")).isNotNull();
+        assertThat(subject.getFiles()).containsOnlyKeys("resource.txt");
+        jar.delete();
+    }
+
+    @Test
+    void of_readsMajorVersionOfStoredAndDeflatedClasses() throws IOException {
+        File jar = new File("target/versions.jar");
+        int numberOfEntries = 20_000;
+        try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(jar))) {
+            for (int i = 0; i < numberOfEntries; i++) {
+                byte[] classFile = classFileHeader(45 + i % 20);
+                ZipEntry entry = new ZipEntry("p" + (i % 10) + "/C" + i + ".class");
+                if (i % 2 == 0) {
+                    entry.setMethod(ZipEntry.STORED);
+                    entry.setSize(classFile.length);
+                    CRC32 crc = new CRC32();
+                    crc.update(classFile);
+                    entry.setCrc(crc.getValue());
+                }
+                out.putNextEntry(entry);
+                out.write(classFile);
+                out.closeEntry();
+            }
+            out.putNextEntry(new ZipEntry("p0/NotAClass.class"));
+            out.write("not a class".getBytes(UTF_8));
+            out.closeEntry();
+        }
+
+        JarIndex subject = JarIndex.of(jar);
+
+        assertThat(subject.getClass("p0.C0").getMajorVersion()).isEqualTo(45);
+        assertThat(subject.getClass("p1.C1").getMajorVersion()).isEqualTo(46);
+        assertThat(subject.getClass("p9.C19999").getMajorVersion()).isEqualTo(64);
+        assertThat(subject.getClass("p0.NotAClass").getMajorVersion()).isEqualTo(JarIndex.UNKNOWN_VERSION);
+        assertThat(ClassVersion.getVersionNumber(subject)).isEqualTo(64);
+        jar.delete();
+    }
+
+    @Test
+    void of_rejectsEntryCountLargerThanCentralDirectory() throws IOException {
+        File jar = new File("target/corrupt.jar");
+        try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(jar))) {
+            out.putNextEntry(new ZipEntry("resource.txt"));
+            out.closeEntry();
+        }
+        byte[] bytes = Files.readAllBytes(jar.toPath());
+        // The total number of entries in the end of central directory record, which is the last record without a comment
+        int entryCount = bytes.length - 22 + 10;
+        bytes[entryCount] = (byte) 0xff;
+        bytes[entryCount + 1] = (byte) 0xff;
+        Files.write(jar.toPath(), bytes);
+
+        assertThatThrownBy(() -> JarIndex.of(jar)).isInstanceOf(ZipException.class);
+        jar.delete();
+    }
+
+    private static byte[] classFileHeader(int majorVersion) {
+        byte[] classFile = new byte[32];
+        classFile[0] = (byte) 0xca;
+        classFile[1] = (byte) 0xfe;
+        classFile[2] = (byte) 0xba;
+        classFile[3] = (byte) 0xbe;
+        classFile[7] = (byte) majorVersion;
+        return classFile;
+    }
+}
@@ -0,0 +1,57 @@
+package io.github.jagodevreede.semver.check.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Modifier;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MemberIndexTest {
+
+    @Test
+    void findMatching_methodIgnoresReturnType() {
+        MemberInformation original = method("run", "void", List.of("java.lang.String"), List.of());
+        MemberInformation changedReturnType = method("run", "int", List.of("java.lang.String"), List.of());
+        MemberIndex subject = MemberIndex.of(List.of(method("run", "void", List.of(), List.of()), changedReturnType));
+
+        assertThat(subject.findMatching(original)).isSameAs(changedReturnType);
+        assertThat(subject.findIdentical(original)).isNull();
+    }
+
+    @Test
+    void findMatching_methodNeedsSameExceptions() {
+        MemberInformation original = method("run", "void", List.of(), List.of("java.io.IOException"));
+        MemberIndex subject = MemberIndex.of(List.of(method("run", "void", List.of(), List.of())));
+
+        assertThat(subject.findMatching(original)).isNull();
+    }
+
+    @Test
+    void findMatching_fieldNeedsToBeIdentical() {
+        MemberInformation original = field("value", "int");
+        MemberInformation sameField = field("value", "int");
+        MemberIndex subject = MemberIndex.of(List.of(field("value", "long"), sameField));
+
+        assertThat(subject.findMatching(original)).isSameAs(sameField);
+        assertThat(MemberIndex.of(List.of(field("value", "long"))).findMatching(original)).isNull();
+    }
+
+    @Test
+    void findMatching_parameterTypesAreNotConcatenated() {
+        MemberInformation original = method("run", "void", List.of("a.B", "C"), List.of());
+        MemberIndex subject = MemberIndex.of(List.of(method("run", "void", List.of("a.BC"), List.of())));
+
+        assertThat(subject.findMatching(original)).isNull();
+    }
+
+    private static MemberInformation method(String name, String returnType, List<String> parameterTypes, List<String> exceptionTypes) {
+        return new MemberInformation(MemberInformation.Kind.METHOD, "a.Example", name, Modifier.PUBLIC, returnType, null,
+                parameterTypes, exceptionTypes, List.of(), false);
+    }
+
+    private static MemberInformation field(String name, String type) {
+        return new MemberInformation(MemberInformation.Kind.FIELD, "a.Example", name, Modifier.PUBLIC, type, null,
+                List.of(), List.of(), List.of(), false);
+    }
+}
@@ -0,0 +1,61 @@
+package io.github.jagodevreede.semver.check.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NameFilterTest {
+
+    private static final List<String> PATTERNS = List.of("com.acme", "io.github.*", "org\\.slf4j:.*", "META-INF/maven/.*", "net.foo.(bar|baz)",
+            "(?i)UPPER.case", "(a)\\1", ".*\\.internal(\\..*)?", "");
+    private static final List<String> NAMES = List.of("com.acme", "comXacme", "com.acme.sub", "io.github", "io.github.jagodevreede", "io.gitlab",
+            "org.slf4j:slf4j-api", "orgXslf4j:slf4j-api", "META-INF/maven/pom.xml", "META-INF/MANIFEST.MF", "net.foo.bar", "net.foo.qux",
+            "upper.CASE", "aa", "ab", "com.acme.internal", "com.acme.internal.impl", "com.acme.internalx", "");
+
+    @Test
+    void matches_sameAsEachPattern() {
+        List<Pattern> patterns = PATTERNS.stream().map(Pattern::compile).collect(Collectors.toList());
+        NameFilter subject = new NameFilter(patterns);
+
+        for (String name : NAMES) {
+            boolean expected = patterns.stream().anyMatch(p -> p.matcher(name).matches());
+            assertThat(subject.matches(name)).as(name).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void matches_eachPatternOnItsOwn() {
+        for (String pattern : PATTERNS) {
+            Pattern compiled = Pattern.compile(pattern);
+            NameFilter subject = new NameFilter(List.of(compiled));
+
+            for (String name : NAMES) {
+                assertThat(subject.matches(name)).as(pattern + " on " + name).isEqualTo(compiled.matcher(name).matches());
+            }
+        }
+    }
+
+    @Test
+    void matches_patternsWithSameNamedGroup() {
+        NameFilter subject = new NameFilter(List.of(Pattern.compile("com\\.(?<p>acme|foo)"), Pattern.compile("org\\.(?<p>bar)\\..*"),
+                Pattern.compile("(?<=x)y|net.*")));
+
+        assertThat(subject.matches("com.foo")).isTrue();
+        assertThat(subject.matches("org.bar.Baz")).isTrue();
+        assertThat(subject.matches("net.qux")).isTrue();
+        assertThat(subject.matches("org.baz")).isFalse();
+    }
+
+    @Test
+    void matches_nothingWithoutPatterns() {
+        NameFilter subject = new NameFilter(List.of());
+
+        assertThat(subject.isEmpty()).isTrue();
+        assertThat(subject.matches("com.acme")).isFalse();
+        assertThat(subject.matches("")).isFalse();
+    }
+}
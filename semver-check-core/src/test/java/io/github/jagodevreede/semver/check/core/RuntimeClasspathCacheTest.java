@@ -0,0 +1,48 @@
+package io.github.jagodevreede.semver.check.core;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.File;
+import java.util.List;
+
+import static io.github.jagodevreede.semver.check.core.SemVerType.MAJOR;
+import static io.github.jagodevreede.semver.check.core.SemVerType.MINOR;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RuntimeClasspathCacheTest {
+
+    private static final String USER_HOME = System.getProperty("user.home");
+    private static final List<String> DEPENDENCY_LOCATIONS = List.of("../sample/sample-dependency/target/classes",
+            USER_HOME + "/.m2/repository/com/fasterxml/jackson/core/jackson-annotations/2.15.2/jackson-annotations-2.15.2.jar");
+
+    private final File baseJar = new File("../sample/sample-base/target/semver-check-sample-base-1.0.0-SNAPSHOT.jar");
+    private final File dependencyAddedJar = new File("../sample/sample-dependency/target/semver-check-sample-dependency-1.0.0-SNAPSHOT.jar");
+
+    @Test
+    void get_sharesClasspathWithSameElements() throws Exception {
+        try (RuntimeClasspathCache subject = new RuntimeClasspathCache()) {
+            RuntimeClasspath first = subject.get(List.of("a.jar", "b.jar"));
+
+            assertThat(subject.get(List.of("a.jar", "b.jar"))).isSameAs(first);
+            assertThat(subject.get(List.of("b.jar", "a.jar"))).isNotSameAs(first);
+            assertThat(subject.size()).isEqualTo(2);
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(ApiModelMode.class)
+    void check_reusesClasspathOverChecks(ApiModelMode apiModelMode) throws Exception {
+        Configuration configuration = new Configuration(List.of(), List.of(), List.of("META-INF/maven/"), DEPENDENCY_LOCATIONS, MINOR, MAJOR, apiModelMode);
+        try (RuntimeClasspathCache subject = new RuntimeClasspathCache()) {
+            for (int i = 0; i < 2; i++) {
+                SemVerChecker checker = new SemVerChecker(baseJar, dependencyAddedJar, configuration);
+                checker.setRuntimeClasspathCache(subject);
+
+                assertThat(checker.determineSemVerType()).isEqualTo(MINOR);
+            }
+            assertThat(subject.size()).isEqualTo(1);
+        }
+    }
+}
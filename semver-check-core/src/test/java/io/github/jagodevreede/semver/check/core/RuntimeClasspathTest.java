@@ -0,0 +1,40 @@
+package io.github.jagodevreede.semver.check.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RuntimeClasspathTest {
+
+    private static final String JACKSON_ANNOTATIONS = System.getProperty("user.home")
+            + "/.m2/repository/com/fasterxml/jackson/core/jackson-annotations/2.15.2/jackson-annotations-2.15.2.jar";
+    private static final List<String> ELEMENTS = List.of(JACKSON_ANNOTATIONS, "../sample/sample-base/target/semver-check-sample-base-1.0.0-SNAPSHOT.jar",
+            "../sample/sample-dependency/target/classes");
+
+    @Test
+    void findClassFile_findsClassesThroughPackageIndex() throws Exception {
+        try (RuntimeClasspath subject = new RuntimeClasspath(ELEMENTS)) {
+            assertThat(subject.findClassFile("com.fasterxml.jackson.annotation.JsonProperty")).isNotEmpty();
+            assertThat(subject.findClassFile("io.github.jagodevreede.semver.sample.ExampleClass")).isNotEmpty();
+            assertThat(subject.findClassFile("java.lang.String")).isNotEmpty();
+            assertThat(subject.findClassFile("com.fasterxml.jackson.annotation.DoesNotExist")).isNull();
+            assertThat(subject.findClassFile("io.github.jagodevreede.unknown.ExampleClass")).isNull();
+        }
+    }
+
+    @Test
+    void getClassLoader_loadsClassesOfRuntimeClasspath() throws Exception {
+        try (RuntimeClasspath subject = new RuntimeClasspath(ELEMENTS)) {
+            ClassLoader classLoader = subject.getClassLoader();
+
+            Class<?> jsonProperty = classLoader.loadClass("com.fasterxml.jackson.annotation.JsonProperty");
+
+            assertThat(jsonProperty.getClassLoader()).isSameAs(classLoader);
+            assertThat(jsonProperty.isAnnotation()).isTrue();
+            assertThat(classLoader.loadClass("java.lang.String")).isSameAs(String.class);
+            assertThat(classLoader.getResource("META-INF/MANIFEST.MF")).isNotNull();
+        }
+    }
+}
@@ -1,11 +1,21 @@
 package io.github.jagodevreede.semver.check.core;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
 import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
 import java.util.List;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.stream.Collectors;
 
 import static io.github.jagodevreede.semver.check.core.SemVerType.MAJOR;
 import static io.github.jagodevreede.semver.check.core.SemVerType.MINOR;
@@ -17,6 +27,11 @@ class SemVerCheckerSimpleTest {
     private final File baseJar;
     private final File additionJar;
     private final File changedJavaVersionJar;
+    private static final String ANNOTATIONS = "package p; import java.lang.annotation.*; public class Annotations {"
+            + " public enum Level { LOW, HIGH }"
+            + " @Retention(RetentionPolicy.RUNTIME) public @interface Inner { Level level() default Level.HIGH; }"
+            + " @Retention(RetentionPolicy.RUNTIME) public @interface Nested { int value() default 1; String name() default \"\"; Class<?> type() default String.class; Inner inner() default @Inner; }"
+            + " }";
     private final Configuration emptyConfiguration = new Configuration(List.of(), List.of(), DEFAULT_EXCLUDED_FILES, List.of(), MINOR, MAJOR);
 
     SemVerCheckerSimpleTest() {
@@ -41,6 +56,21 @@ class SemVerCheckerSimpleTest {
         assertThat(result).isEqualTo(SemVerType.MINOR);
     }
 
+    @Test
+    void check_recordsMetrics() throws Exception {
+        final SemVerChecker subject = new SemVerChecker(additionJar, baseJar, emptyConfiguration);
+        CheckResult result = subject.check();
+
+        assertThat(result.getSemVerType()).isEqualTo(SemVerType.MAJOR);
+        CheckMetrics metrics = result.getMetrics();
+        assertThat(metrics.getPhaseNanos()).containsKeys("jarIndex", "classVersion", "changedClasses", "addedClasses");
+        assertThat(metrics.getCounter("classesCommon")).isPositive();
+        assertThat(metrics.getCounter("classesCompared")).isEqualTo(metrics.getCounter("classesAdded") + metrics.getCounter("classesRemoved")
+                + metrics.getCounter("classesCommon") - metrics.getCounter("classesSkippedByteIdentical"));
+        assertThat(metrics.getCounter("membersCompared")).isPositive();
+        assertThat(metrics.getSlowestClasses()).isNotEmpty().hasSizeLessThanOrEqualTo(10);
+    }
+
     @Test
     void determineServerType_additionWithNewDependencyIsMinor() throws Exception {
         String userHome = System.getProperty("user.home");
@@ -53,6 +83,136 @@ class SemVerCheckerSimpleTest {
         assertThat(result).isEqualTo(SemVerType.MINOR);
     }
 
+    @CsvSource({
+            "BYTECODE, NONE, MINOR, MAJOR",
+            "REFLECTION, NONE, MINOR, MAJOR",
+    })
+    @ParameterizedTest
+    void determineSemVerType_sameResultForEachApiModelMode(ApiModelMode apiModelMode, SemVerType same, SemVerType addition, SemVerType removal) throws Exception {
+        Configuration configuration = new Configuration(List.of(), List.of(), DEFAULT_EXCLUDED_FILES, List.of(), MINOR, MAJOR, apiModelMode);
+
+        assertThat(new SemVerChecker(baseJar, baseJar, configuration).determineSemVerType()).isEqualTo(same);
+        assertThat(new SemVerChecker(baseJar, additionJar, configuration).determineSemVerType()).isEqualTo(addition);
+        assertThat(new SemVerChecker(additionJar, baseJar, configuration).determineSemVerType()).isEqualTo(removal);
+    }
+
+    @CsvSource({
+            "BYTECODE",
+            "REFLECTION",
+    })
+    @ParameterizedTest
+    void determineSemVerType_annotationValueSameAsDefaultIsPatchForEachApiModelMode(ApiModelMode apiModelMode, @TempDir Path directory) throws Exception {
+        Configuration configuration = new Configuration(List.of(), List.of(), DEFAULT_EXCLUDED_FILES, List.of(), MINOR, MAJOR, apiModelMode);
+        File original = SourceJarCompiler.compile(directory, "original", List.of(), ANNOTATIONS, "package p; public class Api { @Annotations.Nested public void run() {} }");
+        File newJar = SourceJarCompiler.compile(directory, "new", List.of(), ANNOTATIONS, "package p; public class Api { @Annotations.Nested(value = 1) public void run() {} }");
+
+        assertThat(new SemVerChecker(original, newJar, configuration).determineSemVerType()).isEqualTo(SemVerType.PATCH);
+    }
+
+    @CsvSource({
+            "BYTECODE",
+            "REFLECTION",
+    })
+    @ParameterizedTest
+    void determineSemVerType_classesForOtherJavaVersionsAreNotCompared(ApiModelMode apiModelMode, @TempDir Path directory) throws Exception {
+        Configuration configuration = new Configuration(List.of(), List.of(), DEFAULT_EXCLUDED_FILES, List.of(), MINOR, MAJOR, apiModelMode);
+        File api = SourceJarCompiler.compile(directory, "api", List.of(), "package p; public class Api { public void run() {} }");
+        File original = multiReleaseJar(directory.resolve("original.jar"), api, SourceJarCompiler.compile(directory, "original-11", List.of(),
+                "package p; public class Api { public void run() {} }"));
+        File newJar = multiReleaseJar(directory.resolve("new.jar"), api, SourceJarCompiler.compile(directory, "new-11", List.of(),
+                "package p; public class Api { public void stop() {} }"));
+
+        assertThat(new SemVerChecker(original, newJar, configuration).determineSemVerType()).isEqualTo(SemVerType.NONE);
+    }
+
+    /**
+     * @return a multi release jar with the classes of <code>jar</code>, and the classes of <code>versionedJar</code>
+     * for java 11
+     */
+    private static File multiReleaseJar(Path file, File jar, File versionedJar) throws Exception {
+        Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        manifest.getMainAttributes().putValue("Multi-Release", "true");
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(file), manifest)) {
+            copyEntries(jar, "", out);
+            copyEntries(versionedJar, "META-INF/versions/11/", out);
+        }
+        return file.toFile();
+    }
+
+    private static void copyEntries(File jar, String prefix, JarOutputStream out) throws Exception {
+        try (JarFile jarFile = new JarFile(jar)) {
+            for (JarEntry entry : Collections.list(jarFile.entries())) {
+                if (!entry.isDirectory() && !entry.getName().startsWith("META-INF/")) {
+                    out.putNextEntry(new JarEntry(prefix + entry.getName()));
+                    out.write(jarFile.getInputStream(entry).readAllBytes());
+                }
+            }
+        }
+    }
+
+    @Test
+    void extract_sameAnnotationsForEachApiModelMode(@TempDir Path directory) throws Exception {
+        File jar = SourceJarCompiler.compile(directory, "api", List.of(), ANNOTATIONS, "package p; public class Api { @Annotations.Nested(name = \"run\") public void run() {} }");
+
+        try (JarFile jarFile = new JarFile(jar);
+             RuntimeClasspath runtimeClasspath = new RuntimeClasspath(List.of());
+             ApiModelExtractor bytecode = new BytecodeApiModelExtractor(jarFile, runtimeClasspath, new ApiModelInterner());
+             ApiModelExtractor reflection = new ReflectionApiModelExtractor(jarFile, runtimeClasspath, new ApiModelInterner())) {
+            List<String> bytecodeAnnotations = getAnnotations(bytecode.extract("p.Api"));
+
+            assertThat(bytecodeAnnotations).containsExactly("@p.Annotations.Nested(inner=@p.Annotations.Inner(level=p.Annotations$Level.HIGH), name=\"run\", type=java.lang.String.class, value=1)");
+            assertThat(bytecodeAnnotations).isEqualTo(getAnnotations(reflection.extract("p.Api")));
+        }
+    }
+
+    private static List<String> getAnnotations(ClassInformation classInformation) {
+        return classInformation.getMethods().stream()
+                .filter(method -> method.getName().equals("run"))
+                .flatMap(method -> method.getAnnotations().stream())
+                .map(AnnotationInformation::toString)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Compiles the sources, each in package <code>p</code>, into a jar.
+     */
+    @CsvSource({
+            "1, NONE, MINOR, MAJOR",
+            "4, NONE, MINOR, MAJOR",
+    })
+    @ParameterizedTest
+    void determineSemVerType_sameResultForEachNumberOfThreads(int threads, SemVerType same, SemVerType addition, SemVerType removal) throws Exception {
+        assertThat(determineSemVerType(baseJar, baseJar, threads)).isEqualTo(same);
+        assertThat(determineSemVerType(baseJar, additionJar, threads)).isEqualTo(addition);
+        assertThat(determineSemVerType(additionJar, baseJar, threads)).isEqualTo(removal);
+    }
+
+    @CsvSource({
+            "1, NONE, MINOR, MAJOR",
+            "4, NONE, MINOR, MAJOR",
+    })
+    @ParameterizedTest
+    void determineSemVerType_sameResultWithEarlyExit(int threads, SemVerType same, SemVerType addition, SemVerType removal) throws Exception {
+        assertThat(determineSemVerTypeWithEarlyExit(baseJar, baseJar, threads)).isEqualTo(same);
+        assertThat(determineSemVerTypeWithEarlyExit(baseJar, additionJar, threads)).isEqualTo(addition);
+        assertThat(determineSemVerTypeWithEarlyExit(additionJar, baseJar, threads)).isEqualTo(removal);
+        assertThat(determineSemVerTypeWithEarlyExit(changedJavaVersionJar, baseJar, threads)).isEqualTo(MAJOR);
+    }
+
+    private SemVerType determineSemVerTypeWithEarlyExit(File original, File newJar, int threads) throws Exception {
+        SemVerChecker subject = new SemVerChecker(original, newJar, emptyConfiguration);
+        subject.setThreads(threads);
+        subject.setEarlyExit(true);
+        return subject.determineSemVerType();
+    }
+
+    private SemVerType determineSemVerType(File original, File newJar, int threads) throws Exception {
+        SemVerChecker subject = new SemVerChecker(original, newJar, emptyConfiguration);
+        subject.setThreads(threads);
+        return subject.determineSemVerType();
+    }
+
     @CsvSource({
             "io.github.jagodevreede.semver.sample",
             "io.github.jagodevreede.*",
@@ -67,6 +227,17 @@ class SemVerCheckerSimpleTest {
         assertThat(result).isEqualTo(SemVerType.NONE);
     }
 
+    @Test
+    void check_excludedClassesAreNotExtracted() throws Exception {
+        Configuration configuration = new Configuration(List.of("com.acme"), List.of(), DEFAULT_EXCLUDED_FILES, List.of(), MINOR, MAJOR);
+        final SemVerChecker subject = new SemVerChecker(additionJar, baseJar, configuration);
+        CheckResult result = subject.check();
+
+        assertThat(result.getSemVerType()).isEqualTo(SemVerType.NONE);
+        assertThat(result.getMetrics().getCounter("classesSkippedExcluded")).isPositive();
+        assertThat(result.getMetrics().getCounter("modelExtractionNanos")).isZero();
+    }
+
     @Test
     void determineSemVerType_removalOfMethodIsMajor() throws Exception {
         final SemVerChecker subject = new SemVerChecker(additionJar, baseJar, emptyConfiguration);
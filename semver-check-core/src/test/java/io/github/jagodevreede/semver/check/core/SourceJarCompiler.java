@@ -0,0 +1,62 @@
+package io.github.jagodevreede.semver.check.core;
+
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Compiles Java sources with the system compiler and packs the classes in a jar. Each source holds one top level type,
+ * the file name is taken from its package and type declaration.
+ */
+final class SourceJarCompiler {
+    private static final Pattern PACKAGE = Pattern.compile("package ([\\w.]+);");
+    private static final Pattern TYPE = Pattern.compile("(?:class|interface|enum) (\\w+)");
+
+    private SourceJarCompiler() {
+    }
+
+    /**
+     * @return the jar <code>name</code>.jar in <code>directory</code>, the sources and classes are written next to it
+     */
+    static File compile(Path directory, String name, List<String> classpath, String... sources) throws IOException {
+        Path sourceDirectory = Files.createDirectories(directory.resolve(name));
+        Path classes = Files.createDirectories(directory.resolve(name + "-classes"));
+        List<String> arguments = new ArrayList<>(List.of("-d", classes.toString()));
+        if (!classpath.isEmpty()) {
+            arguments.add("-cp");
+            arguments.add(String.join(File.pathSeparator, classpath));
+        }
+        for (String source : sources) {
+            Matcher packageName = PACKAGE.matcher(source);
+            Matcher typeName = TYPE.matcher(source);
+            if (!packageName.find() || !typeName.find()) {
+                throw new IllegalArgumentException("No package or type declaration in " + source);
+            }
+            Path sourceFile = sourceDirectory.resolve(packageName.group(1).replace('.', File.separatorChar)).resolve(typeName.group(1) + ".java");
+            Files.createDirectories(sourceFile.getParent());
+            arguments.add(Files.writeString(sourceFile, source).toString());
+        }
+        if (ToolProvider.getSystemJavaCompiler().run(null, null, null, arguments.toArray(new String[0])) != 0) {
+            throw new IllegalStateException("Unable to compile " + name);
+        }
+        File jar = directory.resolve(name + ".jar").toFile();
+        try (JarOutputStream out = new JarOutputStream(new FileOutputStream(jar));
+             Stream<Path> classFiles = Files.walk(classes)) {
+            for (Path classFile : (Iterable<Path>) classFiles.filter(Files::isRegularFile)::iterator) {
+                out.putNextEntry(new JarEntry(classes.relativize(classFile).toString().replace(File.separatorChar, '/')));
+                out.write(Files.readAllBytes(classFile));
+            }
+        }
+        return jar;
+    }
+}
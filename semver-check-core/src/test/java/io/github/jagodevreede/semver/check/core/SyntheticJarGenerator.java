@@ -0,0 +1,398 @@
+package io.github.jagodevreede.semver.check.core;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.zip.Deflater;
+
+import static io.github.jagodevreede.semver.check.core.ClassFileWriter.ACC_PUBLIC;
+import static io.github.jagodevreede.semver.check.core.ClassFileWriter.ACC_SUPER;
+
+/**
+ * Generates an original and a new jar of public classes, of which a fraction is changed in the new jar. Unlike
+ * {@link TestDataGenerator} no compiler is involved: the class files are written directly, in batches, so a pair of
+ * 50k classes takes seconds. The same settings and seed always produce the same jars.
+ */
+final class SyntheticJarGenerator {
+    private static final int BATCH_SIZE = 1024;
+    private static final long ENTRY_TIME = 1_640_995_200_000L;
+    private static final String OBJECT = "java/lang/Object";
+    private static final String DEPRECATED = "Ljava/lang/Deprecated;";
+    private static final String SAFE_VARARGS = "Ljava/lang/SafeVarargs;";
+    private static final String[] TYPES = {"I", "J", "Z", "D", "Ljava/lang/String;", "Ljava/util/List;", "[B", "[Ljava/lang/Object;"};
+
+    /**
+     * A change to a single class, with the {@link SemVerType} it causes when the default annotation strategies are
+     * used (<code>MINOR</code> when added, <code>MAJOR</code> when removed).
+     */
+    enum Mutation {
+        ADD_METHOD(SemVerType.MINOR),
+        REMOVE_METHOD(SemVerType.MAJOR),
+        CHANGE_SIGNATURE(SemVerType.MAJOR),
+        ADD_ANNOTATION(SemVerType.MINOR),
+        REMOVE_ANNOTATION(SemVerType.MAJOR),
+        CHANGE_ANNOTATION(SemVerType.PATCH),
+        CHANGE_BYTES(SemVerType.PATCH);
+
+        private final SemVerType semVerType;
+
+        Mutation(SemVerType semVerType) {
+            this.semVerType = semVerType;
+        }
+
+        SemVerType getSemVerType() {
+            return semVerType;
+        }
+    }
+
+    private int classCount = 1000;
+    private int membersPerClass = 10;
+    private double overloadDensity = 0.2;
+    private double annotationDensity = 0.1;
+    private int packageCount = 10;
+    private int packageDepth = 3;
+    private double mutationRatio = 0.0;
+    private final Map<Mutation, Integer> mutationWeights = new EnumMap<>(Mutation.class);
+    private long seed = 1;
+
+    SyntheticJarGenerator() {
+        for (Mutation mutation : Mutation.values()) {
+            mutationWeights.put(mutation, 1);
+        }
+    }
+
+    SyntheticJarGenerator withClassCount(int classCount) {
+        this.classCount = classCount;
+        return this;
+    }
+
+    /**
+     * @param membersPerClass the number of public fields and methods of each class, every fourth member is a field
+     */
+    SyntheticJarGenerator withMembersPerClass(int membersPerClass) {
+        if (membersPerClass < 1) {
+            throw new IllegalArgumentException("A class needs at least one member to mutate, got " + membersPerClass);
+        }
+        this.membersPerClass = membersPerClass;
+        return this;
+    }
+
+    /**
+     * @param overloadDensity the chance that a method is an overload of the method before it
+     */
+    SyntheticJarGenerator withOverloadDensity(double overloadDensity) {
+        this.overloadDensity = overloadDensity;
+        return this;
+    }
+
+    /**
+     * @param annotationDensity the chance that a method is annotated
+     */
+    SyntheticJarGenerator withAnnotationDensity(double annotationDensity) {
+        this.annotationDensity = annotationDensity;
+        return this;
+    }
+
+    /**
+     * @param packageCount the number of packages the classes are spread over
+     * @param packageDepth the number of segments of each package name
+     */
+    SyntheticJarGenerator withPackages(int packageCount, int packageDepth) {
+        this.packageCount = packageCount;
+        this.packageDepth = packageDepth;
+        return this;
+    }
+
+    /**
+     * @param mutationRatio the fraction of the classes that is changed in the new jar
+     */
+    SyntheticJarGenerator withMutationRatio(double mutationRatio) {
+        this.mutationRatio = mutationRatio;
+        return this;
+    }
+
+    /**
+     * @param mutationWeights how often each mutation is picked relative to the others, mutations that are not in the
+     *                        map are not used
+     */
+    SyntheticJarGenerator withMutationMix(Map<Mutation, Integer> mutationWeights) {
+        this.mutationWeights.clear();
+        this.mutationWeights.putAll(mutationWeights);
+        return this;
+    }
+
+    SyntheticJarGenerator withSeed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    Result generate(File original, File newJar) throws IOException {
+        Map<Mutation, Integer> mutationCounts = new EnumMap<>(Mutation.class);
+        try (JarOutputStream originalOut = open(original); JarOutputStream newOut = open(newJar)) {
+            for (int batchStart = 0; batchStart < classCount; batchStart += BATCH_SIZE) {
+                List<GeneratedPair> batch = IntStream.range(batchStart, Math.min(classCount, batchStart + BATCH_SIZE))
+                        .parallel()
+                        .mapToObj(this::generatePair)
+                        .collect(Collectors.toList());
+                for (GeneratedPair pair : batch) {
+                    write(originalOut, pair.entryName, pair.original);
+                    write(newOut, pair.entryName, pair.changed);
+                    if (pair.mutation != null) {
+                        mutationCounts.merge(pair.mutation, 1, Integer::sum);
+                    }
+                }
+            }
+        }
+        return new Result(mutationCounts);
+    }
+
+    private GeneratedPair generatePair(int index) {
+        Random random = new Random(seed * 1_000_003L + index);
+        String internalName = getPackageName(index) + "/Class" + index;
+        GeneratedClass original = generateClass(internalName, random);
+        Mutation mutation = random.nextDouble() < mutationRatio ? pickMutation(random) : null;
+        if (mutation == null) {
+            byte[] bytes = original.toByteArray();
+            return new GeneratedPair(internalName + ".class", bytes, bytes, null);
+        }
+        GeneratedClass changed = mutate(original, mutation);
+        return new GeneratedPair(internalName + ".class", original.toByteArray(), changed.toByteArray(), mutation);
+    }
+
+    private String getPackageName(int index) {
+        int packageIndex = (int) ((long) index * packageCount / classCount);
+        StringBuilder sb = new StringBuilder();
+        for (int level = 1; level < packageDepth; level++) {
+            sb.append("level").append(level).append('/');
+        }
+        return sb.append('p').append(packageIndex).toString();
+    }
+
+    private GeneratedClass generateClass(String internalName, Random random) {
+        GeneratedClass generatedClass = new GeneratedClass(internalName);
+        GeneratedMethod previous = null;
+        for (int i = 0; i < membersPerClass; i++) {
+            if (i % 4 == 3) {
+                generatedClass.fields.add(new String[]{"field" + i, randomType(random)});
+                continue;
+            }
+            GeneratedMethod method;
+            if (previous != null && random.nextDouble() < overloadDensity) {
+                // One more parameter than the previous overload keeps the signatures unique
+                List<String> parameters = new ArrayList<>(previous.parameters);
+                parameters.add(randomType(random));
+                method = new GeneratedMethod(previous.name, parameters, randomReturnType(random));
+            } else {
+                List<String> parameters = new ArrayList<>();
+                for (int p = random.nextInt(3); p > 0; p--) {
+                    parameters.add(randomType(random));
+                }
+                method = new GeneratedMethod("method" + i, parameters, randomReturnType(random));
+            }
+            if (random.nextDouble() < annotationDensity) {
+                method.annotations.put(DEPRECATED, Map.of("since", "1"));
+            }
+            generatedClass.methods.add(method);
+            previous = method;
+        }
+        return generatedClass;
+    }
+
+    private Mutation pickMutation(Random random) {
+        int totalWeight = mutationWeights.values().stream().mapToInt(Integer::intValue).sum();
+        int pick = random.nextInt(totalWeight);
+        for (Map.Entry<Mutation, Integer> entry : mutationWeights.entrySet()) {
+            pick -= entry.getValue();
+            if (pick < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("No mutation picked");
+    }
+
+    /**
+     * Changes the first method, or the last one when a method is removed. The original is adjusted as well when the
+     * mutation needs an annotation that is not there yet.
+     */
+    private static GeneratedClass mutate(GeneratedClass original, Mutation mutation) {
+        GeneratedClass changed = original.copy();
+        GeneratedMethod first = changed.methods.get(0);
+        switch (mutation) {
+            case ADD_METHOD:
+                changed.methods.add(new GeneratedMethod("added", List.of(), "V"));
+                break;
+            case REMOVE_METHOD:
+                changed.methods.remove(changed.methods.size() - 1);
+                break;
+            case CHANGE_SIGNATURE:
+                first.returnType = first.returnType.equals("V") ? "I" : "V";
+                break;
+            case ADD_ANNOTATION:
+                first.annotations.put(SAFE_VARARGS, Map.of());
+                break;
+            case REMOVE_ANNOTATION:
+                original.methods.get(0).annotations.putIfAbsent(DEPRECATED, Map.of("since", "1"));
+                first.annotations.remove(DEPRECATED);
+                break;
+            case CHANGE_ANNOTATION:
+                original.methods.get(0).annotations.put(DEPRECATED, Map.of("since", "1"));
+                first.annotations.put(DEPRECATED, Map.of("since", "2"));
+                break;
+            case CHANGE_BYTES:
+                changed.constructorPadding = 1;
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown mutation " + mutation);
+        }
+        return changed;
+    }
+
+    private static String randomType(Random random) {
+        return TYPES[random.nextInt(TYPES.length)];
+    }
+
+    private static String randomReturnType(Random random) {
+        int index = random.nextInt(TYPES.length + 1);
+        return index == TYPES.length ? "V" : TYPES[index];
+    }
+
+    private static JarOutputStream open(File file) throws IOException {
+        JarOutputStream out = new JarOutputStream(new BufferedOutputStream(Files.newOutputStream(file.toPath()), 64 * 1024));
+        out.setLevel(Deflater.BEST_SPEED);
+        Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        out.putNextEntry(entry(JarFile.MANIFEST_NAME));
+        manifest.write(out);
+        out.closeEntry();
+        return out;
+    }
+
+    private static void write(JarOutputStream out, String entryName, byte[] bytes) throws IOException {
+        out.putNextEntry(entry(entryName));
+        out.write(bytes);
+        out.closeEntry();
+    }
+
+    /**
+     * An entry with a fixed time, so generating the same jar twice gives the same bytes.
+     */
+    private static JarEntry entry(String name) {
+        JarEntry entry = new JarEntry(name);
+        entry.setTime(ENTRY_TIME);
+        return entry;
+    }
+
+    /**
+     * What was changed in the generated new jar.
+     */
+    static final class Result {
+        private final Map<Mutation, Integer> mutationCounts;
+
+        private Result(Map<Mutation, Integer> mutationCounts) {
+            this.mutationCounts = mutationCounts;
+        }
+
+        int getMutationCount(Mutation mutation) {
+            return mutationCounts.getOrDefault(mutation, 0);
+        }
+
+        int getMutatedClassCount() {
+            return mutationCounts.values().stream().mapToInt(Integer::intValue).sum();
+        }
+
+        /**
+         * @return the {@link SemVerType} the checker should determine with the default annotation strategies
+         */
+        SemVerType getExpectedSemVerType() {
+            SemVerType result = SemVerType.NONE;
+            for (Mutation mutation : mutationCounts.keySet()) {
+                result = SemVerType.updateResult(result, mutation.getSemVerType());
+            }
+            return result;
+        }
+    }
+
+    private static final class GeneratedPair {
+        private final String entryName;
+        private final byte[] original;
+        private final byte[] changed;
+        private final Mutation mutation;
+
+        private GeneratedPair(String entryName, byte[] original, byte[] changed, Mutation mutation) {
+            this.entryName = entryName;
+            this.original = original;
+            this.changed = changed;
+            this.mutation = mutation;
+        }
+    }
+
+    private static final class GeneratedClass {
+        private final String internalName;
+        private final List<String[]> fields = new ArrayList<>();
+        private final List<GeneratedMethod> methods = new ArrayList<>();
+        private int constructorPadding;
+
+        private GeneratedClass(String internalName) {
+            this.internalName = internalName;
+        }
+
+        private GeneratedClass copy() {
+            GeneratedClass copy = new GeneratedClass(internalName);
+            copy.fields.addAll(fields);
+            for (GeneratedMethod method : methods) {
+                copy.methods.add(method.copy());
+            }
+            copy.constructorPadding = constructorPadding;
+            return copy;
+        }
+
+        private byte[] toByteArray() {
+            ClassFileWriter writer = new ClassFileWriter(ACC_PUBLIC | ACC_SUPER, internalName, OBJECT);
+            for (String[] field : fields) {
+                writer.addField(ACC_PUBLIC, field[0], field[1]);
+            }
+            writer.addDefaultConstructor(OBJECT, constructorPadding);
+            for (GeneratedMethod method : methods) {
+                writer.addMethod(ACC_PUBLIC, method.name, method.getDescriptor(), method.annotations);
+            }
+            return writer.toByteArray();
+        }
+    }
+
+    private static final class GeneratedMethod {
+        private final String name;
+        private final List<String> parameters;
+        private String returnType;
+        private final Map<String, Map<String, String>> annotations = new LinkedHashMap<>();
+
+        private GeneratedMethod(String name, List<String> parameters, String returnType) {
+            this.name = name;
+            this.parameters = parameters;
+            this.returnType = returnType;
+        }
+
+        private GeneratedMethod copy() {
+            GeneratedMethod copy = new GeneratedMethod(name, parameters, returnType);
+            copy.annotations.putAll(annotations);
+            return copy;
+        }
+
+        private String getDescriptor() {
+            return "(" + String.join("", parameters) + ")" + returnType;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package io.github.jagodevreede.semver.check.core;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.JarFile;
+
+import static io.github.jagodevreede.semver.check.core.SemVerType.MAJOR;
+import static io.github.jagodevreede.semver.check.core.SemVerType.MINOR;
+import static io.github.jagodevreede.semver.check.core.SemVerType.NONE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SyntheticJarGeneratorTest {
+
+    @TempDir
+    Path directory;
+
+    @ParameterizedTest
+    @EnumSource(SyntheticJarGenerator.Mutation.class)
+    void generate_mutationIsDetected(SyntheticJarGenerator.Mutation mutation) throws Exception {
+        File original = directory.resolve("original.jar").toFile();
+        File newJar = directory.resolve("new.jar").toFile();
+
+        SyntheticJarGenerator.Result result = new SyntheticJarGenerator()
+                .withClassCount(20)
+                .withMutationRatio(1)
+                .withMutationMix(Map.of(mutation, 1))
+                .generate(original, newJar);
+
+        assertThat(result.getMutationCount(mutation)).isEqualTo(20);
+        assertThat(result.getExpectedSemVerType()).isEqualTo(mutation.getSemVerType());
+        for (ApiModelMode apiModelMode : ApiModelMode.values()) {
+            assertThat(new SemVerChecker(original, newJar, configuration(apiModelMode)).determineSemVerType())
+                    .as(apiModelMode.name())
+                    .isEqualTo(mutation.getSemVerType());
+        }
+    }
+
+    @Test
+    void generate_withoutMutationsIsIdentical() throws Exception {
+        File original = directory.resolve("original.jar").toFile();
+        File newJar = directory.resolve("new.jar").toFile();
+
+        SyntheticJarGenerator.Result result = new SyntheticJarGenerator().withClassCount(200).generate(original, newJar);
+
+        assertThat(result.getMutatedClassCount()).isZero();
+        assertThat(result.getExpectedSemVerType()).isEqualTo(NONE);
+        assertThat(new SemVerChecker(original, newJar, configuration(ApiModelMode.BYTECODE)).determineSemVerType()).isEqualTo(NONE);
+    }
+
+    @Test
+    void generate_isReproducible() throws Exception {
+        SyntheticJarGenerator generator = new SyntheticJarGenerator()
+                .withClassCount(3000)
+                .withMembersPerClass(20)
+                .withOverloadDensity(0.5)
+                .withAnnotationDensity(0.5)
+                .withPackages(7, 4)
+                .withMutationRatio(0.05)
+                .withSeed(42);
+
+        SyntheticJarGenerator.Result first = generator.generate(directory.resolve("a.jar").toFile(), directory.resolve("b.jar").toFile());
+        SyntheticJarGenerator.Result second = generator.generate(directory.resolve("c.jar").toFile(), directory.resolve("d.jar").toFile());
+
+        assertThat(first.getMutatedClassCount()).isBetween(100, 200).isEqualTo(second.getMutatedClassCount());
+        assertThat(Files.readAllBytes(directory.resolve("b.jar"))).isEqualTo(Files.readAllBytes(directory.resolve("d.jar")));
+        try (JarFile jarFile = new JarFile(directory.resolve("a.jar").toFile())) {
+            assertThat(jarFile.getEntry("level1/level2/level3/p6/Class2999.class")).isNotNull();
+        }
+        assertThat(new SemVerChecker(directory.resolve("a.jar").toFile(), directory.resolve("b.jar").toFile(), configuration(ApiModelMode.BYTECODE))
+                .determineSemVerType()).isEqualTo(first.getExpectedSemVerType());
+    }
+
+    private static Configuration configuration(ApiModelMode apiModelMode) {
+        return new Configuration(List.of(), List.of(), List.of(), List.of(), MINOR, MAJOR, apiModelMode);
+    }
+}
@@ -0,0 +1,60 @@
+package io.github.jagodevreede.semver.check.maven;
+
+import io.github.jagodevreede.semver.check.core.CacheFiles;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the resolved dependencies of released baselines on disk, as a <code>groupId:artifactId:version</code> per
+ * line. A released version does not change, so its dependencies only have to be resolved once per machine. Entries
+ * are stored as <code>dependencies/mode/groupId/artifactId/version[-classifier].dependencies</code> in the cache
+ * directory, as the {@link DependencyCheckMode} determines which dependencies are in it.
+ * <p>
+ * An entry is written once and never changes afterwards, see {@link CacheFiles#writeLines(Path, List)} for builds that
+ * resolve the same baseline at the same time.
+ */
+final class BaselineDependencyCache {
+    private static final String ENTRY_SUFFIX = ".dependencies";
+
+    private final Path directory;
+
+    /**
+     * @param directory the cache directory, the entries are stored in a <code>dependencies</code> directory in it
+     */
+    BaselineDependencyCache(File directory, DependencyCheckMode mode) {
+        this.directory = directory.toPath().resolve("dependencies").resolve(mode.name().toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * @return the cached dependencies, or <code>null</code> if they are not cached
+     */
+    List<String> get(String groupId, String artifactId, String version, String classifier) {
+        try {
+            return Files.readAllLines(getEntry(groupId, artifactId, version, classifier), StandardCharsets.UTF_8).stream()
+                    .filter(line -> !line.isBlank())
+                    .collect(Collectors.toList());
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            // An unreadable entry is resolved again and overwritten
+            return null;
+        }
+    }
+
+    void put(String groupId, String artifactId, String version, String classifier, List<String> dependencies) throws IOException {
+        CacheFiles.writeLines(getEntry(groupId, artifactId, version, classifier), dependencies);
+    }
+
+    private Path getEntry(String groupId, String artifactId, String version, String classifier) {
+        String fileName = classifier == null || classifier.isEmpty() ? version : version + "-" + classifier;
+        return directory.resolve(groupId).resolve(artifactId).resolve(fileName + ENTRY_SUFFIX);
+    }
+}
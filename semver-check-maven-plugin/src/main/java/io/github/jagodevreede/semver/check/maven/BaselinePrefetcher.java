@@ -0,0 +1,190 @@
+package io.github.jagodevreede.semver.check.maven;
+
+import io.github.jagodevreede.semver.check.core.RuntimeClasspathCache;
+import org.apache.maven.AbstractMavenLifecycleParticipant;
+import org.apache.maven.RepositoryUtils;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.util.xml.Xpp3Dom;
+import org.eclipse.aether.RepositoryException;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.SessionData;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.resolution.ArtifactRequest;
+import org.eclipse.aether.resolution.VersionRangeRequest;
+import org.eclipse.aether.version.Version;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Resolves the latest version and the baseline jar of every module that is checked as soon as the projects of the
+ * build are read, on a few threads at the same time, so they are ready by the time the check of a module runs. Only
+ * active when the plugin is added with <code>&lt;extensions&gt;true&lt;/extensions&gt;</code>.
+ * <p>
+ * Only done when the build runs the check: when the requested phases reach the phase an execution of the check is
+ * bound to, or when the goal is invoked directly. Only the configuration on the plugin itself is taken into account,
+ * a module is not prefetched when it sets <code>skip</code> or <code>versionResolutionLocalOnly</code> there.
+ * <p>
+ * It also shares the runtime classpath between the checks of the modules, its jars are closed when the session ends.
+ */
+@Named("semver-check-baseline-prefetcher")
+@Singleton
+public class BaselinePrefetcher extends AbstractMavenLifecycleParticipant {
+    private static final Logger log = LoggerFactory.getLogger(BaselinePrefetcher.class);
+    static final String PLUGIN_KEY = "io.github.jagodevreede:semver-check-maven-plugin";
+    private static final String GOAL_PREFIX = "semver-check:";
+    private static final String GOAL = "check";
+    private static final int MAX_THREADS = 8;
+    private static final List<String> DEFAULT_LIFECYCLE_PHASES = List.of("validate", "initialize", "generate-sources",
+            "process-sources", "generate-resources", "process-resources", "compile", "process-classes",
+            "generate-test-sources", "process-test-sources", "generate-test-resources", "process-test-resources",
+            "test-compile", "process-test-classes", "test", "prepare-package", "package", "pre-integration-test",
+            "integration-test", "post-integration-test", "verify", "install", "deploy");
+
+    private final RepositorySystem repositorySystem;
+
+    @Inject
+    public BaselinePrefetcher(RepositorySystem repositorySystem) {
+        this.repositorySystem = repositorySystem;
+    }
+
+    @Override
+    public void afterProjectsRead(MavenSession session) {
+        session.getRepositorySession().getData().set(RuntimeClasspathCache.class, new RuntimeClasspathCache());
+        List<String> tasks = getTasks(session);
+        boolean checkInvoked = tasks.stream().anyMatch(BaselinePrefetcher::isCheckGoal);
+        int lastPhase = tasks.stream().mapToInt(DEFAULT_LIFECYCLE_PHASES::indexOf).max().orElse(-1);
+        List<MavenProject> projects = session.getProjects().stream()
+                .filter(project -> !"pom".equals(project.getPackaging()))
+                .filter(project -> getPlugin(project) != null)
+                .filter(project -> checkInvoked || isCheckReached(getPlugin(project), lastPhase))
+                .filter(project -> !getBoolean(getPlugin(project), "skip", false))
+                .filter(project -> !getBoolean(getPlugin(project), "versionResolutionLocalOnly", false))
+                .collect(Collectors.toList());
+        if (projects.isEmpty()) {
+            return;
+        }
+        log.info("Prefetching the SemVer baseline of {} modules", projects.size());
+        RepositorySystemSession repositorySession = session.getRepositorySession();
+        PrefetchedBaselines baselines = PrefetchedBaselines.of(repositorySession);
+        ExecutorService executor = newExecutor(Math.min(projects.size(), MAX_THREADS));
+        for (MavenProject project : projects) {
+            boolean ignoreSnapshots = getBoolean(getPlugin(project), "ignoreSnapshots", true);
+            baselines.put(project.getGroupId(), project.getArtifactId(), CompletableFuture.supplyAsync(() -> {
+                try {
+                    return resolve(repositorySession, project, ignoreSnapshots);
+                } catch (RepositoryException e) {
+                    log.debug("Unable to prefetch the baseline of {}: {}", project.getArtifactId(), e.getMessage());
+                    throw new CompletionException(e);
+                }
+            }, executor));
+        }
+        // The threads end once the submitted baselines are resolved
+        executor.shutdown();
+    }
+
+    @Override
+    public void afterSessionEnd(MavenSession session) {
+        SessionData data = session.getRepositorySession().getData();
+        RuntimeClasspathCache cache = getRuntimeClasspathCache(session.getRepositorySession());
+        if (cache != null && data.set(RuntimeClasspathCache.class, cache, null)) {
+            try {
+                cache.close();
+            } catch (IOException e) {
+                log.debug("Unable to close the runtime classpath of the SemVer check: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * @return the runtime classpath shared by the checks of all modules of the session, or <code>null</code> when the
+     * plugin is not added as an extension, the checks then open and close the runtime classpath themselves
+     */
+    static RuntimeClasspathCache getRuntimeClasspathCache(RepositorySystemSession session) {
+        return (RuntimeClasspathCache) session.getData().get(RuntimeClasspathCache.class);
+    }
+
+    // Visible for testing
+    PrefetchedBaselines.Baseline resolve(RepositorySystemSession session, MavenProject project, boolean ignoreSnapshots) throws RepositoryException {
+        Artifact artifact = RepositoryUtils.toArtifact(project.getArtifact());
+        List<String> versions = repositorySystem
+                .resolveVersionRange(session, new VersionRangeRequest(artifact.setVersion("(,)"), project.getRemotePluginRepositories(), "lookupArtifactVersions"))
+                .getVersions()
+                .stream()
+                .map(Version::toString)
+                .collect(Collectors.toList());
+        List<Version> candidates = SemVerMojo.getCandidateVersions(versions, ignoreSnapshots, project.getArtifact().getBaseVersion());
+        if (candidates.isEmpty()) {
+            return new PrefetchedBaselines.Baseline(versions, null, null);
+        }
+        String version = candidates.get(candidates.size() - 1).toString();
+        File file = repositorySystem
+                .resolveArtifact(session, new ArtifactRequest(artifact.setVersion(version), project.getRemoteProjectRepositories(), null))
+                .getArtifact()
+                .getFile();
+        return new PrefetchedBaselines.Baseline(versions, version, file);
+    }
+
+    /**
+     * @return the requested goals and phases, or the default goal of the project when none are given, like the
+     * lifecycle executor determines them
+     */
+    private static List<String> getTasks(MavenSession session) {
+        List<String> goals = session.getGoals();
+        if ((goals == null || goals.isEmpty()) && session.getTopLevelProject() != null && session.getTopLevelProject().getDefaultGoal() != null) {
+            return List.of(session.getTopLevelProject().getDefaultGoal().trim().split("\\s+"));
+        }
+        return goals == null ? List.of() : goals;
+    }
+
+    private static boolean isCheckGoal(String task) {
+        return task.endsWith(":" + GOAL) && (task.startsWith(GOAL_PREFIX) || task.startsWith(PLUGIN_KEY + ":"));
+    }
+
+    /**
+     * @param lastPhase the index of the last requested phase of the default lifecycle, -1 if there is none
+     */
+    private static boolean isCheckReached(Plugin plugin, int lastPhase) {
+        return plugin.getExecutions().stream()
+                .filter(execution -> execution.getGoals().contains(GOAL))
+                .map(execution -> DEFAULT_LIFECYCLE_PHASES.indexOf(execution.getPhase() == null ? "verify" : execution.getPhase()))
+                .anyMatch(phase -> phase >= 0 && phase <= lastPhase);
+    }
+
+    private static Plugin getPlugin(MavenProject project) {
+        return project.getPlugin(PLUGIN_KEY);
+    }
+
+    private static boolean getBoolean(Plugin plugin, String name, boolean defaultValue) {
+        Xpp3Dom configuration = (Xpp3Dom) plugin.getConfiguration();
+        Xpp3Dom child = configuration == null ? null : configuration.getChild(name);
+        if (child == null || child.getValue() == null) {
+            return defaultValue;
+        }
+        return Boolean.parseBoolean(child.getValue().trim());
+    }
+
+    private static ExecutorService newExecutor(int threads) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "semver-check-prefetch-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -0,0 +1,29 @@
+package io.github.jagodevreede.semver.check.maven;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for resolving the jar of the version that is compared against.
+ */
+@Name("io.github.jagodevreede.semver.check.BaselineResolution")
+@Label("Baseline Resolution")
+@Description("Resolves the jar of the last known version")
+@Category({"SemVer Check", "Maven"})
+@StackTrace(false)
+final class BaselineResolutionEvent extends Event {
+    @Label("Artifact")
+    String artifact;
+
+    @Label("Baseline Version")
+    String baselineVersion;
+
+    @Label("Size")
+    @DataAmount
+    long size;
+}
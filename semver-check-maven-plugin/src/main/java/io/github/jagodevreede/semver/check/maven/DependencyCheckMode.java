@@ -0,0 +1,16 @@
+package io.github.jagodevreede.semver.check.maven;
+
+/**
+ * Which dependencies of the previous version are compared with the dependencies of the project.
+ */
+public enum DependencyCheckMode {
+    /**
+     * Only the dependencies declared in the pom of the previous version, with its properties, parents and dependency
+     * management applied. No dependency is resolved, only the poms are read.
+     */
+    DIRECT,
+    /**
+     * All dependencies of the previous version, resolved transitively. This is the default.
+     */
+    TRANSITIVE
+}
@@ -0,0 +1,33 @@
+package io.github.jagodevreede.semver.check.maven;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for comparing the dependencies of the project with the ones of the last known version.
+ */
+@Name("io.github.jagodevreede.semver.check.DependencyComparison")
+@Label("Dependency Comparison")
+@Description("Compares the dependencies with the ones of the last known version")
+@Category({"SemVer Check", "Maven"})
+@StackTrace(false)
+final class DependencyComparisonEvent extends Event {
+    @Label("Artifact")
+    String artifact;
+
+    @Label("Baseline Version")
+    String baselineVersion;
+
+    @Label("Baseline Dependencies")
+    int baselineDependencyCount;
+
+    @Label("Project Dependencies")
+    int projectDependencyCount;
+
+    @Label("SemVer Type")
+    String semVerType;
+}
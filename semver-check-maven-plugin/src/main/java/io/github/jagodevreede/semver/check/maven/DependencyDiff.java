@@ -0,0 +1,48 @@
+package io.github.jagodevreede.semver.check.maven;
+
+import io.github.jagodevreede.semver.check.core.SemVerType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The differences between the dependencies of the baseline and of the project. Both sides are given as a map from
+ * <code>groupId:artifactId</code> to the version, so each dependency is matched with a single lookup.
+ */
+final class DependencyDiff {
+    private final List<String> changes;
+
+    private DependencyDiff(List<String> changes) {
+        this.changes = changes;
+    }
+
+    static DependencyDiff compare(Map<String, String> baselineDependencies, Map<String, String> projectDependencies) {
+        List<String> changes = new ArrayList<>();
+        for (Map.Entry<String, String> baselineDependency : baselineDependencies.entrySet()) {
+            String projectVersion = projectDependencies.get(baselineDependency.getKey());
+            if (projectVersion == null) {
+                changes.add(String.format("Dependency %s is no longer a dependency", baselineDependency.getKey()));
+            } else if (!projectVersion.equals(baselineDependency.getValue())) {
+                changes.add(String.format("Dependency %s was version %s and is now %s", baselineDependency.getKey(), baselineDependency.getValue(), projectVersion));
+            }
+        }
+        for (String projectDependency : projectDependencies.keySet()) {
+            if (!baselineDependencies.containsKey(projectDependency)) {
+                changes.add(String.format("Dependency %s is a new dependency", projectDependency));
+            }
+        }
+        return new DependencyDiff(changes);
+    }
+
+    /**
+     * @return a description of every change, removed and changed dependencies first
+     */
+    List<String> getChanges() {
+        return changes;
+    }
+
+    SemVerType getSemVerType() {
+        return changes.isEmpty() ? SemVerType.NONE : SemVerType.PATCH;
+    }
+}
@@ -0,0 +1,58 @@
+package io.github.jagodevreede.semver.check.maven;
+
+import org.apache.maven.artifact.repository.metadata.Metadata;
+import org.apache.maven.artifact.repository.metadata.io.xpp3.MetadataXpp3Reader;
+import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reads the versions of an artifact from the metadata in the local repository, without contacting any remote
+ * repository: <code>maven-metadata-local.xml</code> lists the versions that were installed, and a
+ * <code>maven-metadata-&lt;repository&gt;.xml</code> the versions a remote repository had when it was last checked.
+ */
+final class LocalRepositoryVersions {
+
+    private LocalRepositoryVersions() {
+    }
+
+    /**
+     * @return the versions in all metadata files of the artifact, files that cannot be read are skipped
+     */
+    static List<String> read(File localRepositoryDirectory, String groupId, String artifactId) throws IOException {
+        Path artifactDirectory = localRepositoryDirectory.toPath()
+                .resolve(groupId.replace('.', File.separatorChar))
+                .resolve(artifactId);
+        Set<String> versions = new LinkedHashSet<>();
+        try (DirectoryStream<Path> metadataFiles = Files.newDirectoryStream(artifactDirectory, "maven-metadata*.xml")) {
+            for (Path metadataFile : metadataFiles) {
+                versions.addAll(readVersions(metadataFile));
+            }
+        } catch (NoSuchFileException e) {
+            return List.of();
+        }
+        return new ArrayList<>(versions);
+    }
+
+    private static List<String> readVersions(Path metadataFile) throws IOException {
+        try (InputStream in = Files.newInputStream(metadataFile)) {
+            Metadata metadata = new MetadataXpp3Reader().read(in, false);
+            if (metadata.getVersioning() == null) {
+                return List.of();
+            }
+            return metadata.getVersioning().getVersions();
+        } catch (XmlPullParserException e) {
+            return List.of();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package io.github.jagodevreede.semver.check.maven;
+
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.SessionData;
+
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * The baselines the {@link BaselinePrefetcher} resolves for the modules of the build, shared with the checks of the
+ * modules through the data of the repository session. Thread-safe.
+ */
+final class PrefetchedBaselines {
+    private final Map<String, CompletableFuture<Baseline>> baselines = new ConcurrentHashMap<>();
+
+    /**
+     * @return the baselines of the session, an empty instance is added when there are none yet
+     */
+    static PrefetchedBaselines of(RepositorySystemSession session) {
+        SessionData data = session.getData();
+        PrefetchedBaselines baselines = (PrefetchedBaselines) data.get(PrefetchedBaselines.class);
+        if (baselines == null) {
+            PrefetchedBaselines newBaselines = new PrefetchedBaselines();
+            baselines = data.set(PrefetchedBaselines.class, null, newBaselines) ? newBaselines : (PrefetchedBaselines) data.get(PrefetchedBaselines.class);
+        }
+        return baselines;
+    }
+
+    void put(String groupId, String artifactId, CompletableFuture<Baseline> baseline) {
+        baselines.put(groupId + ":" + artifactId, baseline);
+    }
+
+    /**
+     * Waits until the baseline of the artifact is resolved.
+     *
+     * @return the baseline, or <code>null</code> if it is not prefetched
+     * @throws ExecutionException if the baseline could not be resolved
+     */
+    Baseline await(String groupId, String artifactId) throws ExecutionException {
+        CompletableFuture<Baseline> baseline = baselines.get(groupId + ":" + artifactId);
+        if (baseline == null) {
+            return null;
+        }
+        try {
+            return baseline.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    static final class Baseline {
+        private final List<String> versions;
+        private final String version;
+        private final File file;
+
+        Baseline(List<String> versions, String version, File file) {
+            this.versions = List.copyOf(versions);
+            this.version = version;
+            this.file = file;
+        }
+
+        /**
+         * @return all versions found in the repositories, like {@link SemVerMojo} resolves them
+         */
+        List<String> getVersions() {
+            return versions;
+        }
+
+        /**
+         * @return the latest version, or <code>null</code> if there is no version to compare with
+         */
+        String getVersion() {
+            return version;
+        }
+
+        File getFile() {
+            return file;
+        }
+    }
+}
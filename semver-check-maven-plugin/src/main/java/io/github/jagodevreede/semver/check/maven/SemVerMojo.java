@@ -1,9 +1,15 @@
 package io.github.jagodevreede.semver.check.maven;
 
+import io.github.jagodevreede.semver.check.core.ApiModelCache;
+import io.github.jagodevreede.semver.check.core.ApiModelMode;
+import io.github.jagodevreede.semver.check.core.CheckMetrics;
 import io.github.jagodevreede.semver.check.core.Configuration;
+import io.github.jagodevreede.semver.check.core.NameFilter;
+import io.github.jagodevreede.semver.check.core.RuntimeClasspathCache;
 import io.github.jagodevreede.semver.check.core.SemVerChecker;
 import io.github.jagodevreede.semver.check.core.SemVerType;
 import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.ArtifactUtils;
 import org.apache.maven.artifact.DefaultArtifact;
 import org.apache.maven.artifact.repository.ArtifactRepository;
 import org.apache.maven.artifact.resolver.ArtifactResolutionRequest;
@@ -12,6 +18,7 @@ import org.apache.maven.artifact.versioning.ArtifactVersion;
 import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
 import org.apache.maven.execution.MavenSession;
 import org.apache.maven.model.Dependency;
+import org.apache.maven.model.building.ModelBuildingRequest;
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugins.annotations.LifecyclePhase;
@@ -20,6 +27,8 @@ import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.plugins.annotations.ResolutionScope;
 import org.apache.maven.project.DefaultProjectBuildingRequest;
 import org.apache.maven.project.MavenProject;
+import org.apache.maven.project.ProjectBuilder;
+import org.apache.maven.project.ProjectBuildingException;
 import org.apache.maven.project.ProjectBuildingRequest;
 import org.apache.maven.repository.RepositorySystem;
 import org.apache.maven.settings.Settings;
@@ -27,9 +36,14 @@ import org.apache.maven.shared.transfer.artifact.resolve.ArtifactResult;
 import org.apache.maven.shared.transfer.dependencies.DefaultDependableCoordinate;
 import org.apache.maven.shared.transfer.dependencies.resolve.DependencyResolver;
 import org.apache.maven.shared.transfer.dependencies.resolve.DependencyResolverException;
+import org.eclipse.aether.SessionData;
+import org.eclipse.aether.repository.RemoteRepository;
 import org.eclipse.aether.resolution.VersionRangeRequest;
 import org.eclipse.aether.resolution.VersionRangeResolutionException;
+import org.eclipse.aether.util.version.GenericVersionScheme;
+import org.eclipse.aether.version.InvalidVersionSpecificationException;
 import org.eclipse.aether.version.Version;
+import org.eclipse.aether.version.VersionScheme;
 
 import javax.inject.Inject;
 import java.io.File;
@@ -38,7 +52,17 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
@@ -47,6 +71,8 @@ import static org.apache.maven.RepositoryUtils.toArtifact;
 @Mojo(name = "check", defaultPhase = LifecyclePhase.VERIFY, threadSafe = true, requiresDependencyResolution = ResolutionScope.COMPILE)
 public class SemVerMojo extends AbstractMojo {
     private static final List<String> RESOLVABLE_SCOPES = List.of("compile", "runtime");
+    private static final VersionScheme VERSION_SCHEME = new GenericVersionScheme();
+    private static final String NEXT_VERSIONS_OF_PARENTS = "io.github.jagodevreede.semver.check.nextVersionsOfParents";
     @Parameter(defaultValue = "${project}", readonly = true, required = true)
     MavenProject project;
 
@@ -120,6 +146,75 @@ public class SemVerMojo extends AbstractMojo {
     @Parameter(property = "annotationRemovedStrategy", defaultValue = "PATCH")
     SemVerType annotationRemovedStrategy;
 
+    /**
+     * How the API of the classes is determined.
+     * Possible values: BYTECODE (reads the class files directly), REFLECTION (loads the classes).
+     * Default is BYTECODE.
+     */
+    @Parameter(property = "apiModelMode", defaultValue = "BYTECODE")
+    ApiModelMode apiModelMode;
+
+    /**
+     * The number of threads used to compare the classes of the jars.
+     * Default is 1, which compares the classes on the build thread.
+     */
+    @Parameter(property = "threads", defaultValue = "1")
+    int threads;
+
+    /**
+     * If set to `true` then the check stops as soon as the SemVer type can no longer change, for example at the first
+     * major change. The remaining changes are then not logged.
+     */
+    @Parameter(property = "earlyExit", defaultValue = "false")
+    boolean earlyExit;
+
+    /**
+     * If set to `true` then the API model of the previous version is cached between builds, in the
+     * `apiModelCacheDirectory`.
+     */
+    @Parameter(property = "apiModelCache", defaultValue = "false")
+    boolean apiModelCache;
+
+    /**
+     * If set to `true` then the resolved dependencies of a released previous version are cached between builds, in the
+     * `apiModelCacheDirectory`.
+     */
+    @Parameter(property = "baselineDependencyCache", defaultValue = "false")
+    boolean baselineDependencyCache;
+
+    /**
+     * The directory of the API model cache. Default is `semver-check-cache` next to the local repository.
+     */
+    @Parameter(property = "apiModelCacheDirectory")
+    File apiModelCacheDirectory;
+
+    /**
+     * The maximum size of the API model cache in megabytes, the least recently used entries are removed first.
+     */
+    @Parameter(property = "apiModelCacheMaxSize", defaultValue = "256")
+    long apiModelCacheMaxSize;
+
+    /**
+     * The name of the file the metrics of the check are written to as JSON, located in the `target` folder. If the
+     * property is left empty then no file will be created.
+     */
+    @Parameter(property = "metricsFileName", defaultValue = "semver-check-metrics.json")
+    String metricsFileName;
+
+    /**
+     * The number of minutes the versions resolved from the remote repositories are cached in the
+     * `apiModelCacheDirectory`. Default is 0, which resolves the versions on every build.
+     */
+    @Parameter(property = "versionCacheTimeToLive", defaultValue = "0")
+    long versionCacheTimeToLive;
+
+    /**
+     * If set to `true` then the versions are only looked up in the metadata of the local repository and in the cached
+     * versions, and the previous version is only taken from the local repository. The check fails if it is missing.
+     */
+    @Parameter(property = "versionResolutionLocalOnly", defaultValue = "false")
+    boolean versionResolutionLocalOnly;
+
     /**
      * Only uses packages in the list and ignores any others, can be a comma separated list or a list of includePackage.
      * Values are a regex pattern.
@@ -145,6 +240,17 @@ public class SemVerMojo extends AbstractMojo {
     @Parameter(property = "excludeDependencies")
     String[] excludeDependencies;
 
+    /**
+     * Which dependencies of the previous version are compared.
+     * Possible values: DIRECT (only the dependencies in its pom), TRANSITIVE (all resolved dependencies).
+     * Default is TRANSITIVE.
+     */
+    @Parameter(property = "dependencyCheckMode", defaultValue = "TRANSITIVE")
+    DependencyCheckMode dependencyCheckMode;
+
+    private final Map<String, Boolean> excludedDependencies = new ConcurrentHashMap<>();
+    private NameFilter excludeDependencyFilter;
+
     private final RepositorySystem repoSystem;
 
     private final DependencyResolver dependencyResolver;
@@ -160,11 +266,14 @@ public class SemVerMojo extends AbstractMojo {
 
     private final org.eclipse.aether.RepositorySystem aetherRepositorySystem;
 
+    private final ProjectBuilder projectBuilder;
+
     @Inject
-    public SemVerMojo(RepositorySystem repoSystem, DependencyResolver dependencyResolver, org.eclipse.aether.RepositorySystem aetherRepositorySystem) {
+    public SemVerMojo(RepositorySystem repoSystem, DependencyResolver dependencyResolver, org.eclipse.aether.RepositorySystem aetherRepositorySystem, ProjectBuilder projectBuilder) {
         this.repoSystem = repoSystem;
         this.dependencyResolver = dependencyResolver;
         this.aetherRepositorySystem = aetherRepositorySystem;
+        this.projectBuilder = projectBuilder;
     }
 
     public void execute() throws MojoExecutionException {
@@ -197,7 +306,18 @@ public class SemVerMojo extends AbstractMojo {
         if (getLog().isDebugEnabled() && excludePackages != null) {
             getLog().debug("Excluded packages are " + getExcludePackages());
         }
-        List<Version> artifactVersions = getArtifactVersions(artifact);
+        CheckMetrics metrics = new CheckMetrics();
+        long start = System.nanoTime();
+        String artifactName = artifact.getGroupId() + ":" + artifact.getArtifactId() + ":" + artifact.getVersion();
+        metrics.setAttribute("artifact", artifactName);
+        VersionResolutionEvent versionEvent = new VersionResolutionEvent();
+        versionEvent.begin();
+        List<Version> artifactVersions = metrics.time("versionResolution", () -> getArtifactVersions(artifact));
+        if (versionEvent.shouldCommit()) {
+            versionEvent.artifact = artifactName;
+            versionEvent.versionCount = artifactVersions.size();
+            versionEvent.commit();
+        }
         SemVerType semVerType = SemVerType.NONE;
         String artifactVersion;
         if (artifactVersions.isEmpty()) {
@@ -205,7 +325,17 @@ public class SemVerMojo extends AbstractMojo {
             artifactVersion = artifact.getVersion();
         } else {
             artifactVersion = artifactVersions.get(artifactVersions.size() - 1).toString();
-            File fileAttachedToLastKnowVersion = getLastVersion(artifact, artifactVersion);
+            metrics.setAttribute("baselineVersion", artifactVersion);
+            String lastKnownVersion = artifactVersion;
+            BaselineResolutionEvent baselineEvent = new BaselineResolutionEvent();
+            baselineEvent.begin();
+            File fileAttachedToLastKnowVersion = metrics.time("baselineResolution", () -> getLastVersion(artifact, lastKnownVersion));
+            if (baselineEvent.shouldCommit()) {
+                baselineEvent.artifact = artifactName;
+                baselineEvent.baselineVersion = lastKnownVersion;
+                baselineEvent.size = fileAttachedToLastKnowVersion.length();
+                baselineEvent.commit();
+            }
             if (!fileAttachedToLastKnowVersion.exists()) {
                 getLog().warn("Artifact " + artifactVersion + " has no attached file?");
             } else {
@@ -213,13 +343,32 @@ public class SemVerMojo extends AbstractMojo {
                 List<String> runtimeClasspathElements = project.getArtifacts().stream().map(a -> a.getFile().getAbsolutePath()).collect(Collectors.toList());
                 getLog().debug("Runtime classpath elements are " + String.join(", ", runtimeClasspathElements));
 
-                Configuration configuration = new Configuration(getIncludePackages(), getExcludePackages(), getExcludeFiles(), runtimeClasspathElements, annotationAddedStrategy, annotationRemovedStrategy);
-                SemVerChecker semVerChecker = new SemVerChecker(fileAttachedToLastKnowVersion, fileInTarget, configuration);
-                semVerType = semVerChecker.determineSemVerType();
+                Configuration configuration = new Configuration(getIncludePackages(), getExcludePackages(), getExcludeFiles(), runtimeClasspathElements, annotationAddedStrategy, annotationRemovedStrategy, apiModelMode);
+                try (SemVerChecker semVerChecker = new SemVerChecker(fileAttachedToLastKnowVersion, fileInTarget, configuration)) {
+                    semVerChecker.setThreads(threads);
+                    semVerChecker.setEarlyExit(earlyExit);
+                    semVerChecker.setMetrics(metrics);
+                    RuntimeClasspathCache runtimeClasspathCache = BaselinePrefetcher.getRuntimeClasspathCache(mavenSession.getRepositorySession());
+                    if (runtimeClasspathCache != null) {
+                        semVerChecker.setRuntimeClasspathCache(runtimeClasspathCache);
+                    }
+                    if (apiModelCache) {
+                        semVerChecker.setApiModelCache(new ApiModelCache(getApiModelCacheDirectory(), apiModelCacheMaxSize * 1024 * 1024));
+                    }
+                    semVerType = semVerChecker.check().getSemVerType();
+                }
 
                 if (SemVerType.NONE.equals(semVerType) && !skipDependencyCheck) {
+                    DependencyComparisonEvent dependencyEvent = new DependencyComparisonEvent();
+                    dependencyEvent.begin();
                     try {
-                        semVerType = compareDependencies(artifact, artifactVersion);
+                        semVerType = metrics.time("dependencyComparison", () -> compareDependencies(artifact, lastKnownVersion, dependencyEvent));
+                        if (dependencyEvent.shouldCommit()) {
+                            dependencyEvent.artifact = artifactName;
+                            dependencyEvent.baselineVersion = lastKnownVersion;
+                            dependencyEvent.semVerType = semVerType.name();
+                            dependencyEvent.commit();
+                        }
                     } catch (DependencyResolverException e) {
                         getLog().info("Unable to resolve artifact due to: " + e.getMessage());
                     }
@@ -230,6 +379,10 @@ public class SemVerMojo extends AbstractMojo {
         SemVerType currentSemVerType = getCurrentSemVerType(artifactVersion, new DefaultArtifactVersion(artifact.getVersion()));
         getLog().info("Determined SemVer type as " + semVerType.toLowerCaseString() + " and is currently " + currentSemVerType.toLowerCaseString() +
                 ", next version should be: " + nextVersion);
+        metrics.setAttribute("semVerType", semVerType.toLowerCaseString());
+        metrics.setAttribute("nextVersion", nextVersion);
+        metrics.addPhase("total", System.nanoTime() - start);
+        reportMetrics(metrics);
         failOnIncorrectVersion(semVerType, currentSemVerType);
         if (SemVerType.NONE.equals(semVerType) && !writeFileOnNone) {
             return;
@@ -237,64 +390,136 @@ public class SemVerMojo extends AbstractMojo {
         writeOutputFile(nextVersion);
     }
 
-    private SemVerType compareDependencies(Artifact artifact, String artifactVersion) throws DependencyResolverException {
-        List<Artifact> artifactDependencies = getArtifactResults(artifact, artifactVersion);
-        List<Dependency> projectDependencies = project.getDependencies().stream()
-                .filter(d -> RESOLVABLE_SCOPES.contains(d.getScope()))
-                .filter(d -> !isExcludedDependency(d.getGroupId(), d.getArtifactId()))
-                .collect(Collectors.toList());
+    private void reportMetrics(CheckMetrics metrics) {
+        getLog().info("SemVer check phases: " + metrics.getPhaseNanos().entrySet().stream()
+                .map(phase -> phase.getKey() + " " + toMillis(phase.getValue()))
+                .collect(Collectors.joining(", ")));
+        if (metrics.getCounter("classesCommon") + metrics.getCounter("classesAdded") + metrics.getCounter("classesRemoved") > 0) {
+            getLog().info("Compared " + metrics.getCounter("classesCompared") + " classes with " + metrics.getCounter("membersCompared") + " members, skipped "
+                    + metrics.getCounter("classesSkippedByteIdentical") + " byte identical, "
+                    + metrics.getCounter("classesSkippedExcluded") + " excluded and "
+                    + metrics.getCounter("classesSkippedEarlyExit") + " by early exit");
+        }
+        if (!metrics.getSlowestClasses().isEmpty()) {
+            getLog().info("Slowest classes: " + metrics.getSlowestClasses().stream()
+                    .map(timing -> timing.getClassName() + " " + toMillis(timing.getNanos()))
+                    .collect(Collectors.joining(", ")));
+        }
+        if (metricsFileName != null && !metricsFileName.isEmpty()) {
+            writeMetricsFile(project, metrics);
+        }
+    }
 
-        for (Artifact artifactResult : artifactDependencies) {
-            boolean found = false;
-            for (Dependency projectDependency : projectDependencies) {
-                if (projectDependency.getGroupId().equals(artifactResult.getGroupId()) &&
-                        projectDependency.getArtifactId().equals(artifactResult.getArtifactId())) {
-                    if (!projectDependency.getVersion().equals(artifactResult.getVersion())) {
-                        getLog().info(String.format("Dependency %s:%s was version %s and is now %s", projectDependency.getGroupId(), projectDependency.getArtifactId(), artifactResult.getVersion(), projectDependency.getVersion()));
-                        return SemVerType.PATCH;
-                    }
-                    found = true;
-                    break;
-                }
-            }
-            if (!found) {
-                getLog().info(String.format("Dependency %s:%s is no longer a dependency", artifactResult.getGroupId(), artifactResult.getArtifactId()));
-                return SemVerType.PATCH;
-            }
+    private static String toMillis(long nanos) {
+        return String.format(Locale.ROOT, "%.1f ms", nanos / 1_000_000.0);
+    }
+
+    // Visible for testing
+    void writeMetricsFile(MavenProject mavenProject, CheckMetrics metrics) {
+        File outputDirectory = new File(mavenProject.getBuild().getDirectory());
+        outputDirectory.mkdirs();
+        try {
+            Files.writeString(new File(outputDirectory, metricsFileName).toPath(), metrics.toJson(), UTF_8);
+        } catch (IOException e) {
+            getLog().warn("Unable to write the metrics of the SemVer check: " + e.getMessage());
         }
+    }
 
-        for (Dependency projectDependency : projectDependencies) {
-            boolean found = false;
-            for (Artifact artifactResult : artifactDependencies) {
-                if (projectDependency.getGroupId().equals(artifactResult.getGroupId()) &&
-                        projectDependency.getArtifactId().equals(artifactResult.getArtifactId())) {
-                    found = true;
-                    break;
-                }
-            }
-            if (!found) {
-                getLog().info(String.format("Dependency %s:%s is a new dependency", projectDependency.getGroupId(), projectDependency.getArtifactId()));
-                return SemVerType.PATCH;
+    private SemVerType compareDependencies(Artifact artifact, String artifactVersion, DependencyComparisonEvent event) throws DependencyResolverException {
+        Map<String, String> baselineDependencies = getBaselineDependencies(artifact, artifactVersion);
+        Map<String, String> projectDependencies = new LinkedHashMap<>();
+        for (Dependency dependency : project.getDependencies()) {
+            if (RESOLVABLE_SCOPES.contains(dependency.getScope()) && !isExcludedDependency(dependency.getGroupId(), dependency.getArtifactId())) {
+                projectDependencies.put(dependency.getGroupId() + ":" + dependency.getArtifactId(), dependency.getVersion());
             }
         }
+        event.baselineDependencyCount = baselineDependencies.size();
+        event.projectDependencyCount = projectDependencies.size();
 
-        return SemVerType.NONE;
+        DependencyDiff dependencyDiff = DependencyDiff.compare(baselineDependencies, projectDependencies);
+        dependencyDiff.getChanges().forEach(getLog()::info);
+        return dependencyDiff.getSemVerType();
     }
 
     private boolean isExcludedDependency(String groupId, String artifactId) {
-        String name = groupId + ":" + artifactId;
         if (excludeDependencies == null) {
             return false;
         }
-        for (String e : excludeDependencies) {
-            if (name.matches(e)) {
-                return true;
+        if (excludeDependencyFilter == null) {
+            excludeDependencyFilter = new NameFilter(Arrays.stream(excludeDependencies).map(Pattern::compile).collect(Collectors.toList()));
+        }
+        return excludedDependencies.computeIfAbsent(groupId + ":" + artifactId, excludeDependencyFilter::matches);
+    }
+
+    /**
+     * @return the version of each dependency of the baseline by <code>groupId:artifactId</code>
+     */
+    // Visible for testing
+    Map<String, String> getBaselineDependencies(Artifact artifact, String artifactVersion) throws DependencyResolverException {
+        // Only the dependencies of a release never change
+        BaselineDependencyCache cache = baselineDependencyCache && !ArtifactUtils.isSnapshot(artifactVersion) ? new BaselineDependencyCache(getApiModelCacheDirectory(), dependencyCheckMode) : null;
+        List<String> dependencies = cache == null ? null : cache.get(artifact.getGroupId(), artifact.getArtifactId(), artifactVersion, artifact.getClassifier());
+        if (dependencies != null) {
+            getLog().debug("Using the cached dependencies of version " + artifactVersion);
+        } else {
+            dependencies = dependencyCheckMode == DependencyCheckMode.DIRECT ? readDeclaredDependencies(artifact, artifactVersion) : resolveDependencies(artifact, artifactVersion);
+            if (cache != null) {
+                try {
+                    cache.put(artifact.getGroupId(), artifact.getArtifactId(), artifactVersion, artifact.getClassifier(), dependencies);
+                } catch (IOException e) {
+                    getLog().warn("Unable to cache the dependencies of version " + artifactVersion + ": " + e.getMessage());
+                }
+            }
+        }
+        Map<String, String> result = new LinkedHashMap<>();
+        for (String dependency : dependencies) {
+            String[] coordinate = dependency.split(":");
+            if (!artifact.getGroupId().equals(coordinate[0]) &&
+                    !artifact.getArtifactId().equals(coordinate[1]) &&
+                    !isExcludedDependency(coordinate[0], coordinate[1])) {
+                result.put(coordinate[0] + ":" + coordinate[1], coordinate[2]);
             }
         }
-        return false;
+        return result;
+    }
+
+    /**
+     * @return the dependencies of the baseline as <code>groupId:artifactId:version</code>
+     */
+    private List<String> resolveDependencies(Artifact artifact, String artifactVersion) throws DependencyResolverException {
+        Iterable<ArtifactResult> artifactResult = dependencyResolver.resolveDependencies(getBaselineBuildingRequest(), toCoordinate(artifact, artifactVersion), null);
+        List<String> dependencies = new ArrayList<>();
+        for (ArtifactResult a : artifactResult) {
+            Artifact resolveArtifact = a.getArtifact();
+            dependencies.add(resolveArtifact.getGroupId() + ":" + resolveArtifact.getArtifactId() + ":" + resolveArtifact.getVersion());
+        }
+        return dependencies;
     }
 
-    private List<Artifact> getArtifactResults(Artifact artifact, String artifactVersion) throws DependencyResolverException {
+    /**
+     * Only reads the poms of the baseline and its parents and imports, none of the dependencies are resolved.
+     *
+     * @return the dependencies in the effective pom of the baseline as <code>groupId:artifactId:version</code>
+     */
+    private List<String> readDeclaredDependencies(Artifact artifact, String artifactVersion) throws DependencyResolverException {
+        ProjectBuildingRequest buildingRequest = getBaselineBuildingRequest();
+        buildingRequest.setResolveDependencies(false);
+        buildingRequest.setProcessPlugins(false);
+        buildingRequest.setValidationLevel(ModelBuildingRequest.VALIDATION_LEVEL_MINIMAL);
+        Artifact pomArtifact = repoSystem.createProjectArtifact(artifact.getGroupId(), artifact.getArtifactId(), artifactVersion);
+        MavenProject baselineProject;
+        try {
+            baselineProject = projectBuilder.build(pomArtifact, buildingRequest).getProject();
+        } catch (ProjectBuildingException e) {
+            throw new DependencyResolverException("Unable to read the pom of version " + artifactVersion + ": " + e.getMessage(), e);
+        }
+        return baselineProject.getDependencies().stream()
+                .filter(d -> RESOLVABLE_SCOPES.contains(d.getScope()))
+                .map(d -> d.getGroupId() + ":" + d.getArtifactId() + ":" + d.getVersion())
+                .collect(Collectors.toList());
+    }
+
+    private ProjectBuildingRequest getBaselineBuildingRequest() {
         List<ArtifactRepository> repoList = new ArrayList<>(remoteArtifactRepositories);
 
         ProjectBuildingRequest buildingRequest =
@@ -306,18 +531,7 @@ public class SemVerMojo extends AbstractMojo {
         repoSystem.injectAuthentication(repoList, settings.getServers());
 
         buildingRequest.setRemoteRepositories(repoList);
-
-        Iterable<ArtifactResult> artifactResult = dependencyResolver.resolveDependencies(buildingRequest, toCoordinate(artifact, artifactVersion), null);
-        List<Artifact> artifactResultList = new ArrayList<>();
-        for (ArtifactResult a : artifactResult) {
-            Artifact resolveArtifact = a.getArtifact();
-            if (!artifact.getGroupId().equals(resolveArtifact.getGroupId()) &&
-                    !artifact.getArtifactId().equals(resolveArtifact.getArtifactId()) &&
-                    !isExcludedDependency(resolveArtifact.getGroupId(), resolveArtifact.getArtifactId())) {
-                artifactResultList.add(resolveArtifact);
-            }
-        }
-        return artifactResultList;
+        return buildingRequest;
     }
 
     private DefaultDependableCoordinate toCoordinate(Artifact artifact, String artifactVersion) {
@@ -364,6 +578,13 @@ public class SemVerMojo extends AbstractMojo {
         }
     }
 
+    private File getApiModelCacheDirectory() {
+        if (apiModelCacheDirectory != null) {
+            return apiModelCacheDirectory;
+        }
+        return new File(new File(localRepository.getBasedir()).getParentFile(), "semver-check-cache");
+    }
+
     private List<String> getIncludePackages() {
         if (includePackages == null) {
             return List.of();
@@ -402,25 +623,70 @@ public class SemVerMojo extends AbstractMojo {
 
     // Visible for testing
     void updateParentOutputFile(String nextVersion, MavenProject mavenProject) throws MojoExecutionException {
-        String combinedNextVersion = nextVersion;
-        ArtifactVersion nextArtifactVersion = new DefaultArtifactVersion(nextVersion);
         File outputFileOfProject = new File(mavenProject.getBuild().getDirectory(), outputFileName);
-        if (outputFileOfProject.exists()) {
+        MojoExecutionException[] failure = new MojoExecutionException[1];
+        // Modules that are built in parallel all update the file of their parent, so it is combined and written while
+        // holding its entry
+        getNextVersionsOfParents().compute(outputFileOfProject.toPath().toAbsolutePath().normalize().toString(), (file, highestNextVersion) -> {
+            String combinedNextVersion = getCombinedNextVersion(nextVersion, highestNextVersion == null ? readOutputFile(outputFileOfProject) : highestNextVersion);
             try {
-                String contentOfParent = Files.readString(outputFileOfProject.toPath());
-                ArtifactVersion nextArtifactVersionOfParent = new DefaultArtifactVersion(contentOfParent);
-                if (nextArtifactVersionOfParent.compareTo(nextArtifactVersion) > 0) {
-                    combinedNextVersion = contentOfParent;
-                }
-            } catch (IOException ioe) {
-                getLog().error("Unable to read " + outputFileOfProject.getAbsolutePath());
+                writeFile(mavenProject, combinedNextVersion);
+            } catch (MojoExecutionException e) {
+                failure[0] = e;
+                return highestNextVersion;
             }
+            return combinedNextVersion;
+        });
+        if (failure[0] != null) {
+            throw failure[0];
+        }
+    }
+
+    /**
+     * The highest next version written to the output file of each parent in this build. It is kept in the data of the
+     * repository session, with JDK types only, so the plugin in every class realm of the build uses the same one.
+     */
+    @SuppressWarnings("unchecked")
+    private ConcurrentMap<String, String> getNextVersionsOfParents() {
+        SessionData data = mavenSession.getRepositorySession().getData();
+        ConcurrentMap<String, String> nextVersions = (ConcurrentMap<String, String>) data.get(NEXT_VERSIONS_OF_PARENTS);
+        if (nextVersions == null) {
+            ConcurrentMap<String, String> newNextVersions = new ConcurrentHashMap<>();
+            nextVersions = data.set(NEXT_VERSIONS_OF_PARENTS, null, newNextVersions) ? newNextVersions : (ConcurrentMap<String, String>) data.get(NEXT_VERSIONS_OF_PARENTS);
+        }
+        return nextVersions;
+    }
+
+    /**
+     * @return the content of the file, or <code>null</code> if it does not exist or could not be read
+     */
+    private String readOutputFile(File outputFileOfProject) {
+        if (!outputFileOfProject.exists()) {
+            return null;
+        }
+        try {
+            return Files.readString(outputFileOfProject.toPath());
+        } catch (IOException ioe) {
+            getLog().error("Unable to read " + outputFileOfProject.getAbsolutePath());
+            return null;
         }
-        writeFile(mavenProject, combinedNextVersion);
     }
 
-    private File getLastVersion(Artifact artifact, String artifactVersion) throws MojoExecutionException {
+    private static String getCombinedNextVersion(String nextVersion, String nextVersionOfParent) {
+        if (nextVersionOfParent != null && new DefaultArtifactVersion(nextVersionOfParent).compareTo(new DefaultArtifactVersion(nextVersion)) > 0) {
+            return nextVersionOfParent;
+        }
+        return nextVersion;
+    }
+
+    // Visible for testing
+    File getLastVersion(Artifact artifact, String artifactVersion) throws MojoExecutionException {
         getLog().debug("Using version " + artifactVersion + " to resolve");
+        PrefetchedBaselines.Baseline prefetchedBaseline = getPrefetchedBaseline(artifact);
+        if (prefetchedBaseline != null && artifactVersion.equals(prefetchedBaseline.getVersion()) && prefetchedBaseline.getFile() != null) {
+            getLog().debug("Using the prefetched baseline " + prefetchedBaseline.getFile());
+            return prefetchedBaseline.getFile();
+        }
 
         Artifact aetherArtifact = new DefaultArtifact(
                 artifact.getGroupId(),
@@ -433,10 +699,14 @@ public class SemVerMojo extends AbstractMojo {
 
         ArtifactResolutionResult resolutionResult = repoSystem.resolve(new ArtifactResolutionRequest()
                 .setLocalRepository(localRepository)
-                .setRemoteRepositories(this.remoteArtifactRepositories)
+                .setRemoteRepositories(versionResolutionLocalOnly ? List.of() : this.remoteArtifactRepositories)
                 .setResolveTransitively(false)
                 .setResolveRoot(true)
                 .setArtifact(aetherArtifact));
+        if (!resolutionResult.isSuccess() && versionResolutionLocalOnly) {
+            throw new MojoExecutionException("Version " + artifactVersion + " of " + artifact.getGroupId() + ":" + artifact.getArtifactId()
+                    + " is not in the local repository, and is not downloaded as versionResolutionLocalOnly is set");
+        }
         if (!resolutionResult.isSuccess()) {
             throw new MojoExecutionException("Unable to to resolve");
         }
@@ -467,27 +737,110 @@ public class SemVerMojo extends AbstractMojo {
         return nextVersion;
     }
 
-    private List<Version> getArtifactVersions(Artifact artifact) throws VersionRangeResolutionException {
-        getLog().info("Looking up versions of " + artifact.getGroupId() + ":" + artifact.getArtifactId());
-        return aetherRepositorySystem
+    // Visible for testing
+    List<Version> getArtifactVersions(Artifact artifact) throws VersionRangeResolutionException {
+        return getCandidateVersions(getVersionList(artifact), ignoreSnapshots, artifact.getBaseVersion());
+    }
+
+    /**
+     * @return the versions that can be used as baseline, from old to new
+     */
+    static List<Version> getCandidateVersions(List<String> versions, boolean ignoreSnapshots, String baseVersion) {
+        List<Version> candidates = new ArrayList<>();
+        for (String version : versions) {
+            // Without snapshots the version being built is never a candidate, otherwise it is skipped explicitly
+            if (ignoreSnapshots ? version.endsWith("-SNAPSHOT") : version.equals(baseVersion)) {
+                continue;
+            }
+            try {
+                candidates.add(VERSION_SCHEME.parseVersion(version));
+            } catch (InvalidVersionSpecificationException e) {
+                // Not a version the repository system could have returned, so never a baseline
+            }
+        }
+        candidates.sort(null);
+        return candidates;
+    }
+
+    private List<String> getVersionList(Artifact artifact) throws VersionRangeResolutionException {
+        String artifactName = artifact.getGroupId() + ":" + artifact.getArtifactId();
+        List<RemoteRepository> repositories = mavenSession.getCurrentProject().getRemotePluginRepositories();
+        String key = VersionListCache.getKey(artifact.getGroupId(), artifact.getArtifactId(), repositories);
+        if (versionResolutionLocalOnly) {
+            getLog().info("Looking up versions of " + artifactName + " in the local repository");
+            Set<String> versions = new LinkedHashSet<>();
+            try {
+                versions.addAll(LocalRepositoryVersions.read(new File(localRepository.getBasedir()), artifact.getGroupId(), artifact.getArtifactId()));
+            } catch (IOException e) {
+                getLog().warn("Unable to read the metadata of " + artifactName + " in the local repository: " + e.getMessage());
+            }
+            List<String> cachedVersions = getVersionListCache().get(key, VersionListCache.ANY_AGE);
+            if (cachedVersions != null) {
+                versions.addAll(cachedVersions);
+            }
+            return new ArrayList<>(versions);
+        }
+        PrefetchedBaselines.Baseline prefetchedBaseline = getPrefetchedBaseline(artifact);
+        if (prefetchedBaseline != null) {
+            getLog().info("Using the prefetched versions of " + artifactName);
+            return prefetchedBaseline.getVersions();
+        }
+        if (versionCacheTimeToLive > 0) {
+            List<String> cachedVersions = getVersionListCache().get(key, TimeUnit.MINUTES.toMillis(versionCacheTimeToLive));
+            if (cachedVersions != null) {
+                getLog().info("Using cached versions of " + artifactName);
+                return cachedVersions;
+            }
+        }
+        getLog().info("Looking up versions of " + artifactName);
+        List<String> versions = aetherRepositorySystem
                 .resolveVersionRange(
                         mavenSession.getRepositorySession(),
                         new VersionRangeRequest(
                                 toArtifact(artifact)
                                         .setVersion("(,)"),
-                                mavenSession.getCurrentProject().getRemotePluginRepositories(),
+                                repositories,
                                 "lookupArtifactVersions"))
                 .getVersions()
                 .stream()
-                .filter(v -> {
-                    if (ignoreSnapshots) {
-                        return !v.toString().endsWith("-SNAPSHOT");
-                    }
-                    // Ignore self in selecting other versions
-                    return !v.toString().equals(artifact.getBaseVersion());
-                })
-                .sorted()
+                .map(Version::toString)
                 .collect(Collectors.toList());
+        if (versionCacheTimeToLive > 0) {
+            try {
+                getVersionListCache().put(key, versions);
+            } catch (IOException e) {
+                getLog().warn("Unable to cache the versions of " + artifactName + ": " + e.getMessage());
+            }
+        }
+        return versions;
+    }
+
+    /**
+     * @return the baseline the {@link BaselinePrefetcher} resolved, or <code>null</code> if it did not (successfully)
+     */
+    private PrefetchedBaselines.Baseline getPrefetchedBaseline(Artifact artifact) {
+        try {
+            return PrefetchedBaselines.of(mavenSession.getRepositorySession()).await(artifact.getGroupId(), artifact.getArtifactId());
+        } catch (ExecutionException e) {
+            getLog().debug("Prefetching the baseline failed, resolving it again: " + e.getCause().getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Like the runtime classpath, the cached versions are shared by all modules of the build through the data of the
+     * repository session.
+     */
+    private VersionListCache getVersionListCache() {
+        File directory = getApiModelCacheDirectory();
+        SessionData data = mavenSession.getRepositorySession().getData();
+        VersionListCache cache = (VersionListCache) data.get(VersionListCache.class);
+        if (cache == null) {
+            VersionListCache newCache = new VersionListCache(directory);
+            cache = data.set(VersionListCache.class, null, newCache) ? newCache : (VersionListCache) data.get(VersionListCache.class);
+        }
+        // A module with a cache directory of its own does not share the entries
+        return cache.getDirectory().equals(directory) ? cache : new VersionListCache(directory);
     }
 
     private void haltOnCondition(boolean condition, String message) throws MojoExecutionException, HaltException {
@@ -0,0 +1,105 @@
+package io.github.jagodevreede.semver.check.maven;
+
+import io.github.jagodevreede.semver.check.core.CacheFiles;
+import org.eclipse.aether.repository.RemoteRepository;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the versions of an artifact that were resolved from the remote repositories, so the version range does not
+ * have to be resolved against every repository on each build. An entry is a file with a version per line, keyed by
+ * the SHA-256 of the groupId, artifactId and the remote repositories, and its modification time is the moment the
+ * versions were resolved. Entries that were read once are kept in memory for the rest of the session.
+ * <p>
+ * An entry that is too old is resolved again and replaced, other builds reading it at the same time see the old or the
+ * new versions, see {@link CacheFiles#writeLines(Path, List)}.
+ */
+final class VersionListCache {
+    /**
+     * Maximum age that accepts an entry no matter when it was resolved.
+     */
+    static final long ANY_AGE = Long.MAX_VALUE;
+    private static final String ENTRY_SUFFIX = ".versions";
+
+    private final Path directory;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * @param directory the directory the entries are stored in, it is created when needed
+     */
+    VersionListCache(File directory) {
+        this.directory = directory.toPath();
+    }
+
+    File getDirectory() {
+        return directory.toFile();
+    }
+
+    static String getKey(String groupId, String artifactId, List<RemoteRepository> repositories) {
+        String repositoryIds = repositories.stream()
+                .map(repository -> repository.getId() + "=" + repository.getUrl())
+                .sorted()
+                .collect(Collectors.joining(","));
+        return CacheFiles.sha256((groupId + ":" + artifactId + "@" + repositoryIds).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param maxAgeMillis the maximum time since the versions were resolved, or {@link #ANY_AGE}
+     * @return the cached versions, or <code>null</code> if there is no entry that is recent enough
+     */
+    List<String> get(String key, long maxAgeMillis) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            entry = read(key);
+            if (entry == null) {
+                return null;
+            }
+            entries.put(key, entry);
+        }
+        if (maxAgeMillis != ANY_AGE && System.currentTimeMillis() - entry.resolvedAt > maxAgeMillis) {
+            return null;
+        }
+        return entry.versions;
+    }
+
+    void put(String key, List<String> versions) throws IOException {
+        Entry entry = new Entry(List.copyOf(versions), System.currentTimeMillis());
+        entries.put(key, entry);
+        CacheFiles.writeLines(directory.resolve(key + ENTRY_SUFFIX), entry.versions);
+    }
+
+    private Entry read(String key) {
+        Path file = directory.resolve(key + ENTRY_SUFFIX);
+        try {
+            long resolvedAt = Files.getLastModifiedTime(file).toMillis();
+            List<String> versions = Files.readAllLines(file, StandardCharsets.UTF_8).stream()
+                    .filter(line -> !line.isBlank())
+                    .collect(Collectors.toUnmodifiableList());
+            return new Entry(versions, resolvedAt);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            // An unreadable entry is resolved again and overwritten
+            return null;
+        }
+    }
+
+    private static final class Entry {
+        private final List<String> versions;
+        private final long resolvedAt;
+
+        private Entry(List<String> versions, long resolvedAt) {
+            this.versions = versions;
+            this.resolvedAt = resolvedAt;
+        }
+    }
+}
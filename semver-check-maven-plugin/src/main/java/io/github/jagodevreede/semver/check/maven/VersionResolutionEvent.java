@@ -0,0 +1,24 @@
+package io.github.jagodevreede.semver.check.maven;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for looking up the released versions of the artifact.
+ */
+@Name("io.github.jagodevreede.semver.check.VersionResolution")
+@Label("Version Range Resolution")
+@Description("Looks up the other versions of the artifact")
+@Category({"SemVer Check", "Maven"})
+@StackTrace(false)
+final class VersionResolutionEvent extends Event {
+    @Label("Artifact")
+    String artifact;
+
+    @Label("Versions")
+    int versionCount;
+}
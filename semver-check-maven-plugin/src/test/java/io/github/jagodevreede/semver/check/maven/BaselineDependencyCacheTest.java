@@ -0,0 +1,26 @@
+package io.github.jagodevreede.semver.check.maven;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BaselineDependencyCacheTest {
+
+    @TempDir
+    Path cacheDirectory;
+
+    @Test
+    void get_returnsStoredDependenciesOfVersion() throws Exception {
+        new BaselineDependencyCache(cacheDirectory.toFile(), DependencyCheckMode.TRANSITIVE).put("group", "id", "1.0.0", null, List.of("org.slf4j:slf4j-api:2.0.17", "com.acme:lib:1.0"));
+        BaselineDependencyCache subject = new BaselineDependencyCache(cacheDirectory.toFile(), DependencyCheckMode.TRANSITIVE);
+
+        assertThat(subject.get("group", "id", "1.0.0", null)).containsExactly("org.slf4j:slf4j-api:2.0.17", "com.acme:lib:1.0");
+        assertThat(subject.get("group", "id", "1.0.1", null)).isNull();
+        assertThat(subject.get("group", "id", "1.0.0", "tests")).isNull();
+        assertThat(new BaselineDependencyCache(cacheDirectory.toFile(), DependencyCheckMode.DIRECT).get("group", "id", "1.0.0", null)).isNull();
+    }
+}
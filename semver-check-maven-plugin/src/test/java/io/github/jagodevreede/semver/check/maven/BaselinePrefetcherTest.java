@@ -0,0 +1,128 @@
+package io.github.jagodevreede.semver.check.maven;
+
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Build;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.model.PluginExecution;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.repository.internal.MavenRepositorySystemUtils;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.installation.InstallRequest;
+import org.eclipse.aether.repository.LocalRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BaselinePrefetcherTest {
+
+    @TempDir
+    Path localRepository;
+
+    private final RepositorySystem repositorySystem = MavenRepositorySystemUtils.newServiceLocator().getService(RepositorySystem.class);
+    private final DefaultRepositorySystemSession repositorySession = MavenRepositorySystemUtils.newSession();
+
+    @Test
+    void afterProjectsRead_resolvesLatestReleaseOfCheckedModules() throws Exception {
+        MavenSession session = session(List.of("clean", "install"));
+
+        new BaselinePrefetcher(repositorySystem).afterProjectsRead(session);
+
+        PrefetchedBaselines baselines = PrefetchedBaselines.of(repositorySession);
+        PrefetchedBaselines.Baseline baseline = baselines.await("group", "module");
+        assertThat(baseline.getVersions()).containsExactly("1.0.0", "1.1.0", "1.2.0-SNAPSHOT");
+        assertThat(baseline.getVersion()).isEqualTo("1.1.0");
+        assertThat(baseline.getFile()).hasContent("module 1.1.0");
+        assertThat(baselines.await("group", "parent")).isNull();
+        assertThat(baselines.await("group", "unchecked")).isNull();
+        assertThat(baselines.await("group", "unbound")).isNull();
+    }
+
+    @Test
+    void afterProjectsRead_skipsBuildThatDoesNotReachCheck() throws Exception {
+        MavenSession session = session(List.of("clean", "test"));
+
+        new BaselinePrefetcher(repositorySystem).afterProjectsRead(session);
+
+        assertThat(PrefetchedBaselines.of(repositorySession).await("group", "module")).isNull();
+    }
+
+    @Test
+    void afterProjectsRead_resolvesAllModulesWithPluginWhenCheckIsInvoked() throws Exception {
+        MavenSession session = session(List.of("semver-check:check"));
+
+        new BaselinePrefetcher(repositorySystem).afterProjectsRead(session);
+
+        PrefetchedBaselines baselines = PrefetchedBaselines.of(repositorySession);
+        assertThat(baselines.await("group", "module").getVersion()).isEqualTo("1.1.0");
+        assertThat(baselines.await("group", "unbound").getVersion()).isEqualTo("1.1.0");
+        assertThat(baselines.await("group", "unchecked")).isNull();
+    }
+
+    @Test
+    void afterSessionEnd_removesSharedRuntimeClasspath() {
+        MavenSession session = mock(MavenSession.class);
+        when(session.getRepositorySession()).thenReturn(repositorySession);
+        when(session.getProjects()).thenReturn(List.of());
+        BaselinePrefetcher prefetcher = new BaselinePrefetcher(null);
+
+        prefetcher.afterProjectsRead(session);
+        assertThat(BaselinePrefetcher.getRuntimeClasspathCache(repositorySession)).isNotNull();
+        prefetcher.afterSessionEnd(session);
+
+        assertThat(BaselinePrefetcher.getRuntimeClasspathCache(repositorySession)).isNull();
+    }
+
+    private MavenSession session(List<String> goals) throws Exception {
+        repositorySession.setLocalRepositoryManager(repositorySystem.newLocalRepositoryManager(repositorySession, new LocalRepository(localRepository.toFile())));
+        for (String version : List.of("1.0.0", "1.1.0", "1.2.0-SNAPSHOT")) {
+            for (String artifactId : List.of("module", "unchecked", "unbound")) {
+                install(artifactId, version);
+            }
+        }
+        MavenSession session = mock(MavenSession.class);
+        when(session.getRepositorySession()).thenReturn(repositorySession);
+        when(session.getGoals()).thenReturn(goals);
+        when(session.getProjects()).thenReturn(List.of(project("module", "jar", true, true), project("parent", "pom", true, true),
+                project("unchecked", "jar", false, false), project("unbound", "jar", true, false)));
+        return session;
+    }
+
+    private void install(String artifactId, String version) throws Exception {
+        File jar = Files.writeString(Files.createTempFile(localRepository, artifactId, ".jar"), artifactId + " " + version).toFile();
+        repositorySystem.install(repositorySession, new InstallRequest()
+                .addArtifact(new org.eclipse.aether.artifact.DefaultArtifact("group", artifactId, "jar", version).setFile(jar)));
+    }
+
+    private static MavenProject project(String artifactId, String packaging, boolean withPlugin, boolean withExecution) {
+        MavenProject project = new MavenProject();
+        project.setGroupId("group");
+        project.setArtifactId(artifactId);
+        project.setVersion("1.2.0-SNAPSHOT");
+        project.setPackaging(packaging);
+        project.setArtifact(new DefaultArtifact("group", artifactId, "1.2.0-SNAPSHOT", null, packaging, null, new DefaultArtifactHandler(packaging)));
+        project.getModel().setBuild(new Build());
+        if (withPlugin) {
+            Plugin plugin = new Plugin();
+            plugin.setGroupId("io.github.jagodevreede");
+            plugin.setArtifactId("semver-check-maven-plugin");
+            if (withExecution) {
+                PluginExecution execution = new PluginExecution();
+                execution.addGoal("check");
+                plugin.addExecution(execution);
+            }
+            project.getBuild().addPlugin(plugin);
+        }
+        return project;
+    }
+}
@@ -0,0 +1,35 @@
+package io.github.jagodevreede.semver.check.maven;
+
+import io.github.jagodevreede.semver.check.core.SemVerType;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DependencyDiffTest {
+
+    @Test
+    void compare_reportsEveryChange() {
+        Map<String, String> baseline = Map.of("org.slf4j:slf4j-api", "2.0.16", "com.acme:removed", "1.0", "com.acme:same", "1.0");
+        Map<String, String> project = Map.of("org.slf4j:slf4j-api", "2.0.17", "com.acme:same", "1.0", "com.acme:added", "2.0");
+
+        DependencyDiff subject = DependencyDiff.compare(baseline, project);
+
+        assertThat(subject.getChanges()).containsExactlyInAnyOrder(
+                "Dependency org.slf4j:slf4j-api was version 2.0.16 and is now 2.0.17",
+                "Dependency com.acme:removed is no longer a dependency",
+                "Dependency com.acme:added is a new dependency");
+        assertThat(subject.getSemVerType()).isEqualTo(SemVerType.PATCH);
+    }
+
+    @Test
+    void compare_noChanges() {
+        Map<String, String> dependencies = Map.of("org.slf4j:slf4j-api", "2.0.17");
+
+        DependencyDiff subject = DependencyDiff.compare(dependencies, Map.copyOf(dependencies));
+
+        assertThat(subject.getChanges()).isEmpty();
+        assertThat(subject.getSemVerType()).isEqualTo(SemVerType.NONE);
+    }
+}
@@ -1,27 +1,54 @@
 package io.github.jagodevreede.semver.check.maven;
 
+import io.github.jagodevreede.semver.check.core.CheckMetrics;
 import io.github.jagodevreede.semver.check.core.SemVerType;
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.DefaultArtifact;
 import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.artifact.repository.ArtifactRepository;
+import org.apache.maven.artifact.resolver.ArtifactResolutionResult;
 import org.apache.maven.artifact.versioning.ArtifactVersion;
 import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Build;
+import org.apache.maven.model.Dependency;
 import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.project.DefaultProjectBuildingRequest;
 import org.apache.maven.project.MavenProject;
+import org.apache.maven.project.ProjectBuilder;
+import org.apache.maven.project.ProjectBuildingRequest;
+import org.apache.maven.project.ProjectBuildingResult;
 import org.apache.maven.repository.RepositorySystem;
+import org.apache.maven.settings.Settings;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.DefaultSessionData;
+import org.eclipse.aether.version.Version;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,6 +60,9 @@ class SemVerMojoTest {
     @Mock
     RepositorySystem repoSystem;
 
+    @Mock
+    ProjectBuilder projectBuilder;
+
     @Spy
     @InjectMocks
     SemVerMojo subject;
@@ -44,7 +74,7 @@ class SemVerMojoTest {
 
     @Test
     void noProjectShouldFail() {
-        subject = new SemVerMojo(null, null, null);
+        subject = new SemVerMojo(null, null, null, null);
         subject.haltOnFailure = true;
         assertThatThrownBy(() -> subject.execute())
                 .isInstanceOf(MojoExecutionException.class)
@@ -68,6 +98,7 @@ class SemVerMojoTest {
     void compareWithParentShouldGiveCorrectResult(String currentProjectVersion, String versionOfParent, String excepted) throws MojoExecutionException {
         when(project.getBuild().getDirectory()).thenReturn(new File("target/").getAbsolutePath());
         subject.outputFileName = "parent";
+        subject.mavenSession = newSession();
         subject.writeFile(project, versionOfParent);
 
         doNothing().when(subject).writeFile(any(), stringCaptor.capture());
@@ -77,6 +108,50 @@ class SemVerMojoTest {
         assertThat(stringCaptor.getValue()).isEqualTo(excepted);
     }
 
+    @Test
+    void updateParentOutputFile_concurrentModulesKeepHighestVersion(@TempDir Path outputDirectory) throws Exception {
+        int moduleCount = 64;
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            for (int round = 0; round < 20; round++) {
+                MavenSession session = newSession();
+                MavenProject parent = new MavenProject();
+                parent.getModel().setBuild(new Build());
+                parent.getBuild().setDirectory(outputDirectory.resolve("round" + round).toString());
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<?>> modules = new ArrayList<>();
+                for (int module = 0; module < moduleCount; module++) {
+                    // Each module has its own mojo, like in a parallel build
+                    SemVerMojo mojo = new SemVerMojo(null, null, null, null);
+                    mojo.mavenSession = session;
+                    mojo.outputFileName = "nextVersion.txt";
+                    mojo.overwriteOutputFile = true;
+                    String nextVersion = "1." + module + ".0";
+                    modules.add(executor.submit(() -> {
+                        start.await();
+                        mojo.updateParentOutputFile(nextVersion, parent);
+                        return null;
+                    }));
+                }
+                start.countDown();
+                for (Future<?> module : modules) {
+                    module.get();
+                }
+
+                assertThat(new File(parent.getBuild().getDirectory(), "nextVersion.txt")).hasContent("1." + (moduleCount - 1) + ".0");
+                assertThat(new File(parent.getBuild().getDirectory()).list()).containsExactly("nextVersion.txt");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static MavenSession newSession() {
+        MavenSession session = mock(MavenSession.class);
+        when(session.getRepositorySession()).thenReturn(new DefaultRepositorySystemSession());
+        return session;
+    }
+
     @Test
     void writeFileShouldNotOverwriteIfOverwriteFlagIsDisabled() throws MojoExecutionException {
         File outputFolder = new File("target/");
@@ -94,6 +169,95 @@ class SemVerMojoTest {
         assertThat(outputFile).hasContent("0.0.1");
     }
 
+    @Test
+    void writeMetricsFile() throws Exception {
+        File outputFolder = new File("target/");
+        subject.metricsFileName = "test-metrics.json";
+        when(project.getBuild().getDirectory()).thenReturn(outputFolder.getAbsolutePath());
+        CheckMetrics metrics = new CheckMetrics();
+        metrics.addCounter("classesCompared", 4);
+
+        subject.writeMetricsFile(project, metrics);
+
+        assertThat(new File(outputFolder, subject.metricsFileName)).hasContent(metrics.toJson());
+    }
+
+    @Test
+    void getArtifactVersions_localOnlyReadsLocalRepository(@TempDir Path localRepository) throws Exception {
+        Path artifactDirectory = Files.createDirectories(localRepository.resolve("group").resolve("id"));
+        Files.writeString(artifactDirectory.resolve("maven-metadata-local.xml"), metadata("1.0.0-SNAPSHOT", "0.9.0"));
+        Files.writeString(artifactDirectory.resolve("maven-metadata-central.xml"), metadata("0.10.0", "0.9.0"));
+        subject.versionResolutionLocalOnly = true;
+        subject.ignoreSnapshots = true;
+        subject.localRepository = mock(ArtifactRepository.class);
+        when(subject.localRepository.getBasedir()).thenReturn(localRepository.toString());
+        subject.apiModelCacheDirectory = localRepository.resolve("semver-check-cache").toFile();
+        subject.mavenSession = mock(MavenSession.class, Answers.RETURNS_DEEP_STUBS);
+        when(subject.mavenSession.getCurrentProject().getRemotePluginRepositories()).thenReturn(List.of());
+        when(subject.mavenSession.getRepositorySession().getData()).thenReturn(new DefaultSessionData());
+
+        List<Version> versions = subject.getArtifactVersions(artifact);
+
+        assertThat(versions).map(Version::toString).containsExactly("0.9.0", "0.10.0");
+    }
+
+    @Test
+    void getLastVersion_localOnlyDoesNotUseRemoteRepositories() {
+        subject.versionResolutionLocalOnly = true;
+        subject.remoteArtifactRepositories = List.of(mock(ArtifactRepository.class));
+        subject.mavenSession = mock(MavenSession.class, Answers.RETURNS_DEEP_STUBS);
+        when(subject.mavenSession.getRepositorySession().getData()).thenReturn(new DefaultSessionData());
+        ArtifactResolutionResult missing = new ArtifactResolutionResult();
+        missing.addMissingArtifact(artifact);
+        when(repoSystem.resolve(argThat(request -> request.getRemoteRepositories().isEmpty()))).thenReturn(missing);
+
+        assertThatThrownBy(() -> subject.getLastVersion(artifact, "0.9.0"))
+                .isInstanceOf(MojoExecutionException.class)
+                .hasMessage("Version 0.9.0 of group:id is not in the local repository, and is not downloaded as versionResolutionLocalOnly is set");
+    }
+
+    @Test
+    void getBaselineDependencies_directReadsDependenciesOfPom() throws Exception {
+        subject.dependencyCheckMode = DependencyCheckMode.DIRECT;
+        subject.remoteArtifactRepositories = List.of();
+        subject.mavenSession = mock(MavenSession.class);
+        when(subject.mavenSession.getProjectBuildingRequest()).thenReturn(new DefaultProjectBuildingRequest());
+        when(subject.mavenSession.getSettings()).thenReturn(new Settings());
+        Artifact pomArtifact = new DefaultArtifact("group", "id", "0.9.0", null, "pom", null, new DefaultArtifactHandler("pom"));
+        when(repoSystem.createProjectArtifact("group", "id", "0.9.0")).thenReturn(pomArtifact);
+        MavenProject baselineProject = new MavenProject();
+        baselineProject.getModel().setDependencies(List.of(
+                dependency("org.slf4j", "slf4j-api", "2.0.16", "compile"),
+                dependency("com.acme", "runtime", "1.0", "runtime"),
+                dependency("org.junit.jupiter", "junit-jupiter", "5.14.0", "test"),
+                dependency("group", "sibling", "0.9.0", "compile")));
+        ProjectBuildingResult buildingResult = mock(ProjectBuildingResult.class);
+        when(buildingResult.getProject()).thenReturn(baselineProject);
+        when(projectBuilder.build(eq(pomArtifact), any(ProjectBuildingRequest.class))).thenReturn(buildingResult);
+
+        Map<String, String> dependencies = subject.getBaselineDependencies(artifact, "0.9.0");
+
+        assertThat(dependencies).containsExactly(Map.entry("org.slf4j:slf4j-api", "2.0.16"), Map.entry("com.acme:runtime", "1.0"));
+    }
+
+    private static Dependency dependency(String groupId, String artifactId, String version, String scope) {
+        Dependency dependency = new Dependency();
+        dependency.setGroupId(groupId);
+        dependency.setArtifactId(artifactId);
+        dependency.setVersion(version);
+        dependency.setScope(scope);
+        return dependency;
+    }
+
+    private static String metadata(String... versions) {
+        StringBuilder versionElements = new StringBuilder();
+        for (String version : versions) {
+            versionElements.append("<version>").append(version).append("</version>");
+        }
+        return "<metadata><groupId>group</groupId><artifactId>id</artifactId><versioning><versions>"
+                + versionElements + "</versions></versioning></metadata>";
+    }
+
     @ParameterizedTest
     @CsvSource({
             "1.2.3, MAJOR, 2.0.0",
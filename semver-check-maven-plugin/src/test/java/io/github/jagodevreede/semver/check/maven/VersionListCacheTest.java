@@ -0,0 +1,44 @@
+package io.github.jagodevreede.semver.check.maven;
+
+import org.eclipse.aether.repository.RemoteRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VersionListCacheTest {
+
+    @TempDir
+    Path cacheDirectory;
+
+    @Test
+    void get_returnsStoredVersionsUntilExpired() throws Exception {
+        String key = VersionListCache.getKey("group", "id", List.of());
+        new VersionListCache(cacheDirectory.toFile()).put(key, List.of("1.0.0", "1.1.0"));
+        Path entry = cacheDirectory.resolve(key + ".versions");
+        Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis() - TimeUnit.HOURS.toMillis(2)));
+        VersionListCache subject = new VersionListCache(cacheDirectory.toFile());
+
+        assertThat(subject.get(key, TimeUnit.HOURS.toMillis(3))).containsExactly("1.0.0", "1.1.0");
+        assertThat(subject.get(key, TimeUnit.HOURS.toMillis(1))).isNull();
+        assertThat(subject.get(key, VersionListCache.ANY_AGE)).containsExactly("1.0.0", "1.1.0");
+        assertThat(subject.get(VersionListCache.getKey("group", "other", List.of()), VersionListCache.ANY_AGE)).isNull();
+    }
+
+    @Test
+    void getKey_differsPerRepositorySet() {
+        RemoteRepository central = new RemoteRepository.Builder("central", "default", "https://repo.maven.apache.org/maven2").build();
+        RemoteRepository mirror = new RemoteRepository.Builder("mirror", "default", "https://mirror.example.com/maven2").build();
+
+        assertThat(VersionListCache.getKey("group", "id", List.of(central, mirror)))
+                .isEqualTo(VersionListCache.getKey("group", "id", List.of(mirror, central)))
+                .isNotEqualTo(VersionListCache.getKey("group", "id", List.of(central)))
+                .isNotEqualTo(VersionListCache.getKey("group", "id2", List.of(central, mirror)));
+    }
+}